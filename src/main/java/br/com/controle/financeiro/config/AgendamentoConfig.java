@@ -0,0 +1,11 @@
+package br.com.controle.financeiro.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.agendamentos.habilitado", havingValue = "true", matchIfMissing = true)
+public class AgendamentoConfig {
+}
@@ -0,0 +1,41 @@
+package br.com.controle.financeiro.config;
+
+import br.com.controle.financeiro.infra.instrumentacao.ConfiguracaoInstrumentacao;
+import br.com.controle.financeiro.infra.instrumentacao.InstrumentacaoDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class InstrumentacaoConfig {
+
+    /**
+     * Envolve o DataSource no {@link InstrumentacaoDataSource}. Executado antes dos demais pós-processadores, para
+     * que outros envoltórios (ex.: o bulkhead das threads virtuais) fiquem por fora e limitem também a instrumentação.
+     */
+    @Bean
+    public static BeanPostProcessor instrumentacaoDataSourcePostProcessor(ObjectProvider<ConfiguracaoInstrumentacao> configuracao) {
+        return new InstrumentacaoDataSourcePostProcessor(configuracao);
+    }
+
+    private record InstrumentacaoDataSourcePostProcessor(ObjectProvider<ConfiguracaoInstrumentacao> configuracao)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentacaoDataSource)) {
+                return new InstrumentacaoDataSource(dataSource, configuracao.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.controle.financeiro.config;
+
+import br.com.controle.financeiro.infra.datasource.BulkheadDataSource;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo de execução em threads virtuais (Java 21), habilitado por app.threads.virtual.enabled=true.
+ * As requisições do Tomcat e as tarefas assíncronas (respostas em streaming do MVC e @Async) passam a rodar cada uma
+ * em uma thread virtual, e o DataSource é envolvido por um {@link BulkheadDataSource} do tamanho do pool de conexões.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadsVirtuaisConfig.class);
+
+    // Tamanho assumido pelo Hikari quando maximum-pool-size não é configurado (o valor só é preenchido ao iniciar o pool)
+    private static final int TAMANHO_PADRAO_POOL_HIKARI = 10;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> threadsVirtuaisTomcatCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+
+    // Mesmo nome do executor padrão do Spring Boot, que deixa de ser criado e é usado pelo MVC assíncrono e pelo @Async
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-virtual-", 0).factory()));
+    }
+
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+
+                // Por padrão, uma permissão por conexão do pool (spring.datasource.hikari.maximum-pool-size)
+                HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class,
+                        HikariDataSource.class);
+                Integer tamanhoPool = hikari != null
+                        ? (hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : TAMANHO_PADRAO_POOL_HIKARI)
+                        : null;
+                Integer permissoes = environment.getProperty("app.datasource.bulkhead.permissoes", Integer.class, tamanhoPool);
+                if (permissoes == null || permissoes <= 0) {
+                    return bean;
+                }
+
+                Duration esperaMaxima = environment.getProperty("app.datasource.bulkhead.espera-maxima", Duration.class,
+                        Duration.ofSeconds(30));
+                LOGGER.info("Bulkhead do DataSource '{}': {} conexões simultâneas, espera máxima de {}", beanName,
+                        permissoes, esperaMaxima);
+                return new BulkheadDataSource(dataSource, permissoes, esperaMaxima);
+            }
+        };
+    }
+}
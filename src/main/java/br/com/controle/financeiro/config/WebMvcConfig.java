@@ -0,0 +1,30 @@
+package br.com.controle.financeiro.config;
+
+import br.com.controle.financeiro.controllers.VersaoDadosEtagInterceptor;
+import br.com.controle.financeiro.infra.instrumentacao.InstrumentacaoInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final VersaoDadosEtagInterceptor versaoDadosEtagInterceptor;
+
+    private final InstrumentacaoInterceptor instrumentacaoInterceptor;
+
+    public WebMvcConfig(VersaoDadosEtagInterceptor versaoDadosEtagInterceptor,
+                        InstrumentacaoInterceptor instrumentacaoInterceptor) {
+        this.versaoDadosEtagInterceptor = versaoDadosEtagInterceptor;
+        this.instrumentacaoInterceptor = instrumentacaoInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Primeiro, para que a medição inclua as consultas feitas pelos demais interceptors
+        registry.addInterceptor(instrumentacaoInterceptor);
+        registry.addInterceptor(versaoDadosEtagInterceptor)
+                .addPathPatterns("/api/lancamentos", "/api/lancamentos/**", "/api/contas", "/api/contas/**",
+                        "/api/categorias", "/api/categorias/**");
+    }
+}
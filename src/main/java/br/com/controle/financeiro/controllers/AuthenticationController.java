@@ -2,8 +2,10 @@ package br.com.controle.financeiro.controllers;
 
 import br.com.controle.financeiro.domain.user.AuthenticationDTO;
 import br.com.controle.financeiro.domain.user.LoginResponseDTO;
+import br.com.controle.financeiro.domain.user.RefreshTokenDTO;
 import br.com.controle.financeiro.domain.user.RegisterDTO;
 import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.infra.security.RefreshTokenService;
 import br.com.controle.financeiro.infra.security.TokenService;
 import br.com.controle.financeiro.repositories.UsuarioRepository;
 import br.com.controle.financeiro.services.exception.NegocioException;
@@ -15,7 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -31,6 +33,10 @@ public class AuthenticationController {
     private UsuarioRepository repository;
     @Autowired
     private TokenService tokenService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     @Operation(
             summary = "Permite o cadastramento de um usuário na aplicação informando um login, uma senha e o tipo do papel do usuário (USER ou ADMIN).",
@@ -44,6 +50,10 @@ public class AuthenticationController {
                             description = "Não Autorizado / Token Inválido",
                             responseCode = "403"
                     ),
+                    @ApiResponse(
+                            description = "Serviço de autenticação sobrecarregado, tente novamente",
+                            responseCode = "503"
+                    ),
             }
     )
     @PostMapping("/register")
@@ -52,7 +62,7 @@ public class AuthenticationController {
         	throw new NegocioException("Usuário já existente.");
         }
 
-        String encryptedPassword = new BCryptPasswordEncoder().encode(data.password());
+        String encryptedPassword = passwordEncoder.encode(data.password());
         Usuario newUsuario = new Usuario(data.login(), encryptedPassword, data.role());
 
         this.repository.save(newUsuario);
@@ -72,6 +82,10 @@ public class AuthenticationController {
                             description = "Não Autorizado / Token Inválido",
                             responseCode = "403"
                     ),
+                    @ApiResponse(
+                            description = "Serviço de autenticação sobrecarregado, tente novamente",
+                            responseCode = "503"
+                    ),
             }
     )
     @PostMapping("/login")
@@ -79,9 +93,45 @@ public class AuthenticationController {
         var usernamePassword = new UsernamePasswordAuthenticationToken(data.login(), data.password());
         var auth = this.authenticationManager.authenticate(usernamePassword);
 
-        var token = tokenService.generateToken((Usuario) auth.getPrincipal());
+        var usuario = (Usuario) auth.getPrincipal();
+        var token = tokenService.generateToken(usuario);
+
+        return ResponseEntity.ok(new LoginResponseDTO(token, refreshTokenService.gerar(usuario)));
+    }
 
-        return ResponseEntity.ok(new LoginResponseDTO(token));
+    @Operation(
+            summary = "Emite um novo token JWT a partir do refresh token recebido no login.",
+            description = "Emite um novo token JWT a partir do refresh token recebido no login, sem informar novamente a senha. A resposta traz um novo refresh token e o informado deixa de valer; reutilizá-lo revoga a sessão.",
+            responses = {
+                    @ApiResponse(
+                            description = "Sucesso",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Refresh token inválido ou expirado",
+                            responseCode = "401"
+                    ),
+            }
+    )
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@RequestBody @Valid RefreshTokenDTO data) {
+        return ResponseEntity.ok(refreshTokenService.renovar(data.refreshToken()));
+    }
+
+    @Operation(
+            summary = "Encerra a sessão do refresh token informado.",
+            description = "Revoga o refresh token informado e os demais emitidos a partir do mesmo login. O token JWT já emitido continua válido até a sua expiração.",
+            responses = {
+                    @ApiResponse(
+                            description = "Sucesso",
+                            responseCode = "204"
+                    ),
+            }
+    )
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody @Valid RefreshTokenDTO data) {
+        refreshTokenService.revogar(data.refreshToken());
+        return ResponseEntity.noContent().build();
     }
 
 
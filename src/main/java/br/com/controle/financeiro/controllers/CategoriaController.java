@@ -67,8 +67,8 @@ public class CategoriaController {
             }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<Categoria> obterCategoriaPorId(@PathVariable String id, Authentication authentication) {
-        return ResponseEntity.ok(categoriaService.obterCategoriaPorId(id, authentication.getName()));
+    public ResponseEntity<CategoriaResponseDTO> obterCategoriaPorId(@PathVariable String id, Authentication authentication) {
+        return ResponseEntity.ok(new CategoriaResponseDTO(categoriaService.obterCategoriaPorId(id, authentication.getName())));
     }
 
     @Operation(
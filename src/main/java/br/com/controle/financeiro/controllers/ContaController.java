@@ -1,7 +1,9 @@
 package br.com.controle.financeiro.controllers;
 
+import br.com.controle.financeiro.controllers.dto.ContaComSaldoResponseDTO;
 import br.com.controle.financeiro.controllers.dto.ContaRequestDTO;
 import br.com.controle.financeiro.controllers.dto.ContaResponseDTO;
+import br.com.controle.financeiro.controllers.dto.SaldoContaResponseDTO;
 import br.com.controle.financeiro.domain.Conta;
 import br.com.controle.financeiro.services.ContaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,7 +34,7 @@ public class ContaController {
 
     @Operation(
             summary = "Retorna todas as contas.",
-            description = "Retorna todas as contas.",
+            description = "Retorna todas as contas com o saldo (pago, pendente e total) de cada uma.",
             responses = {
                     @ApiResponse(
                             description = "Sucesso",
@@ -46,9 +48,9 @@ public class ContaController {
             }
     )
     @GetMapping
-    public ResponseEntity<List<ContaResponseDTO>> obterTodasContas(Authentication authentication) {
-        return ResponseEntity.ok(contaService.obterTodasContas(authentication.getName())
-                .stream().map(ContaResponseDTO::new).toList());
+    public ResponseEntity<List<ContaComSaldoResponseDTO>> obterTodasContas(Authentication authentication) {
+        return ResponseEntity.ok(contaService.obterTodasContasComSaldo(authentication.getName())
+                .stream().map(ContaComSaldoResponseDTO::new).toList());
     }
 
     @Operation(
@@ -67,8 +69,28 @@ public class ContaController {
             }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<Conta> obterContaPorId(@PathVariable String id, Authentication authentication) {
-        return ResponseEntity.ok(contaService.obterContaPorId(id, authentication.getName()));
+    public ResponseEntity<ContaResponseDTO> obterContaPorId(@PathVariable String id, Authentication authentication) {
+        return ResponseEntity.ok(new ContaResponseDTO(contaService.obterContaPorId(id, authentication.getName())));
+    }
+
+    @Operation(
+            summary = "Retorna o saldo de uma conta do usuário.",
+            description = "Retorna os valores pago, pendente e total dos lançamentos da conta.",
+            responses = {
+                    @ApiResponse(
+                            description = "Sucesso",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Não Autorizado / Token Inválido",
+                            responseCode = "403",
+                            content = @Content(schema = @Schema(implementation = Void.class))
+                    ),
+            }
+    )
+    @GetMapping("/{id}/saldo")
+    public ResponseEntity<SaldoContaResponseDTO> obterSaldoConta(@PathVariable String id, Authentication authentication) {
+        return ResponseEntity.ok(new SaldoContaResponseDTO(contaService.obterSaldoConta(id, authentication.getName())));
     }
 
 
@@ -0,0 +1,60 @@
+package br.com.controle.financeiro.controllers;
+
+import br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO;
+import br.com.controle.financeiro.util.FormatosData;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escreve lançamentos em CSV separado por ponto e vírgula e com vírgula decimal, o formato aberto diretamente pelas
+ * planilhas em português. As quatro primeiras colunas (data;nome;valor;pago) são as aceitas pela importação de extratos.
+ */
+class EscritorCsvLancamentos {
+
+    static final String CABECALHO = "data;nome;valor;pago;conta;categoria;id";
+
+    private final Writer writer;
+
+    EscritorCsvLancamentos(Writer writer) {
+        this.writer = writer;
+    }
+
+    void escreverCabecalho() throws IOException {
+        writer.write(CABECALHO);
+        writer.write('\n');
+    }
+
+    void escrever(LancamentoCompletoDTO lancamento) throws IOException {
+        FormatosData.DATA.formatTo(lancamento.getData(), writer);
+        writer.write(';');
+        escreverTexto(lancamento.getNome());
+        writer.write(';');
+        writer.write(lancamento.getValor().toPlainString().replace('.', ','));
+        writer.write(';');
+        writer.write(lancamento.isPago() ? "sim" : "nao");
+        writer.write(';');
+        escreverTexto(lancamento.getNomeConta());
+        writer.write(';');
+        escreverTexto(lancamento.getNomeCategoria());
+        writer.write(';');
+        writer.write(lancamento.getId());
+        writer.write('\n');
+    }
+
+    private void escreverTexto(String texto) throws IOException {
+
+        if (texto == null) {
+            return;
+        }
+
+        if (texto.indexOf(';') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            writer.write(texto);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(texto.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
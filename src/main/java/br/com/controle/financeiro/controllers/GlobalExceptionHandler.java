@@ -1,10 +1,13 @@
 package br.com.controle.financeiro.controllers;
 
 import br.com.controle.financeiro.controllers.dto.ErrorResponseDTO;
+import br.com.controle.financeiro.infra.security.AutenticacaoSobrecarregadaException;
 import br.com.controle.financeiro.services.exception.NegocioException;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -36,6 +39,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
     }
 
+    @ExceptionHandler(AutenticacaoSobrecarregadaException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleAutenticacaoSobrecarregadaException(AutenticacaoSobrecarregadaException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(NegocioException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleRuntimeException(NegocioException ex) {
@@ -48,6 +59,26 @@ public class GlobalExceptionHandler {
         return extrairMensagens(ex.getBindingResult().getFieldErrors());
     }
 
+    // Validação de elementos de listas recebidas no corpo (ex.: lote de lançamentos)
+    @ResponseStatus(code = HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(ConstraintViolationException.class)
+    protected ResponseEntity<List<ErrorResponseDTO>> handle(ConstraintViolationException ex) {
+        List<ErrorResponseDTO> dto = ex.getConstraintViolations().stream()
+                .map(v -> ErrorResponseDTO.builder()
+                        .campo(campoDaViolacao(v.getPropertyPath().toString()))
+                        .validacao(v.getMessage())
+                        .build())
+                .toList();
+
+        return ResponseEntity.badRequest().body(dto);
+    }
+
+    // Remove o nome do método do caminho ("createLancamentos.lancamentos[0].nome" -> "lancamentos[0].nome") e o nó
+    // do próprio elemento da lista ("createLancamentos.lancamentos[0].<list element>" -> "lancamentos[0]")
+    private static String campoDaViolacao(String caminho) {
+        return caminho.substring(caminho.indexOf('.') + 1).replace(".<list element>", "");
+    }
+
     private ResponseEntity<List<ErrorResponseDTO>> extrairMensagens(List<FieldError> fieldErrors) {
         List<ErrorResponseDTO> dto = new ArrayList<>();
 
@@ -0,0 +1,80 @@
+package br.com.controle.financeiro.controllers;
+
+import br.com.controle.financeiro.controllers.dto.ResultadoImportacaoResponseDTO;
+import br.com.controle.financeiro.services.FormatoExtrato;
+import br.com.controle.financeiro.services.ImportacaoExtratoService;
+import br.com.controle.financeiro.services.ResultadoImportacao;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/lancamentos/importacao")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Lançamentos")
+public class ImportacaoExtratoController {
+
+    private final ImportacaoExtratoService importacaoExtratoService;
+
+    public ImportacaoExtratoController(ImportacaoExtratoService importacaoExtratoService) {
+        this.importacaoExtratoService = importacaoExtratoService;
+    }
+
+    @Operation(
+            summary = "Importa um extrato bancário (CSV ou OFX) como lançamentos da conta e categoria informadas.",
+            description = "O arquivo é enviado no corpo da requisição (Content-Type text/csv ou application/x-ofx) e lido " +
+                    "em streaming. O CSV deve ter as colunas data;nome;valor[;pago]. Os lançamentos são gravados em lotes " +
+                    "e as linhas rejeitadas são retornadas com o motivo.",
+            responses = {
+                    @ApiResponse(
+                            description = "Sucesso",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Não Autorizado / Token Inválido",
+                            responseCode = "403",
+                            content = @Content(schema = @Schema(implementation = Void.class))
+                    ),
+                    @ApiResponse(
+                            description = "Conta ou categoria inválida",
+                            responseCode = "400"
+                    )
+            }
+    )
+    @PostMapping(consumes = {"text/csv", "application/x-ofx"})
+    public ResponseEntity<ResultadoImportacaoResponseDTO> importarExtrato(@RequestParam String idConta,
+                                                                          @RequestParam String idCategoria,
+                                                                          HttpServletRequest request,
+                                                                          Authentication authentication) throws IOException {
+
+        String contentType = request.getHeader(HttpHeaders.CONTENT_TYPE);
+        FormatoExtrato formato = FormatoExtrato.deContentType(contentType);
+
+        // O charset do Content-Type é respeitado (extratos OFX costumam vir em ISO-8859-1/windows-1252)
+        Charset charset = Optional.ofNullable(MediaType.parseMediaType(contentType).getCharset()).orElse(StandardCharsets.UTF_8);
+
+        try (Reader extrato = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            ResultadoImportacao resultado = importacaoExtratoService.importar(extrato, formato, idConta, idCategoria,
+                    authentication.getName());
+
+            return ResponseEntity.ok(new ResultadoImportacaoResponseDTO(resultado));
+        }
+    }
+}
@@ -3,8 +3,14 @@ package br.com.controle.financeiro.controllers;
 import br.com.controle.financeiro.controllers.dto.LancamentoCompletoResponseDTO;
 import br.com.controle.financeiro.controllers.dto.LancamentoRequestDTO;
 import br.com.controle.financeiro.controllers.dto.LancamentoResponseDTO;
+import br.com.controle.financeiro.controllers.dto.ResumoCompetenciaResponseDTO;
 import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO;
+import br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO;
 import br.com.controle.financeiro.services.LancamentoService;
+import br.com.controle.financeiro.services.PaginaLancamentos;
+import br.com.controle.financeiro.services.PeriodoCompetencias;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,28 +18,61 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/lancamentos")
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Lançamentos")
+@Validated
 public class LancamentoController {
 
+    public static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
+    public static final String MEDIA_TYPE_CSV = "text/csv";
+
     private final LancamentoService lancamentoService;
 
-    public LancamentoController(LancamentoService lancamentoService) {
+    private final ObjectMapper objectMapper;
+
+    public LancamentoController(LancamentoService lancamentoService, ObjectMapper objectMapper) {
         this.lancamentoService = lancamentoService;
+        this.objectMapper = objectMapper;
+    }
+
+    private static <T> ResponseEntity<List<T>> respostaPaginada(PaginaLancamentos<?> pagina, List<T> itens) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor());
+        }
+        return resposta.body(itens);
     }
 
     @Operation(
             summary = "Retorna todos os lancamentos.",
-            description = "Retorna todos os lancamentos.",
+            description = "Retorna todos os lancamentos. Informando os parâmetros 'limite' e/ou 'cursor' a consulta é paginada " +
+                    "(ordenada por data e id) e o cursor da próxima página é retornado no cabeçalho " + CABECALHO_PROXIMO_CURSOR + ".",
             responses = {
                     @ApiResponse(
                             description = "Sucesso",
@@ -47,14 +86,21 @@ public class LancamentoController {
             }
     )
     @GetMapping
-    public ResponseEntity<List<LancamentoResponseDTO>> obterTodosLancamentos(Authentication authentication) {
-        return ResponseEntity.ok(lancamentoService.obterTodosLancamentos(authentication.getName())
-                .stream().map(LancamentoResponseDTO::new).toList());
+    public ResponseEntity<List<LancamentoResponseDTO>> obterTodosLancamentos(@RequestParam(required = false) Integer limite,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             Authentication authentication) {
+        if (limite == null && cursor == null) {
+            return ResponseEntity.ok(lancamentoService.obterTodosLancamentos(authentication.getName())
+                    .stream().map(LancamentoResponseDTO::new).toList());
+        }
+
+        PaginaLancamentos<LancamentoResumoDTO> pagina = lancamentoService.obterPaginaLancamentos(authentication.getName(), cursor, limite);
+        return respostaPaginada(pagina, pagina.itens().stream().map(LancamentoResponseDTO::new).toList());
     }
 
     @Operation(
             summary = "Retorna todos os lancamentos, de forma mais detalhada.",
-            description = "Retorna todos os lancamentos, de forma mais detalhada.",
+            description = "Retorna todos os lancamentos, de forma mais detalhada. Aceita a mesma paginação opcional (limite/cursor) de /api/lancamentos.",
             responses = {
                     @ApiResponse(
                             description = "Sucesso",
@@ -68,10 +114,127 @@ public class LancamentoController {
             }
     )
     @GetMapping("/completos")
-    public ResponseEntity<List<LancamentoCompletoResponseDTO>> obterTodosLancamentosCompletos(Authentication authentication) {
-        return ResponseEntity.ok(lancamentoService.obterTodosLancamentosCompletos(authentication.getName())
-                .stream().map(LancamentoCompletoResponseDTO::new).toList()
-        );
+    public ResponseEntity<List<LancamentoCompletoResponseDTO>> obterTodosLancamentosCompletos(@RequestParam(required = false) Integer limite,
+                                                                                             @RequestParam(required = false) String cursor,
+                                                                                             Authentication authentication) {
+        if (limite == null && cursor == null) {
+            return ResponseEntity.ok(lancamentoService.obterTodosLancamentosCompletos(authentication.getName())
+                    .stream().map(LancamentoCompletoResponseDTO::new).toList()
+            );
+        }
+
+        PaginaLancamentos<LancamentoCompletoDTO> pagina = lancamentoService.obterPaginaLancamentosCompletos(authentication.getName(), cursor, limite);
+        return respostaPaginada(pagina, pagina.itens().stream().map(LancamentoCompletoResponseDTO::new).toList());
+    }
+
+    @Operation(
+            summary = "Exporta todos os lancamentos, de forma mais detalhada, em NDJSON.",
+            description = "Retorna os mesmos dados de /api/lancamentos/completos, um lançamento JSON por linha (application/x-ndjson), " +
+                    "escritos na resposta à medida em que são lidos do banco.",
+            responses = {
+                    @ApiResponse(
+                            description = "Sucesso",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Não Autorizado / Token Inválido",
+                            responseCode = "403",
+                            content = @Content(schema = @Schema(implementation = Void.class))
+                    )
+            }
+    )
+    @GetMapping(value = "/completos/stream", produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportarLancamentosCompletos(Authentication authentication) {
+        String userLogin = authentication.getName();
+
+        StreamingResponseBody corpo = outputStream -> lancamentoService.exportarLancamentosCompletos(userLogin, lancamento -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(new LancamentoCompletoResponseDTO(lancamento)));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(MEDIA_TYPE_NDJSON)).body(corpo);
+    }
+
+    @Operation(
+            summary = "Exporta em CSV os lançamentos completos das competências informadas.",
+            description = "Exporta os lançamentos (com os nomes da conta e da categoria) das competências de/ate (formato " +
+                    "AAAAMM, ambas incluídas), ordenados por data, em CSV separado por ponto e vírgula. As linhas são " +
+                    "escritas na resposta na medida em que são lidas do banco e o corpo é compactado quando a " +
+                    "requisição aceita gzip (Accept-Encoding).",
+            responses = {
+                    @ApiResponse(
+                            description = "Sucesso",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Não Autorizado / Token Inválido",
+                            responseCode = "403",
+                            content = @Content(schema = @Schema(implementation = Void.class))
+                    ),
+                    @ApiResponse(
+                            description = "Parâmetros da requisição inválidos",
+                            responseCode = "400"
+                    )
+            }
+    )
+    @GetMapping(value = "/export.csv", produces = MEDIA_TYPE_CSV)
+    public ResponseEntity<StreamingResponseBody> exportarLancamentosCsv(@RequestParam Integer de, @RequestParam Integer ate,
+                                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                                        Authentication authentication) {
+        String userLogin = authentication.getName();
+        // Validado antes de iniciar a resposta, para que um período inválido ainda retorne 400
+        PeriodoCompetencias periodo = lancamentoService.validarPeriodoCompetencias(de, ate);
+        boolean gzip = aceitaGzip(acceptEncoding);
+
+        StreamingResponseBody corpo = outputStream -> {
+            OutputStream saida = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 8192);
+            EscritorCsvLancamentos escritor = new EscritorCsvLancamentos(writer);
+
+            escritor.escreverCabecalho();
+            lancamentoService.exportarLancamentosCompletos(userLogin, periodo, lancamento -> {
+                try {
+                    escritor.escrever(lancamento);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            writer.flush();
+            if (saida instanceof GZIPOutputStream gzipOutputStream) {
+                gzipOutputStream.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("lancamentos-" + de + "-" + ate + ".csv").build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(corpo);
+    }
+
+    private static boolean aceitaGzip(String acceptEncoding) {
+
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String codificacao : acceptEncoding.split(",")) {
+            String[] partes = codificacao.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" indica que o cliente recusa gzip
+                return partes.length == 1 || !partes[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
     @Operation(
@@ -121,6 +284,31 @@ public class LancamentoController {
         );
     }
 
+    @Operation(
+            summary = "Retorna o resumo dos lancamentos da competência informada.",
+            description = "Retorna os totais (quantidade e valores pagos/não pagos) dos lancamentos da competência informada " +
+                    "(formato AAAAMM), no geral, por conta e por categoria. Ex.: 202405",
+            responses = {
+                    @ApiResponse(
+                            description = "Sucesso",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Não Autorizado / Token Inválido",
+                            responseCode = "403",
+                            content = @Content(schema = @Schema(implementation = Void.class))
+                    ),
+                    @ApiResponse(
+                            description = "Parâmetros da requisição inválidos",
+                            responseCode = "400"
+                    )
+            }
+    )
+    @GetMapping("/competencia/{competencia}/resumo")
+    public ResponseEntity<ResumoCompetenciaResponseDTO> obterResumoPorCompetencia(@PathVariable Integer competencia, Authentication authentication) {
+        return ResponseEntity.ok(new ResumoCompetenciaResponseDTO(
+                lancamentoService.obterResumoPorCompetencia(competencia, authentication.getName())));
+    }
 
     @Operation(
             summary = "Cadastra um lancamento.",
@@ -145,6 +333,33 @@ public class LancamentoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(new LancamentoResponseDTO(lancamentoCriada));
     }
 
+    @Operation(
+            summary = "Cadastra um lote de lancamentos.",
+            description = "Cadastra todos os lancamentos informados em uma única transação: se algum for inválido, nenhum é cadastrado.",
+            responses = {
+                    @ApiResponse(
+                            description = "Sucesso",
+                            responseCode = "201"
+                    ),
+                    @ApiResponse(
+                            description = "Não Autorizado / Token Inválido",
+                            responseCode = "403",
+                            content = @Content(schema = @Schema(implementation = Void.class))
+                    ),
+                    @ApiResponse(
+                            description = "Parâmetros da requisição inválidos",
+                            responseCode = "400"
+                    )
+            }
+    )
+    @PostMapping("/lote")
+    public ResponseEntity<List<LancamentoResponseDTO>> createLancamentos(@RequestBody List<@Valid @NotNull(message = "Campo obrigatório não informado.") LancamentoRequestDTO> lancamentos, Authentication authentication) {
+
+        List<Lancamento> lancamentosCriados = lancamentoService.criarLancamentos(lancamentos, authentication.getName());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(lancamentosCriados.stream().map(LancamentoResponseDTO::new).toList());
+    }
+
     @Operation(
             summary = "Atualiza dados de um lancamento.",
             description = "Atualiza dados de um lancamento.",
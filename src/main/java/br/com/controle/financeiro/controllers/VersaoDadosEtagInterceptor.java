@@ -0,0 +1,68 @@
+package br.com.controle.financeiro.controllers;
+
+import br.com.controle.financeiro.services.VersaoDadosService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+
+/**
+ * Usa a versão dos dados do usuário como ETag fraca das consultas. Quando o If-None-Match da requisição corresponde
+ * à versão atual, responde 304 sem executar o controller (e, portanto, sem consultar os lançamentos).
+ * <p>
+ * As versões de todos os usuários começam em 0 e avançam em ritmo parecido: a ETag leva também um resumo (hash) do
+ * login, para que a resposta guardada para um usuário nunca seja revalidada para outro no mesmo navegador ou cache.
+ * A versão é lida antes dos dados: se uma escrita ocorrer no meio da consulta, a resposta sai com a versão anterior
+ * e a próxima requisição simplesmente retorna os dados novamente.
+ */
+@Component
+public class VersaoDadosEtagInterceptor implements HandlerInterceptor {
+
+    private final VersaoDadosService versaoDadosService;
+
+    public VersaoDadosEtagInterceptor(VersaoDadosService versaoDadosService) {
+        this.versaoDadosService = versaoDadosService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        Principal usuario = request.getUserPrincipal();
+        boolean consulta = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        if (!consulta || usuario == null) {
+            return true;
+        }
+
+        long versao = versaoDadosService.obterVersao(usuario.getName());
+        // As leituras compartilhadas da requisição usam a mesma versão, para nunca juntar dados anteriores a ela
+        versaoDadosService.registrarVersaoLida(usuario.getName(), versao);
+        String etag = etag(usuario.getName(), versao);
+        // Permite que o cliente guarde a resposta, mas obriga a revalidação a cada uso
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        // Define o cabeçalho ETag e, se a versão não mudou, o status 304
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    static String etag(String login, long versao) {
+        return "W/\"" + resumo(login) + "-" + versao + "\"";
+    }
+
+    private static String resumo(String login) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(login.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
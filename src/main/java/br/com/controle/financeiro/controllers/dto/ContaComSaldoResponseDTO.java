@@ -0,0 +1,9 @@
+package br.com.controle.financeiro.controllers.dto;
+
+import br.com.controle.financeiro.repositories.dto.ContaSaldoDTO;
+
+public record ContaComSaldoResponseDTO(String id, String nome, SaldoContaResponseDTO saldo) {
+    public ContaComSaldoResponseDTO(ContaSaldoDTO conta) {
+        this(conta.getId(), conta.getNome(), new SaldoContaResponseDTO(conta));
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.controle.financeiro.controllers.dto;
 
 import br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO;
+import br.com.controle.financeiro.util.FormatosData;
 
 import java.math.BigDecimal;
 
@@ -12,7 +13,7 @@ public record LancamentoCompletoResponseDTO(String id, String nome, String nomeC
                 lancamentoCompletoDTO.getNome(),
                 lancamentoCompletoDTO.getNomeConta(),
                 lancamentoCompletoDTO.getNomeCategoria(),
-                lancamentoCompletoDTO.getData().format(java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy")),
+                lancamentoCompletoDTO.getData().format(FormatosData.DATA),
                 lancamentoCompletoDTO.getValor(),
                 lancamentoCompletoDTO.isPago());
 
@@ -1,14 +1,19 @@
 package br.com.controle.financeiro.controllers.dto;
 
+import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.util.FormatosData;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 public record LancamentoRequestDTO(String id,
                                    @NotBlank(message = "Campo obrigatório não informado.")
+                                   @Size(max = Lancamento.TAMANHO_MAXIMO_NOME,
+                                           message = "Nome deve ter no máximo " + Lancamento.TAMANHO_MAXIMO_NOME + " caracteres.")
                                    String nome,
                                    @NotBlank(message = "Campo obrigatório não informado.")
                                    String idConta,
@@ -20,6 +25,6 @@ public record LancamentoRequestDTO(String id,
                                    @NotNull(message = "Campo obrigatório não informado.") BigDecimal valor, boolean pago) {
 
     public LocalDate parseDate() {
-        return LocalDate.parse(data, java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+        return LocalDate.parse(data, FormatosData.DATA);
     }
 }
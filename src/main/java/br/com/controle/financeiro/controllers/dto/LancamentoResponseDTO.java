@@ -1,6 +1,8 @@
 package br.com.controle.financeiro.controllers.dto;
 
 import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO;
+import br.com.controle.financeiro.util.FormatosData;
 
 import java.math.BigDecimal;
 
@@ -10,7 +12,15 @@ public record LancamentoResponseDTO(String id, String nome, String idConta,
 
         this(lancamento.getId(), lancamento.getNome(), lancamento.getConta().getId(),
                 lancamento.getCategoria().getId(),
-                lancamento.getData().format(java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy")),
+                lancamento.getData().format(FormatosData.DATA),
+                lancamento.getValor(), lancamento.isPago());
+
+    }
+
+    public LancamentoResponseDTO(LancamentoResumoDTO lancamento) {
+
+        this(lancamento.getId(), lancamento.getNome(), lancamento.getIdConta(), lancamento.getIdCategoria(),
+                lancamento.getData().format(FormatosData.DATA),
                 lancamento.getValor(), lancamento.isPago());
 
     }
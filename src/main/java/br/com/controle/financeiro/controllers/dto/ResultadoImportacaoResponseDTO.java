@@ -0,0 +1,18 @@
+package br.com.controle.financeiro.controllers.dto;
+
+import br.com.controle.financeiro.services.ResultadoImportacao;
+
+import java.util.List;
+
+public record ResultadoImportacaoResponseDTO(long linhasLidas, long importados, long rejeitados, int lotes,
+                                             List<ErroLinhaResponseDTO> erros) {
+
+    public ResultadoImportacaoResponseDTO(ResultadoImportacao resultado) {
+
+        this(resultado.linhasLidas(), resultado.importados(), resultado.rejeitados(), resultado.lotes(),
+                resultado.erros().stream().map(erro -> new ErroLinhaResponseDTO(erro.linha(), erro.mensagem())).toList());
+    }
+
+    public record ErroLinhaResponseDTO(long linha, String mensagem) {
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.controle.financeiro.controllers.dto;
+
+import br.com.controle.financeiro.services.ResumoCompetencia;
+import br.com.controle.financeiro.util.FormatosData;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ResumoCompetenciaResponseDTO(String competencia, TotaisResponseDTO total,
+                                           List<TotalAgrupadoResponseDTO> contas,
+                                           List<TotalAgrupadoResponseDTO> categorias) {
+
+    public ResumoCompetenciaResponseDTO(ResumoCompetencia resumo) {
+
+        this(resumo.competencia().format(FormatosData.COMPETENCIA),
+                new TotaisResponseDTO(resumo.total()),
+                resumo.porConta().stream().map(TotalAgrupadoResponseDTO::new).toList(),
+                resumo.porCategoria().stream().map(TotalAgrupadoResponseDTO::new).toList());
+
+    }
+
+    public record TotaisResponseDTO(long quantidade, long quantidadePagos, long quantidadeNaoPagos,
+                                    BigDecimal valorTotal, BigDecimal valorPago, BigDecimal valorNaoPago) {
+
+        public TotaisResponseDTO(ResumoCompetencia.Totais totais) {
+            this(totais.quantidade(), totais.quantidadePagos(), totais.quantidade() - totais.quantidadePagos(),
+                    totais.valorTotal(), totais.valorPago(), totais.valorNaoPago());
+        }
+    }
+
+    public record TotalAgrupadoResponseDTO(String id, String nome, TotaisResponseDTO totais) {
+
+        public TotalAgrupadoResponseDTO(ResumoCompetencia.TotalAgrupado totalAgrupado) {
+            this(totalAgrupado.id(), totalAgrupado.nome(), new TotaisResponseDTO(totalAgrupado.totais()));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.controle.financeiro.controllers.dto;
+
+import br.com.controle.financeiro.domain.SaldoConta;
+import br.com.controle.financeiro.repositories.dto.ContaSaldoDTO;
+
+import java.math.BigDecimal;
+
+public record SaldoContaResponseDTO(BigDecimal valorPago, BigDecimal valorPendente, BigDecimal valorTotal) {
+    public SaldoContaResponseDTO(SaldoConta saldo) {
+        this(saldo.getValorPago(), saldo.valorPendente(), saldo.getValorTotal());
+    }
+
+    public SaldoContaResponseDTO(ContaSaldoDTO conta) {
+        this(conta.getValorPago(), conta.getValorPendente(), conta.getValorTotal());
+    }
+}
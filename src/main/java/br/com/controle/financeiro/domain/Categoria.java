@@ -1,13 +1,22 @@
 package br.com.controle.financeiro.domain;
 
 import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.infra.persistencia.IdentificadorJavaType;
+import br.com.controle.financeiro.infra.persistencia.IdentificadorV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JavaType;
 
 import java.util.List;
 
-@Table(name = "categorias")
+@Table(name = "categorias", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_categorias_usuario_nome", columnNames = {"id_usuario", "nome"})
+})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Categoria.REGIAO_CACHE)
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,16 +24,23 @@ import java.util.List;
 @EqualsAndHashCode
 public class Categoria {
 
+    // Regiões do cache de segundo nível: a entidade e o resultado de CategoriaRepository.findAllCategoriasByUsuarioLogin
+    public static final String REGIAO_CACHE = "categorias";
+    public static final String REGIAO_CACHE_POR_USUARIO = "categorias-por-usuario";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @IdentificadorV7
+    @JavaType(IdentificadorJavaType.class)
     private String id;
 
     private String nome;
 
     @JoinColumn(name = "id_usuario")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     private Usuario usuario;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "categoria")
     private List<Lancamento> lancamentos;
 
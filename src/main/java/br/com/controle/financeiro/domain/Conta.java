@@ -1,13 +1,22 @@
 package br.com.controle.financeiro.domain;
 
 import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.infra.persistencia.IdentificadorJavaType;
+import br.com.controle.financeiro.infra.persistencia.IdentificadorV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JavaType;
 
 import java.util.List;
 
-@Table(name = "contas")
+@Table(name = "contas", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_contas_usuario_nome", columnNames = {"id_usuario", "nome"})
+})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Conta.REGIAO_CACHE)
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,16 +24,22 @@ import java.util.List;
 @EqualsAndHashCode
 public class Conta {
 
+    // Região do cache de segundo nível da entidade
+    public static final String REGIAO_CACHE = "contas";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @IdentificadorV7
+    @JavaType(IdentificadorJavaType.class)
     private String id;
 
     private String nome;
 
     @JoinColumn(name = "id_usuario")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     private Usuario usuario;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "conta")
     private List<Lancamento> lancamentos;
 
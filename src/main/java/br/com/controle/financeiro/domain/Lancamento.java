@@ -1,13 +1,19 @@
 package br.com.controle.financeiro.domain;
 
+import br.com.controle.financeiro.infra.persistencia.IdentificadorJavaType;
+import br.com.controle.financeiro.infra.persistencia.IdentificadorV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
-@Table(name = "lancamentos")
+@Table(name = "lancamentos", indexes = {
+        @Index(name = "idx_lancamentos_conta_data", columnList = "id_conta, data"),
+        @Index(name = "idx_lancamentos_nome_data", columnList = "nome, data")
+})
 @Entity
 @Data
 @Builder
@@ -16,25 +22,36 @@ import java.time.LocalDate;
 @EqualsAndHashCode
 public class Lancamento {
 
+    // Limites das colunas nome (varchar) e valor (numeric), verificados antes da gravação
+    public static final int TAMANHO_MAXIMO_NOME = 255;
+
+    public static final int PRECISAO_VALOR = 8;
+
+    public static final int ESCALA_VALOR = 2;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @IdentificadorV7
+    @JavaType(IdentificadorJavaType.class)
     private String id;
 
+    @Column(length = TAMANHO_MAXIMO_NOME)
     private String nome;
 
     @JoinColumn(name = "id_conta")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     private Conta conta;
 
     @JoinColumn(name = "id_categoria")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     private Categoria categoria;
 
     @Temporal(TemporalType.DATE)
     @DateTimeFormat(pattern = "dd-MM-yyyy")
     private LocalDate data;
 
-    @Column(precision = 8,scale = 2)
+    @Column(precision = PRECISAO_VALOR, scale = ESCALA_VALOR)
     private BigDecimal valor;
 
     @Column
@@ -0,0 +1,41 @@
+package br.com.controle.financeiro.domain;
+
+import br.com.controle.financeiro.infra.persistencia.IdentificadorJavaType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JavaType;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldo de cada conta (total e pago), mantido de forma incremental a cada alteração de lançamento
+ * (ver SaldoContaService).
+ */
+@Table(name = "saldos_conta")
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SaldoConta {
+
+    @Id
+    @Column(name = "id_conta")
+    @JavaType(IdentificadorJavaType.class)
+    private String idConta;
+
+    @Column(name = "valor_total", precision = 14, scale = 2)
+    private BigDecimal valorTotal;
+
+    @Column(name = "valor_pago", precision = 14, scale = 2)
+    private BigDecimal valorPago;
+
+    public static SaldoConta zerado(String idConta) {
+        return new SaldoConta(idConta, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public BigDecimal valorPendente() {
+        return valorTotal.subtract(valorPago);
+    }
+}
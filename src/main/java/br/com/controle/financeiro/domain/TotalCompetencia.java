@@ -0,0 +1,34 @@
+package br.com.controle.financeiro.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais dos lançamentos por usuário, conta, categoria e competência, mantidos de forma incremental
+ * a cada alteração de lançamento (ver TotalCompetenciaService).
+ */
+@Table(name = "totais_competencia")
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TotalCompetencia {
+
+    @EmbeddedId
+    private TotalCompetenciaId id;
+
+    private long quantidade;
+
+    @Column(name = "valor_total", precision = 14, scale = 2)
+    private BigDecimal valorTotal;
+
+    @Column(name = "quantidade_pagos")
+    private long quantidadePagos;
+
+    @Column(name = "valor_pago", precision = 14, scale = 2)
+    private BigDecimal valorPago;
+}
@@ -0,0 +1,33 @@
+package br.com.controle.financeiro.domain;
+
+import br.com.controle.financeiro.infra.persistencia.IdentificadorJavaType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+import org.hibernate.annotations.JavaType;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TotalCompetenciaId implements Serializable {
+
+    @Column(name = "id_usuario")
+    @JavaType(IdentificadorJavaType.class)
+    private String idUsuario;
+
+    @Column(name = "id_conta")
+    @JavaType(IdentificadorJavaType.class)
+    private String idConta;
+
+    @Column(name = "id_categoria")
+    @JavaType(IdentificadorJavaType.class)
+    private String idCategoria;
+
+    // Competência no formato AAAAMM
+    private Integer competencia;
+}
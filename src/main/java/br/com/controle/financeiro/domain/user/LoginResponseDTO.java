@@ -1,4 +1,4 @@
 package br.com.controle.financeiro.domain.user;
 
-public record LoginResponseDTO(String token) {
+public record LoginResponseDTO(String token, String refreshToken) {
 }
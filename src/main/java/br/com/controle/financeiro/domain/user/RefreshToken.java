@@ -0,0 +1,61 @@
+package br.com.controle.financeiro.domain.user;
+
+import br.com.controle.financeiro.infra.persistencia.IdentificadorJavaType;
+import br.com.controle.financeiro.infra.persistencia.IdentificadorV7;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * Token de renovação (opaco e de longa duração) usado em /auth/refresh para emitir um novo JWT sem verificar a senha.
+ * Apenas o hash SHA-256 do token é armazenado. Os tokens emitidos a partir de um mesmo login formam uma família: cada
+ * renovação substitui o token por outro da mesma família.
+ */
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_tokens_hash", columnNames = "hash")
+})
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class RefreshToken {
+
+    @Id
+    @IdentificadorV7
+    @JavaType(IdentificadorJavaType.class)
+    private String id;
+
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @JoinColumn(name = "id_usuario", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Usuario usuario;
+
+    @Column(nullable = false)
+    @JavaType(IdentificadorJavaType.class)
+    private String familia;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+
+    // Preenchido quando o token é trocado por um novo; a partir daí, o seu uso indica reuso
+    @Column(name = "substituido_em")
+    private Instant substituidoEm;
+
+    public boolean expirado(Instant agora) {
+        return !expiraEm.isAfter(agora);
+    }
+
+    public boolean substituido() {
+        return substituidoEm != null;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.controle.financeiro.domain.user;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenDTO(@NotBlank String refreshToken) {
+}
@@ -1,8 +1,11 @@
 package br.com.controle.financeiro.domain.user;
 
 import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.infra.persistencia.IdentificadorJavaType;
+import br.com.controle.financeiro.infra.persistencia.IdentificadorV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,7 +22,8 @@ import java.util.List;
 @EqualsAndHashCode(of = "id")
 public class Usuario implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @IdentificadorV7
+    @JavaType(IdentificadorJavaType.class)
     private String id;
     private String login;
     private String password;
@@ -27,6 +31,14 @@ public class Usuario implements UserDetails {
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
+    /**
+     * Versão dos dados (contas, categorias e lançamentos) do usuário, incrementada a cada escrita.
+     * Usada como ETag das consultas.
+     */
+    @Column(name = "versao_dados", nullable = false)
+    private long versaoDados;
+
+    @ToString.Exclude
     @OneToMany(mappedBy = "usuario")
     private List<Conta> contas;
 
@@ -0,0 +1,113 @@
+package br.com.controle.financeiro.infra.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita, com um semáforo justo (FIFO), quantas threads podem estar com uma conexão do pool ao mesmo tempo.
+ * Com threads virtuais, milhares de requisições podem pedir conexão juntas: elas aguardam estacionadas no semáforo,
+ * a um custo baixo, em vez de disputarem a aquisição de conexões dentro do pool. A permissão é devolvida quando a
+ * conexão é fechada (devolvida ao pool).
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+
+    private final int totalPermissoes;
+
+    private final Duration esperaMaxima;
+
+    public BulkheadDataSource(DataSource dataSource, int permissoes, Duration esperaMaxima) {
+        super(dataSource);
+        this.permissoes = new Semaphore(permissoes, true);
+        this.totalPermissoes = permissoes;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirirPermissao();
+        try {
+            return liberarPermissaoAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirirPermissao();
+        try {
+            return liberarPermissaoAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    public int getTotalPermissoes() {
+        return totalPermissoes;
+    }
+
+    public int getPermissoesDisponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    public int getThreadsAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    private void adquirirPermissao() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Nenhuma conexão com o banco de dados disponível após "
+                        + esperaMaxima.toMillis() + " ms (" + totalPermissoes + " em uso, "
+                        + permissoes.getQueueLength() + " aguardando).");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido enquanto aguardava uma conexão com o banco de dados.", e);
+        }
+    }
+
+    private Connection liberarPermissaoAoFechar(Connection conexao) {
+
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            yield invocar(conexao, metodo, args);
+                        } finally {
+                            // Fechar a mesma conexão mais de uma vez não devolve permissões extras
+                            if (fechada.compareAndSet(false, true)) {
+                                permissoes.release();
+                            }
+                        }
+                    }
+                    default -> invocar(conexao, metodo, args);
+                });
+    }
+
+    private static Object invocar(Connection conexao, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(conexao, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.controle.financeiro.infra.instrumentacao;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuração da instrumentação das requisições e dos comandos SQL. Os valores iniciais vêm do application.properties
+ * e podem ser alterados com a aplicação em execução pelo endpoint /actuator/instrumentacao.
+ */
+@Component
+public class ConfiguracaoInstrumentacao {
+
+    private volatile boolean habilitada;
+
+    private volatile Duration limiteSqlLento;
+
+    private volatile double amostragemSqlLento;
+
+    public ConfiguracaoInstrumentacao(@Value("${app.instrumentacao.habilitada:true}") boolean habilitada,
+                                      @Value("${app.instrumentacao.sql-lento.limite:200ms}") Duration limiteSqlLento,
+                                      @Value("${app.instrumentacao.sql-lento.amostragem:1.0}") double amostragemSqlLento) {
+        this.habilitada = habilitada;
+        this.limiteSqlLento = limiteSqlLento;
+        setAmostragemSqlLento(amostragemSqlLento);
+    }
+
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    public void setHabilitada(boolean habilitada) {
+        this.habilitada = habilitada;
+    }
+
+    public Duration getLimiteSqlLento() {
+        return limiteSqlLento;
+    }
+
+    public void setLimiteSqlLento(Duration limiteSqlLento) {
+        this.limiteSqlLento = limiteSqlLento;
+    }
+
+    public double getAmostragemSqlLento() {
+        return amostragemSqlLento;
+    }
+
+    /**
+     * @param amostragemSqlLento fração (0 a 1) dos comandos lentos registrados no log; 0 desliga o log
+     */
+    public void setAmostragemSqlLento(double amostragemSqlLento) {
+        if (amostragemSqlLento < 0 || amostragemSqlLento > 1) {
+            throw new IllegalArgumentException("A amostragem dos comandos SQL lentos deve estar entre 0 e 1.");
+        }
+        this.amostragemSqlLento = amostragemSqlLento;
+    }
+}
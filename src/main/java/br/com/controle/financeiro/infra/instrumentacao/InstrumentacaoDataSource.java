@@ -0,0 +1,136 @@
+package br.com.controle.financeiro.infra.instrumentacao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conta os comandos SQL e as linhas lidas de cada requisição (ver {@link MedicaoRequisicao}) e registra no log,
+ * por amostragem, os comandos mais lentos que o limite configurado. Com a instrumentação desabilitada as conexões são
+ * entregues sem nenhum envoltório.
+ */
+public class InstrumentacaoDataSource extends DelegatingDataSource {
+
+    private static final Logger LOGGER_SQL_LENTO = LoggerFactory.getLogger("br.com.controle.financeiro.sql.lento");
+
+    private static final Set<String> EXECUCOES = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+
+    private final ConfiguracaoInstrumentacao configuracao;
+
+    public InstrumentacaoDataSource(DataSource dataSource, ConfiguracaoInstrumentacao configuracao) {
+        super(dataSource);
+        this.configuracao = configuracao;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection conexao = super.getConnection();
+        return configuracao.isHabilitada() ? instrumentarConexao(conexao) : conexao;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection conexao = super.getConnection(username, password);
+        return configuracao.isHabilitada() ? instrumentarConexao(conexao) : conexao;
+    }
+
+    private Connection instrumentarConexao(Connection conexao) {
+        return criarProxy(Connection.class, conexao, (proxy, metodo, args) -> {
+            Object resultado = invocar(conexao, metodo, args);
+            if (resultado instanceof Statement statement && metodo.getName().startsWith("prepare")) {
+                return instrumentarStatement(metodo.getReturnType(), statement, (String) args[0]);
+            }
+            if (resultado instanceof Statement statement) {
+                return instrumentarStatement(metodo.getReturnType(), statement, null);
+            }
+            return resultado;
+        });
+    }
+
+    private Object instrumentarStatement(Class<?> tipo, Statement statement, String sqlPreparado) {
+
+        String[] ultimoSql = {sqlPreparado};
+        return criarProxy(tipo, statement, (proxy, metodo, args) -> {
+            String nome = metodo.getName();
+            if (nome.equals("addBatch") && args != null && args[0] instanceof String sql) {
+                ultimoSql[0] = sql;
+            }
+            if (!EXECUCOES.contains(nome)) {
+                Object resultado = invocar(statement, metodo, args);
+                return nome.equals("getResultSet") && resultado != null
+                        ? instrumentarResultSet((ResultSet) resultado, proxy) : resultado;
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : ultimoSql[0];
+            long inicio = System.nanoTime();
+            try {
+                Object resultado = invocar(statement, metodo, args);
+                return resultado instanceof ResultSet resultSet ? instrumentarResultSet(resultSet, proxy) : resultado;
+            } finally {
+                registrarExecucao(sql, System.nanoTime() - inicio);
+            }
+        });
+    }
+
+    private ResultSet instrumentarResultSet(ResultSet resultSet, Object statementProxy) {
+        return criarProxy(ResultSet.class, resultSet, (proxy, metodo, args) -> {
+            if (metodo.getName().equals("getStatement")) {
+                return statementProxy;
+            }
+            Object resultado = invocar(resultSet, metodo, args);
+            if (metodo.getName().equals("next") && Boolean.TRUE.equals(resultado)) {
+                MedicaoRequisicao medicao = MedicaoRequisicao.atual();
+                if (medicao != null) {
+                    medicao.registrarLinha();
+                }
+            }
+            return resultado;
+        });
+    }
+
+    private void registrarExecucao(String sql, long nanos) {
+
+        MedicaoRequisicao medicao = MedicaoRequisicao.atual();
+        if (medicao != null) {
+            medicao.registrarComando(nanos);
+        }
+
+        if (nanos >= configuracao.getLimiteSqlLento().toNanos()
+                && ThreadLocalRandom.current().nextDouble() < configuracao.getAmostragemSqlLento()) {
+            LOGGER_SQL_LENTO.warn("SQL lento ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), sql);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T criarProxy(Class<T> tipo, Object alvo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InstrumentacaoDataSource.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> alvo.toString();
+                    default -> handler.invoke(proxy, metodo, args);
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
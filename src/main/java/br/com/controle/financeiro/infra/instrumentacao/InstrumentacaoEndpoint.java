@@ -0,0 +1,56 @@
+package br.com.controle.financeiro.infra.instrumentacao;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Consulta (GET) e altera (POST) a instrumentação sem reiniciar a aplicação: /actuator/instrumentacao.
+ * Ex.: {"habilitada": false} ou {"limiteSqlLentoMs": 50, "amostragemSqlLento": 0.1}.
+ */
+@Component
+@Endpoint(id = "instrumentacao")
+public class InstrumentacaoEndpoint {
+
+    private final ConfiguracaoInstrumentacao configuracao;
+
+    public InstrumentacaoEndpoint(ConfiguracaoInstrumentacao configuracao) {
+        this.configuracao = configuracao;
+    }
+
+    @ReadOperation
+    public Map<String, Object> configuracao() {
+        return Map.of("habilitada", configuracao.isHabilitada(),
+                "limiteSqlLentoMs", configuracao.getLimiteSqlLento().toMillis(),
+                "amostragemSqlLento", configuracao.getAmostragemSqlLento());
+    }
+
+    @WriteOperation
+    public Map<String, Object> atualizar(@Nullable Boolean habilitada, @Nullable Long limiteSqlLentoMs,
+                                         @Nullable Double amostragemSqlLento) {
+
+        if (limiteSqlLentoMs != null && limiteSqlLentoMs < 0) {
+            throw new InvalidEndpointRequestException("limiteSqlLentoMs não pode ser negativo.", "limiteSqlLentoMs inválido");
+        }
+        if (amostragemSqlLento != null && (amostragemSqlLento < 0 || amostragemSqlLento > 1)) {
+            throw new InvalidEndpointRequestException("amostragemSqlLento deve estar entre 0 e 1.", "amostragemSqlLento inválida");
+        }
+
+        if (habilitada != null) {
+            configuracao.setHabilitada(habilitada);
+        }
+        if (limiteSqlLentoMs != null) {
+            configuracao.setLimiteSqlLento(Duration.ofMillis(limiteSqlLentoMs));
+        }
+        if (amostragemSqlLento != null) {
+            configuracao.setAmostragemSqlLento(amostragemSqlLento);
+        }
+        return configuracao();
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.controle.financeiro.infra.instrumentacao;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede cada requisição atendida por um método de controller e publica, com as tags controlador e metodo:
+ * "api.requisicoes" (tempo de resposta, também com a tag status), "api.requisicoes.sql.comandos" e
+ * "api.requisicoes.sql.linhas". Respostas sem corpo recebem aqui o cabeçalho Server-Timing; as demais, no
+ * {@link ServerTimingResponseBodyAdvice}, antes da escrita do corpo.
+ */
+@Component
+public class InstrumentacaoInterceptor implements AsyncHandlerInterceptor {
+
+    static final String ATRIBUTO_MEDICAO = InstrumentacaoInterceptor.class.getName() + ".medicao";
+
+    static final String CABECALHO_SERVER_TIMING = "Server-Timing";
+
+    private final ConfiguracaoInstrumentacao configuracao;
+
+    private final MeterRegistry meterRegistry;
+
+    public InstrumentacaoInterceptor(ConfiguracaoInstrumentacao configuracao, MeterRegistry meterRegistry) {
+        this.configuracao = configuracao;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        // No redespacho de uma resposta assíncrona a medição iniciada na primeira etapa continua valendo
+        if (configuracao.isHabilitada() && handler instanceof HandlerMethod
+                && request.getAttribute(ATRIBUTO_MEDICAO) == null) {
+            request.setAttribute(ATRIBUTO_MEDICAO, MedicaoRequisicao.iniciar());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        MedicaoRequisicao.encerrar();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        MedicaoRequisicao.encerrar();
+        if (!(request.getAttribute(ATRIBUTO_MEDICAO) instanceof MedicaoRequisicao medicao)
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+
+        if (!response.isCommitted() && !response.containsHeader(CABECALHO_SERVER_TIMING)) {
+            response.setHeader(CABECALHO_SERVER_TIMING, medicao.serverTiming());
+        }
+
+        Tags tags = Tags.of("controlador", handlerMethod.getBeanType().getSimpleName(),
+                "metodo", handlerMethod.getMethod().getName());
+        Timer.builder("api.requisicoes")
+                .description("Tempo de resposta por método de controller")
+                .tags(tags.and("status", String.valueOf(response.getStatus())))
+                .register(meterRegistry)
+                .record(medicao.getNanosDecorridos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("api.requisicoes.sql.comandos")
+                .description("Comandos SQL executados por requisição")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(medicao.getComandos());
+        DistributionSummary.builder("api.requisicoes.sql.linhas")
+                .description("Linhas lidas do banco por requisição")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(medicao.getLinhas());
+    }
+}
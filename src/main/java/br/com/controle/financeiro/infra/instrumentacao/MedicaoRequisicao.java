@@ -0,0 +1,79 @@
+package br.com.controle.financeiro.infra.instrumentacao;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo total, comandos SQL executados, linhas lidas e tempo gasto no banco por uma requisição. A medição fica
+ * associada à thread que atende a requisição, onde o {@link InstrumentacaoDataSource} a encontra.
+ */
+public final class MedicaoRequisicao {
+
+    private static final ThreadLocal<MedicaoRequisicao> ATUAL = new ThreadLocal<>();
+
+    private final long inicio = System.nanoTime();
+
+    private int comandos;
+
+    private long linhas;
+
+    private long nanosBanco;
+
+    private MedicaoRequisicao() {
+    }
+
+    public static MedicaoRequisicao iniciar() {
+        MedicaoRequisicao medicao = new MedicaoRequisicao();
+        ATUAL.set(medicao);
+        return medicao;
+    }
+
+    /**
+     * @return a medição da requisição atendida pela thread atual, ou null fora de uma requisição
+     */
+    public static MedicaoRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    void registrarComando(long nanos) {
+        comandos++;
+        nanosBanco += nanos;
+    }
+
+    void registrarLinha() {
+        linhas++;
+    }
+
+    public int getComandos() {
+        return comandos;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public long getNanosBanco() {
+        return nanosBanco;
+    }
+
+    public long getNanosDecorridos() {
+        return System.nanoTime() - inicio;
+    }
+
+    /**
+     * Valor do cabeçalho Server-Timing: tempo total (app) e no banco (db), em milissegundos, e as contagens de
+     * comandos SQL e linhas lidas.
+     */
+    public String serverTiming() {
+        return String.format(Locale.ROOT, "app;dur=%.1f, db;dur=%.1f, db-comandos;desc=\"%d\", db-linhas;desc=\"%d\"",
+                paraMilissegundos(getNanosDecorridos()), paraMilissegundos(nanosBanco), comandos, linhas);
+    }
+
+    private static double paraMilissegundos(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.controle.financeiro.infra.instrumentacao;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Inclui o cabeçalho Server-Timing nas respostas com corpo, que já estariam enviadas quando o
+ * {@link InstrumentacaoInterceptor} termina a medição.
+ */
+@ControllerAdvice
+public class ServerTimingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(InstrumentacaoInterceptor.ATRIBUTO_MEDICAO)
+                instanceof MedicaoRequisicao medicao) {
+            response.getHeaders().set(InstrumentacaoInterceptor.CABECALHO_SERVER_TIMING, medicao.serverTiming());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.controle.financeiro.infra.persistencia;
+
+import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.domain.Conta;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica os acertos (hit) e faltas (miss) das regiões do cache de segundo nível como "cache.gets{cache=regiao}",
+ * com os mesmos nomes do cache dos usuários autenticados, e a taxa de acertos como "cache.taxa.acertos{cache=regiao}".
+ * Os valores vêm das estatísticas do Hibernate (hibernate.generate_statistics).
+ */
+@Component
+public class CacheSegundoNivelMetricas implements MeterBinder {
+
+    private final Statistics estatisticas;
+
+    public CacheSegundoNivelMetricas(EntityManagerFactory entityManagerFactory) {
+        this.estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registrar(registry, Conta.REGIAO_CACHE, estatisticas::getDomainDataRegionStatistics);
+        registrar(registry, Categoria.REGIAO_CACHE, estatisticas::getDomainDataRegionStatistics);
+        registrar(registry, Categoria.REGIAO_CACHE_POR_USUARIO, estatisticas::getQueryRegionStatistics);
+    }
+
+    // As regiões de consultas só existem depois do primeiro uso; até lá, as estatísticas são nulas
+    private void registrar(MeterRegistry registry, String regiao, Function<String, CacheRegionStatistics> obterEstatisticas) {
+        ToDoubleFunction<Statistics> acertos = e -> valor(obterEstatisticas.apply(regiao), CacheRegionStatistics::getHitCount);
+        ToDoubleFunction<Statistics> faltas = e -> valor(obterEstatisticas.apply(regiao), CacheRegionStatistics::getMissCount);
+
+        FunctionCounter.builder("cache.gets", estatisticas, acertos)
+                .tags("cache", regiao, "result", "hit")
+                .description("Leituras do cache de segundo nível encontradas na região")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", estatisticas, faltas)
+                .tags("cache", regiao, "result", "miss")
+                .description("Leituras do cache de segundo nível buscadas no banco")
+                .register(registry);
+        Gauge.builder("cache.taxa.acertos", estatisticas, e -> {
+                    double total = acertos.applyAsDouble(e) + faltas.applyAsDouble(e);
+                    return total == 0 ? Double.NaN : acertos.applyAsDouble(e) / total;
+                })
+                .tag("cache", regiao)
+                .description("Fração das leituras da região atendidas pelo cache desde o início da aplicação")
+                .register(registry);
+    }
+
+    private static double valor(CacheRegionStatistics estatisticasRegiao, ToDoubleFunction<CacheRegionStatistics> contador) {
+        return estatisticasRegiao == null ? 0 : contador.applyAsDouble(estatisticasRegiao);
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.controle.financeiro.infra.persistencia;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Garante que uma tarefa agendada rode em uma única instância da aplicação por vez, com um bloqueio consultivo do
+ * Postgres (pg_try_advisory_lock) identificado pelo nome da tarefa. O bloqueio é de sessão: fica preso a uma conexão
+ * própria, reservada durante toda a execução, e as transações da tarefa usam outras conexões do pool.
+ * <p>
+ * Se a conexão cair, o Postgres libera o bloqueio sozinho, então uma instância encerrada no meio da tarefa não impede
+ * as próximas execuções.
+ */
+@Component
+public class ExecucaoExclusiva {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExecucaoExclusiva(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Executa a tarefa se nenhuma outra instância estiver executando a tarefa com o mesmo nome.
+     *
+     * @return false quando a tarefa já está em execução em outro lugar e não foi executada
+     */
+    public boolean executar(String tarefa, Runnable execucao) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+            if (!consultar(conexao, "SELECT pg_try_advisory_lock(hashtext(?))", tarefa)) {
+                return false;
+            }
+            try {
+                execucao.run();
+                return true;
+            } finally {
+                consultar(conexao, "SELECT pg_advisory_unlock(hashtext(?))", tarefa);
+            }
+        }));
+    }
+
+    private static boolean consultar(Connection conexao, String sql, String tarefa) throws SQLException {
+        try (PreparedStatement comando = conexao.prepareStatement(sql)) {
+            comando.setString(1, tarefa);
+            try (ResultSet resultado = comando.executeQuery()) {
+                return resultado.next() && resultado.getBoolean(1);
+            }
+        }
+    }
+}
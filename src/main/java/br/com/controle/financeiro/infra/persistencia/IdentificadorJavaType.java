@@ -0,0 +1,57 @@
+package br.com.controle.financeiro.infra.persistencia;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+import java.util.UUID;
+
+/**
+ * Mantém os ids como String nas entidades e DTOs, mas os grava no tipo uuid nativo do banco (16 bytes, em vez de
+ * 36 caracteres em varchar). Textos que não são um UUID válido, como ids informados incorretamente na API, são
+ * convertidos para o UUID nulo (00000000-...), que nunca é gerado: a consulta simplesmente não encontra registros,
+ * como acontecia com ids inexistentes em varchar.
+ */
+public class IdentificadorJavaType extends StringJavaType {
+
+    public static final UUID UUID_NULO = new UUID(0L, 0L);
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getTypeConfiguration().getJdbcTypeRegistry().getDescriptor(SqlTypes.UUID);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value != null && UUID.class.isAssignableFrom(type)) {
+            return (X) paraUuid(value);
+        }
+        return super.unwrap(value, type, options);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        return super.wrap(value, options);
+    }
+
+    /**
+     * Converte o id para UUID, usado também nos parâmetros de consultas nativas. Retorna null para null e o
+     * {@link #UUID_NULO} para textos que não são um UUID.
+     */
+    public static UUID paraUuid(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return id.length() == 36 ? UUID.fromString(id) : UUID_NULO;
+        } catch (IllegalArgumentException e) {
+            return UUID_NULO;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.controle.financeiro.infra.persistencia;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gera o id da entidade com um {@link UuidV7}, na aplicação, antes do insert. Usado junto com
+ * {@code @JavaType(IdentificadorJavaType.class)}, que grava o id no tipo uuid nativo do banco.
+ */
+@IdGeneratorType(GeradorIdentificadorV7.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdentificadorV7 {
+}
@@ -0,0 +1,36 @@
+package br.com.controle.financeiro.infra.persistencia;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera UUIDs versão 7 (RFC 9562): os 48 bits iniciais são o instante em milissegundos, seguidos de um contador de
+ * 12 bits e 62 bits aleatórios. Os ids gerados são crescentes, então as inserções vão para o fim dos índices B-tree
+ * em vez de páginas aleatórias, como acontecia com os UUIDs versão 4.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+
+    // Instante (ms) << 12 | contador do último id gerado, para manter a ordem dentro do mesmo milissegundo
+    private static final AtomicLong ULTIMO_INSTANTE_CONTADOR = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID gerar() {
+        return gerar(System.currentTimeMillis());
+    }
+
+    static UUID gerar(long instanteMillis) {
+        long instanteContador = ULTIMO_INSTANTE_CONTADOR.updateAndGet(
+                ultimo -> Math.max(instanteMillis << 12, ultimo + 1));
+
+        long bitsMaisSignificativos = (instanteContador >>> 12) << 16
+                | 0x7000L
+                | (instanteContador & 0x0FFFL);
+        long bitsMenosSignificativos = (ALEATORIO.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(bitsMaisSignificativos, bitsMenosSignificativos);
+    }
+}
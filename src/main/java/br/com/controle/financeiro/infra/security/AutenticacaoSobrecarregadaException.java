@@ -0,0 +1,12 @@
+package br.com.controle.financeiro.infra.security;
+
+/**
+ * Lançada quando o pool de hashing de senhas está saturado (fila cheia ou espera excedida).
+ * Respondida com 503, para que o cliente tente novamente mais tarde.
+ */
+public class AutenticacaoSobrecarregadaException extends RuntimeException {
+
+    public AutenticacaoSobrecarregadaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.controle.financeiro.infra.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa o hashing e a verificação de senhas (BCrypt) num pool próprio, com uma thread por núcleo e fila limitada.
+ * Picos de login e cadastro ficam restritos a esse pool: com a fila cheia, ou após a espera máxima, a requisição
+ * é recusada com {@link AutenticacaoSobrecarregadaException} em vez de ocupar a CPU das demais requisições.
+ * <p>
+ * Métricas: "autenticacao.senhas.hash" (tempo do hash, por operação), "autenticacao.senhas.fila" (tarefas
+ * aguardando), "autenticacao.senhas.ativas" e "autenticacao.senhas.rejeitadas".
+ */
+public class PasswordEncoderLimitado implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Duration esperaMaxima;
+
+    private final Timer tempoCodificacao;
+
+    private final Timer tempoVerificacao;
+
+    private final Counter rejeitadas;
+
+    public PasswordEncoderLimitado(PasswordEncoder delegate, int threads, int capacidadeFila, Duration esperaMaxima,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.esperaMaxima = esperaMaxima;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), criarThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.tempoCodificacao = Timer.builder("autenticacao.senhas.hash")
+                .description("Tempo de cálculo do hash das senhas")
+                .tag("operacao", "codificacao")
+                .register(meterRegistry);
+        this.tempoVerificacao = Timer.builder("autenticacao.senhas.hash")
+                .description("Tempo de cálculo do hash das senhas")
+                .tag("operacao", "verificacao")
+                .register(meterRegistry);
+        this.rejeitadas = Counter.builder("autenticacao.senhas.rejeitadas")
+                .description("Operações recusadas por saturação do pool de hashing")
+                .register(meterRegistry);
+        Gauge.builder("autenticacao.senhas.fila", executor, e -> e.getQueue().size())
+                .description("Operações de hashing aguardando uma thread do pool")
+                .register(meterRegistry);
+        Gauge.builder("autenticacao.senhas.ativas", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Operações de hashing em execução")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> tempoCodificacao.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> tempoVerificacao.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T executar(Callable<T> operacao) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(operacao);
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            throw new AutenticacaoSobrecarregadaException("Serviço de autenticação sobrecarregado. Tente novamente em instantes.");
+        }
+
+        try {
+            return resultado.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            rejeitadas.increment();
+            throw new AutenticacaoSobrecarregadaException("Serviço de autenticação sobrecarregado. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Erro ao calcular o hash da senha.", e.getCause());
+        }
+    }
+
+    private static ThreadFactory criarThreadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.controle.financeiro.infra.security;
+
+import br.com.controle.financeiro.domain.user.LoginResponseDTO;
+import br.com.controle.financeiro.domain.user.RefreshToken;
+import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.infra.persistencia.UuidV7;
+import br.com.controle.financeiro.repositories.RefreshTokenRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Emite, renova e revoga os tokens de renovação. A renovação custa uma consulta pelo índice do hash e a assinatura
+ * (HMAC) do novo JWT, sem a verificação BCrypt da senha feita no login.
+ * <p>
+ * Cada renovação troca o token por um novo da mesma família (sessão). Se um token já trocado for usado de novo, ele
+ * pode ter sido copiado: a família inteira é revogada e o usuário precisa entrar novamente. Cada usuário mantém no
+ * máximo api.security.refresh-token.maximo-sessoes famílias; a mais antiga é revogada quando o limite é passado.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TAMANHO_TOKEN_BYTES = 32;
+
+    private static final String MENSAGEM_TOKEN_INVALIDO = "Refresh token inválido ou expirado.";
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final TokenService tokenService;
+
+    private final Duration expiracao;
+
+    private final int maximoSessoes;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TokenService tokenService,
+                               @Value("${api.security.refresh-token.expiracao:30d}") Duration expiracao,
+                               @Value("${api.security.refresh-token.maximo-sessoes:10}") int maximoSessoes) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenService = tokenService;
+        this.expiracao = expiracao;
+        this.maximoSessoes = maximoSessoes;
+    }
+
+    /**
+     * Gera o token de renovação de uma nova sessão do usuário. O valor retornado é entregue ao cliente e não é
+     * armazenado.
+     */
+    @Transactional
+    public String gerar(Usuario usuario) {
+        String refreshToken = emitir(usuario, UuidV7.gerar().toString());
+        limitarSessoes(usuario);
+        return refreshToken;
+    }
+
+    /**
+     * Emite um novo JWT e um novo token de renovação para o dono do token informado, que deixa de valer.
+     */
+    @Transactional(dontRollbackOn = BadCredentialsException.class)
+    public LoginResponseDTO renovar(String refreshToken) {
+        RefreshToken registro = refreshTokenRepository.findByHashParaRenovacao(TokenService.calcularHash(refreshToken))
+                .filter(r -> !r.expirado(Instant.now()))
+                .orElseThrow(() -> new BadCredentialsException(MENSAGEM_TOKEN_INVALIDO));
+
+        if (registro.substituido()) {
+            // A revogação é confirmada mesmo com a exceção (dontRollbackOn)
+            LOGGER.warn("Reuso de refresh token já substituído do usuário {}: sessão revogada",
+                    registro.getUsuario().getLogin());
+            refreshTokenRepository.removerFamilias(List.of(registro.getFamilia()));
+            throw new BadCredentialsException(MENSAGEM_TOKEN_INVALIDO);
+        }
+
+        // Apenas o token que está sendo trocado é mantido como substituído, para detectar o seu reuso
+        refreshTokenRepository.removerSubstituidos(registro.getFamilia());
+        registro.setSubstituidoEm(Instant.now());
+        String novoRefreshToken = emitir(registro.getUsuario(), registro.getFamilia());
+
+        return new LoginResponseDTO(tokenService.generateToken(registro.getUsuario()), novoRefreshToken);
+    }
+
+    /**
+     * Revoga a sessão do token informado (logout). Tokens inexistentes são ignorados.
+     */
+    @Transactional
+    public void revogar(String refreshToken) {
+        refreshTokenRepository.findByHashComUsuario(TokenService.calcularHash(refreshToken))
+                .ifPresent(registro -> refreshTokenRepository.removerFamilias(List.of(registro.getFamilia())));
+    }
+
+    @Transactional
+    @Scheduled(cron = "${api.security.refresh-token.limpeza.cron:0 0 4 * * *}")
+    public int removerExpirados() {
+        int removidos = refreshTokenRepository.removerExpirados(Instant.now());
+        LOGGER.info("Refresh tokens expirados removidos: {}", removidos);
+        return removidos;
+    }
+
+    private String emitir(Usuario usuario, String familia) {
+        byte[] bytes = new byte[TAMANHO_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .hash(TokenService.calcularHash(refreshToken))
+                .usuario(usuario)
+                .familia(familia)
+                .expiraEm(Instant.now().plus(expiracao))
+                .build());
+        return refreshToken;
+    }
+
+    private void limitarSessoes(Usuario usuario) {
+        List<String> familias = refreshTokenRepository.findFamiliasAtivasByUsuario(usuario);
+        if (familias.size() > maximoSessoes) {
+            refreshTokenRepository.removerFamilias(familias.subList(maximoSessoes, familias.size()));
+        }
+    }
+}
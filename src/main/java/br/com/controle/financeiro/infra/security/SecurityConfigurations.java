@@ -1,9 +1,13 @@
 package br.com.controle.financeiro.infra.security;
 
+import br.com.controle.financeiro.controllers.LancamentoController;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -18,6 +22,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -36,8 +41,12 @@ public class SecurityConfigurations {
                         .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/refresh").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/logout").permitAll()
                         //Liberação de rotas para o Swagger
                         .requestMatchers("/v3/**", "/swagger-ui/**").permitAll()
+                        //Métricas e configuração da instrumentação: servidos apenas na porta de gerenciamento (local)
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
@@ -49,6 +58,8 @@ public class SecurityConfigurations {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.applyPermitDefaultValues();
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD"));
+        configuration.setExposedHeaders(List.of(LancamentoController.CABECALHO_PROXIMO_CURSOR, HttpHeaders.CONTENT_DISPOSITION,
+                HttpHeaders.ETAG, "Server-Timing"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**",configuration);
         return source;
@@ -59,8 +70,17 @@ public class SecurityConfigurations {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    /**
+     * Usado no cadastro e, pelo AuthenticationManager, no login. O BCrypt roda num pool limitado (uma thread por
+     * núcleo, por padrão), para que picos de autenticação não consumam a CPU das demais requisições.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.senhas.threads:0}") int threads,
+                                           @Value("${api.security.senhas.fila:100}") int capacidadeFila,
+                                           @Value("${api.security.senhas.espera-maxima:5s}") Duration esperaMaxima,
+                                           MeterRegistry meterRegistry) {
+        int threadsPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PasswordEncoderLimitado(new BCryptPasswordEncoder(), threadsPool, capacidadeFila, esperaMaxima,
+                meterRegistry);
     }
 }
@@ -6,6 +6,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,13 +23,24 @@ public class SecurityFilter extends OncePerRequestFilter {
     TokenService tokenService;
     @Autowired
     UsuarioRepository usuarioRepository;
+    @Autowired
+    UsuarioPrincipalCache usuarioPrincipalCache;
+
+    // Reconstrói o usuário a partir das claims do token, sem consultar o banco. Alterações de papel ou a exclusão
+    // do usuário passam a valer somente para os tokens emitidos depois delas.
+    @Value("${api.security.token.principal-por-claims:false}")
+    boolean principalPorClaims;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
         if (token != null) {
-            var login = tokenService.validateToken(token);
-            UserDetails user = usuarioRepository.findByLogin(login);
+            UserDetails user = principalPorClaims ? tokenService.obterUsuarioAutenticado(token) : null;
+            if (user == null) {
+                // Tokens emitidos antes da inclusão do id do usuário nas claims continuam sendo aceitos
+                var login = tokenService.validateToken(token);
+                user = usuarioPrincipalCache.obter(login, usuarioRepository::findByLogin);
+            }
             if (user == null) {
                 throw new BadCredentialsException("Usuário não encontrado.");
             }
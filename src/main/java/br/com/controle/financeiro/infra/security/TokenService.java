@@ -2,37 +2,73 @@ package br.com.controle.financeiro.infra.security;
 
 import br.com.controle.financeiro.domain.user.Usuario;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
+
+    private static final String ISSUER = "auth-api";
+
+    private static final String CLAIM_PAPEIS = "scope";
+
+    private static final String CLAIM_ID_USUARIO = "uid";
+
+    // Algorithm e JWTVerifier são imutáveis e thread-safe, por isso são criados uma única vez.
+    private final Algorithm algorithm;
+
+    private final JWTVerifier verifier;
+
+    // Tokens verificados recentemente (hash do token -> subject e expiração), evitando recalcular o HMAC
+    // quando o mesmo token é reenviado. Fica desabilitado quando o tamanho máximo é 0.
+    private final Cache<String, TokenVerificado> tokensVerificados;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.cache.tamanho-maximo:10000}") long tamanhoMaximoCache,
+                        @Value("${api.security.token.cache.expiracao:10m}") Duration expiracaoCache) {
+
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.tokensVerificados = tamanhoMaximoCache > 0
+                ? Caffeine.newBuilder().maximumSize(tamanhoMaximoCache).expireAfterWrite(expiracaoCache).build()
+                : null;
+    }
 
     public String generateToken(Usuario usuario){
         try{
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-
             List<String> roles = List.of(usuario.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(" ")));
             String[] rolesArray = new String[roles.size()];
             roles.toArray(rolesArray);
 
             String token = JWT.create()
-                    .withIssuer("auth-api")
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getLogin())
                     .withExpiresAt(genExpirationDate())
-                    .withArrayClaim("scope", rolesArray)
+                    .withArrayClaim(CLAIM_PAPEIS, rolesArray)
+                    .withClaim(CLAIM_ID_USUARIO, usuario.getId())
                     .sign(algorithm);
             return token;
         } catch (JWTCreationException exception) {
@@ -41,19 +77,79 @@ public class TokenService {
     }
 
     public String validateToken(String token){
+        TokenVerificado tokenVerificado = verificar(token);
+        return tokenVerificado != null ? tokenVerificado.subject() : "";
+    }
+
+    /**
+     * Retorna o usuário descrito pelas claims do token (id, login e papéis), ou null se o token for inválido ou
+     * tiver sido emitido antes da inclusão do id do usuário nas claims.
+     */
+    public UsuarioAutenticado obterUsuarioAutenticado(String token) {
+        TokenVerificado tokenVerificado = verificar(token);
+        return tokenVerificado != null ? tokenVerificado.usuario() : null;
+    }
+
+    private TokenVerificado verificar(String token) {
+        if (tokensVerificados == null) {
+            return verificarToken(token);
+        }
+
+        String hashToken = calcularHash(token);
+        TokenVerificado tokenVerificado = tokensVerificados.getIfPresent(hashToken);
+        if (tokenVerificado != null) {
+            if (tokenVerificado.expiraEm().isAfter(Instant.now())) {
+                return tokenVerificado;
+            }
+            tokensVerificados.invalidate(hashToken);
+            return null;
+        }
+
+        tokenVerificado = verificarToken(token);
+        if (tokenVerificado != null && tokenVerificado.expiraEm() != null) {
+            tokensVerificados.put(hashToken, tokenVerificado);
+        }
+        return tokenVerificado;
+    }
+
+    private TokenVerificado verificarToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("auth-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decodedJWT = verifier.verify(token);
+            return new TokenVerificado(decodedJWT.getSubject(), decodedJWT.getExpiresAtAsInstant(), extrairUsuario(decodedJWT));
         } catch (JWTVerificationException exception){
-            return "";
+            return null;
+        }
+    }
+
+    private static UsuarioAutenticado extrairUsuario(DecodedJWT decodedJWT) {
+        String idUsuario = decodedJWT.getClaim(CLAIM_ID_USUARIO).asString();
+        if (idUsuario == null) {
+            return null;
+        }
+
+        // Os papéis são gravados como "ROLE_ADMIN ROLE_USER"
+        List<String> papeis = decodedJWT.getClaim(CLAIM_PAPEIS).asList(String.class);
+        List<GrantedAuthority> authorities = papeis == null ? List.of() : papeis.stream()
+                .flatMap(papel -> Arrays.stream(papel.split(" ")))
+                .filter(papel -> !papel.isBlank())
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new UsuarioAutenticado(idUsuario, decodedJWT.getSubject(), authorities);
+    }
+
+    static String calcularHash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Algoritmo SHA-256 não disponível", exception);
         }
     }
 
     private Instant genExpirationDate(){
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    private record TokenVerificado(String subject, Instant expiraEm, UsuarioAutenticado usuario) {
+    }
 }
@@ -0,0 +1,48 @@
+package br.com.controle.financeiro.infra.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Usuário autenticado reconstruído somente a partir das claims do JWT verificado (id, login e papéis),
+ * sem consulta ao banco. Usado pelo {@link SecurityFilter} quando api.security.token.principal-por-claims=true.
+ */
+public record UsuarioAutenticado(String id, String login, List<GrantedAuthority> authorities) implements UserDetails {
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return login;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.controle.financeiro.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache dos usuários autenticados, indexado pelo login, usado pelo {@link SecurityFilter}
+ * para evitar uma consulta na tabela de usuários a cada requisição.
+ * <p>
+ * Hoje a API não altera papel nem senha e não remove usuários, e o cadastro não precisa invalidar nada porque logins
+ * inexistentes não são armazenados. Alterações feitas fora da aplicação, direto no banco, só são vistas depois da
+ * expiração da entrada ({@code api.security.principal-cache.expiracao}). Um fluxo que passe a alterar ou remover
+ * usuários deve chamar {@link #invalidarAposCommit(String)}: invalidar antes do commit permitiria que uma requisição
+ * simultânea carregasse e guardasse novamente a versão anterior.
+ */
+@Component
+public class UsuarioPrincipalCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public UsuarioPrincipalCache(@Value("${api.security.principal-cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                                 @Value("${api.security.principal-cache.expiracao:5m}") Duration expiracao,
+                                 MeterRegistry meterRegistry) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+
+        // Publica os contadores de acertos (hit) e faltas (miss) como "cache.gets{cache=usuarios.principal}"
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuarios.principal");
+    }
+
+    /**
+     * Retorna o usuário do cache ou o carrega com a função informada. Usuários não encontrados
+     * (retorno null) não são armazenados.
+     */
+    public UserDetails obter(String login, Function<String, UserDetails> carregarUsuario) {
+        return cache.get(login, carregarUsuario);
+    }
+
+    public void invalidar(String login) {
+        if (login != null) {
+            cache.invalidate(login);
+        }
+    }
+
+    /**
+     * Invalida o usuário depois do commit da transação atual, ou imediatamente se não houver transação.
+     */
+    public void invalidarAposCommit(String login) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidar(login);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidar(login);
+            }
+        });
+    }
+}
@@ -1,11 +1,43 @@
 package br.com.controle.financeiro.repositories;
 
 import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.repositories.dto.ProprietarioDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface CategoriaRepository extends JpaRepository<Categoria, String> {
 
-    List<Categoria> findAllCategoriasByUsuarioLogin(String userId);
+    // A categoria retornada pelos fluxos de consulta/edição é usada fora da transação, então o usuário é buscado no mesmo select
+    // (quando vem do cache de segundo nível, o usuário chega como proxy e só é carregado se acessado)
+    @Override
+    @EntityGraph(attributePaths = "usuario")
+    Optional<Categoria> findById(String idCategoria);
+
+    // Categorias do usuário, no cache de consultas. A consulta é nativa para declarar apenas a tabela categorias como
+    // espaço: o login não muda, e as escritas frequentes em usuarios (versão dos dados) não invalidam o resultado.
+    // Qualquer escrita do Hibernate em categorias invalida a região.
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = Categoria.REGIAO_CACHE_POR_USUARIO),
+            @QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "categorias")
+    })
+    @Query(value = "SELECT cat.* FROM categorias cat JOIN usuarios u ON u.id = cat.id_usuario WHERE u.login = :loginUsuario", nativeQuery = true)
+    List<Categoria> findAllCategoriasByUsuarioLogin(@Param("loginUsuario") String loginUsuario);
+
+    boolean existsByNomeAndUsuarioLogin(String nome, String userLogin);
+
+    @Query("SELECT c.usuario.login FROM Categoria c WHERE c.id = :idCategoria")
+    Optional<String> findLoginUsuarioById(@Param("idCategoria") String idCategoria);
+
+    @Query("SELECT c.id AS id, c.usuario.login AS loginUsuario FROM Categoria c WHERE c.id IN :ids")
+    List<ProprietarioDTO> findProprietariosByIdIn(@Param("ids") Collection<String> ids);
 }
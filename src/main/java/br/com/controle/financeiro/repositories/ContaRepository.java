@@ -1,11 +1,40 @@
 package br.com.controle.financeiro.repositories;
 
 import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.repositories.dto.ContaSaldoDTO;
+import br.com.controle.financeiro.repositories.dto.ProprietarioDTO;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ContaRepository extends JpaRepository<Conta, String> {
 
+    // A conta retornada pelos fluxos de consulta/edição é usada fora da transação, então o usuário é buscado no mesmo select
+    // (quando vem do cache de segundo nível, o usuário chega como proxy e só é carregado se acessado)
+    @Override
+    @EntityGraph(attributePaths = "usuario")
+    Optional<Conta> findById(String idConta);
+
     List<Conta> findAllContasByUsuarioLogin(String userId);
+
+    /**
+     * Contas do usuário com os saldos, usadas pela listagem de contas. Fica fora do cache de consultas: os saldos mudam
+     * a cada alteração de lançamento, e o resultado seria invalidado quase sempre.
+     */
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.ContaSaldoDTO(c.id, c.nome, s.valorTotal, s.valorPago) "
+            + "FROM Conta c LEFT JOIN SaldoConta s ON s.idConta = c.id WHERE c.usuario.login = :loginUsuario")
+    List<ContaSaldoDTO> findContasComSaldoByUsuarioLogin(@Param("loginUsuario") String loginUsuario);
+
+    boolean existsByNomeAndUsuarioLogin(String nome, String userLogin);
+
+    @Query("SELECT c.usuario.login FROM Conta c WHERE c.id = :idConta")
+    Optional<String> findLoginUsuarioById(@Param("idConta") String idConta);
+
+    @Query("SELECT c.id AS id, c.usuario.login AS loginUsuario FROM Conta c WHERE c.id IN :ids")
+    List<ProprietarioDTO> findProprietariosByIdIn(@Param("ids") Collection<String> ids);
 }
@@ -1,19 +1,119 @@
 package br.com.controle.financeiro.repositories;
 
 import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.infra.persistencia.IdentificadorJavaType;
 import br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO;
+import br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO;
+import br.com.controle.financeiro.repositories.dto.ProprietariosLancamentoDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface LancamentoRepository extends JpaRepository<Lancamento, String> {
 
-    @Query("SELECT l FROM Lancamento l WHERE l.conta.usuario.login = :loginUsuario")
-    List<Lancamento> findLancamentosByUsuario(@Param("loginUsuario") String loginUsuario);
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO(l.id, l.nome, l.conta.id, l.categoria.id, l.data, l.valor, l.pago) FROM Lancamento l WHERE l.conta.usuario.login = :loginUsuario")
+    List<LancamentoResumoDTO> findLancamentosByUsuario(@Param("loginUsuario") String loginUsuario);
+
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO(l.id, l.nome, l.conta.id, l.categoria.id, l.data, l.valor, l.pago) FROM Lancamento l WHERE l.conta.usuario.login = :loginUsuario ORDER BY l.data, l.id")
+    List<LancamentoResumoDTO> findPrimeiraPaginaLancamentosByUsuario(@Param("loginUsuario") String loginUsuario, Pageable pageable);
+
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO(l.id, l.nome, l.conta.id, l.categoria.id, l.data, l.valor, l.pago) FROM Lancamento l WHERE l.conta.usuario.login = :loginUsuario "
+            + "AND (l.data > :data OR (l.data = :data AND l.id > :id)) ORDER BY l.data, l.id")
+    List<LancamentoResumoDTO> findPaginaLancamentosByUsuario(@Param("loginUsuario") String loginUsuario,
+                                                             @Param("data") LocalDate data,
+                                                             @Param("id") String id,
+                                                             Pageable pageable);
+
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO(l.id, l.nome, l.conta.id, l.categoria.id, l.data, l.valor, l.pago) FROM Lancamento l WHERE l.conta.usuario.login = :loginUsuario AND l.data >= :dataInicial AND l.data < :dataFinal")
+    List<LancamentoResumoDTO> findLancamentosByUsuarioEPeriodo(@Param("loginUsuario") String loginUsuario,
+                                                               @Param("dataInicial") LocalDate dataInicial,
+                                                               @Param("dataFinal") LocalDate dataFinal);
+
+    /**
+     * Candidatos a duplicidade de um lote: lançamentos do usuário com algum dos nomes e alguma das datas informados.
+     * A verificação do par exato (nome, data) é feita por quem chama.
+     */
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO(l.id, l.nome, l.conta.id, l.categoria.id, l.data, l.valor, l.pago) "
+            + "FROM Lancamento l WHERE l.conta.usuario.login = :loginUsuario AND l.nome IN :nomes AND l.data IN :datas")
+    List<LancamentoResumoDTO> findLancamentosByUsuarioENomesEDatas(@Param("loginUsuario") String loginUsuario,
+                                                                   @Param("nomes") Collection<String> nomes,
+                                                                   @Param("datas") Collection<LocalDate> datas);
+
+    boolean existsByNomeAndDataAndContaUsuarioLogin(String nome, LocalDate data, String loginUsuario);
+
+    boolean existsByNomeAndDataAndContaUsuarioLoginAndIdNot(String nome, LocalDate data, String loginUsuario, String idLancamento);
+
+    /**
+     * Carrega o lançamento bloqueando a linha (SELECT ... FOR UPDATE) até o fim da transação. Alterações e exclusões
+     * concorrentes do mesmo lançamento são serializadas: a segunda lê o estado já confirmado pela primeira, e os
+     * deltas dos totais e saldos são aplicados uma única vez.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Lancamento l WHERE l.id = :idLancamento")
+    Optional<Lancamento> findByIdParaAtualizacao(@Param("idLancamento") String idLancamento);
+
+    @Query("SELECT l.conta.usuario.login FROM Lancamento l WHERE l.id = :idLancamento")
+    Optional<String> findLoginUsuarioById(@Param("idLancamento") String idLancamento);
+
+    /**
+     * Obtém, em uma única consulta, os logins dos donos da conta, da categoria e do lançamento informados.
+     */
+    default ProprietariosLancamentoDTO findProprietariosLancamento(String idConta, String idCategoria, String idLancamento) {
+        return findProprietariosLancamento(IdentificadorJavaType.paraUuid(idConta), IdentificadorJavaType.paraUuid(idCategoria),
+                IdentificadorJavaType.paraUuid(idLancamento));
+    }
+
+    @Query(value = "SELECT "
+            + "(SELECT u.login FROM contas c JOIN usuarios u ON u.id = c.id_usuario WHERE c.id = CAST(:idConta AS uuid)) AS \"loginConta\", "
+            + "(SELECT u.login FROM categorias cat JOIN usuarios u ON u.id = cat.id_usuario WHERE cat.id = CAST(:idCategoria AS uuid)) AS \"loginCategoria\", "
+            + "(SELECT u.login FROM lancamentos l JOIN contas c ON c.id = l.id_conta JOIN usuarios u ON u.id = c.id_usuario WHERE l.id = CAST(:idLancamento AS uuid)) AS \"loginLancamento\"",
+            nativeQuery = true)
+    ProprietariosLancamentoDTO findProprietariosLancamento(@Param("idConta") UUID idConta,
+                                                           @Param("idCategoria") UUID idCategoria,
+                                                           @Param("idLancamento") UUID idLancamento);
 
     @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO(l.id, l.nome, c.nome, cat.nome, l.data, l.valor, l.pago) FROM Lancamento l JOIN l.conta c JOIN l.categoria cat WHERE l.conta.usuario.login = :loginUsuario")
     List<LancamentoCompletoDTO> findLancamentosCompletosByUsuario(@Param("loginUsuario") String loginUsuario);
 
+    /**
+     * Lê os lançamentos completos do usuário com um cursor JDBC forward-only, buscando 500 linhas
+     * por vez. Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO(l.id, l.nome, c.nome, cat.nome, l.data, l.valor, l.pago) FROM Lancamento l JOIN l.conta c JOIN l.categoria cat WHERE c.usuario.login = :loginUsuario ORDER BY l.data, l.id")
+    Stream<LancamentoCompletoDTO> streamLancamentosCompletosByUsuario(@Param("loginUsuario") String loginUsuario);
+
+    /**
+     * Mesmo cursor de {@link #streamLancamentosCompletosByUsuario}, restrito às datas em [inicio, fim).
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO(l.id, l.nome, c.nome, cat.nome, l.data, l.valor, l.pago) FROM Lancamento l JOIN l.conta c JOIN l.categoria cat WHERE c.usuario.login = :loginUsuario "
+            + "AND l.data >= :inicio AND l.data < :fim ORDER BY l.data, l.id")
+    Stream<LancamentoCompletoDTO> streamLancamentosCompletosByUsuarioEPeriodo(@Param("loginUsuario") String loginUsuario,
+                                                                             @Param("inicio") LocalDate inicio,
+                                                                             @Param("fim") LocalDate fim);
+
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO(l.id, l.nome, c.nome, cat.nome, l.data, l.valor, l.pago) FROM Lancamento l JOIN l.conta c JOIN l.categoria cat WHERE c.usuario.login = :loginUsuario ORDER BY l.data, l.id")
+    List<LancamentoCompletoDTO> findPrimeiraPaginaLancamentosCompletosByUsuario(@Param("loginUsuario") String loginUsuario, Pageable pageable);
+
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO(l.id, l.nome, c.nome, cat.nome, l.data, l.valor, l.pago) FROM Lancamento l JOIN l.conta c JOIN l.categoria cat WHERE c.usuario.login = :loginUsuario "
+            + "AND (l.data > :data OR (l.data = :data AND l.id > :id)) ORDER BY l.data, l.id")
+    List<LancamentoCompletoDTO> findPaginaLancamentosCompletosByUsuario(@Param("loginUsuario") String loginUsuario,
+                                                                        @Param("data") LocalDate data,
+                                                                        @Param("id") String id,
+                                                                        Pageable pageable);
+
 }
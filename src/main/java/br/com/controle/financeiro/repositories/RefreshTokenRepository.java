@@ -0,0 +1,46 @@
+package br.com.controle.financeiro.repositories;
+
+import br.com.controle.financeiro.domain.user.RefreshToken;
+import br.com.controle.financeiro.domain.user.Usuario;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // Busca pelo índice único do hash, já com o usuário, para emitir o JWT numa única consulta
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.usuario WHERE r.hash = :hash")
+    Optional<RefreshToken> findByHashComUsuario(@Param("hash") String hash);
+
+    /**
+     * Mesma busca de {@link #findByHashComUsuario}, bloqueando o token até o fim da transação: duas renovações
+     * simultâneas com o mesmo token não podem ambas substituí-lo.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.usuario WHERE r.hash = :hash")
+    Optional<RefreshToken> findByHashParaRenovacao(@Param("hash") String hash);
+
+    // Sessões do usuário (o token atual de cada família), da renovada mais recentemente para a mais antiga
+    @Query("SELECT r.familia FROM RefreshToken r WHERE r.usuario = :usuario AND r.substituidoEm IS NULL ORDER BY r.id DESC")
+    List<String> findFamiliasAtivasByUsuario(@Param("usuario") Usuario usuario);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familia IN :familias")
+    int removerFamilias(@Param("familias") Collection<String> familias);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familia = :familia AND r.substituidoEm IS NOT NULL")
+    int removerSubstituidos(@Param("familia") String familia);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEm <= :agora")
+    int removerExpirados(@Param("agora") Instant agora);
+}
@@ -0,0 +1,64 @@
+package br.com.controle.financeiro.repositories;
+
+import br.com.controle.financeiro.domain.SaldoConta;
+import br.com.controle.financeiro.repositories.dto.DivergenciaSaldoDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface SaldoContaRepository extends JpaRepository<SaldoConta, String> {
+
+    /**
+     * Soma os deltas informados ao saldo da conta, criando o registro se ainda não existir. O upsert é atômico e
+     * mantém a linha bloqueada até o fim da transação, então alterações em paralelo na mesma conta são serializadas.
+     * <p>
+     * Os comandos nativos declaram a tabela alterada (HINT_NATIVE_SPACES); sem isso o Hibernate descartaria todo o
+     * cache de segundo nível (contas e categorias) a cada alteração de lançamento.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "saldos_conta"))
+    @Query(value = "INSERT INTO saldos_conta (id_conta, valor_total, valor_pago) VALUES (CAST(:idConta AS uuid), :valorTotal, :valorPago) "
+            + "ON CONFLICT (id_conta) DO UPDATE SET "
+            + "valor_total = saldos_conta.valor_total + EXCLUDED.valor_total, "
+            + "valor_pago = saldos_conta.valor_pago + EXCLUDED.valor_pago", nativeQuery = true)
+    int aplicarDelta(@Param("idConta") String idConta,
+                     @Param("valorTotal") BigDecimal valorTotal,
+                     @Param("valorPago") BigDecimal valorPago);
+
+    /**
+     * Compara, numa única consulta, o saldo registrado de cada conta com a soma dos seus lançamentos.
+     * Como os deltas são aplicados na mesma transação dos lançamentos, qualquer diferença é uma divergência real.
+     */
+    @Query(value = "SELECT c.id AS idConta, "
+            + "COALESCE(s.valor_total, 0) AS valorTotalRegistrado, COALESCE(s.valor_pago, 0) AS valorPagoRegistrado, "
+            + "COALESCE(l.valor_total, 0) AS valorTotalCalculado, COALESCE(l.valor_pago, 0) AS valorPagoCalculado "
+            + "FROM contas c LEFT JOIN saldos_conta s ON s.id_conta = c.id "
+            + "LEFT JOIN (SELECT id_conta, SUM(valor) AS valor_total, SUM(CASE WHEN pago THEN valor ELSE 0 END) AS valor_pago "
+            + "FROM lancamentos GROUP BY id_conta) l ON l.id_conta = c.id "
+            + "WHERE COALESCE(s.valor_total, 0) <> COALESCE(l.valor_total, 0) "
+            + "OR COALESCE(s.valor_pago, 0) <> COALESCE(l.valor_pago, 0)", nativeQuery = true)
+    List<DivergenciaSaldoDTO> findDivergencias();
+
+    /**
+     * Recalcula o saldo da conta a partir dos lançamentos. Deve ser executado depois de bloquear a linha do saldo
+     * (ex.: aplicando um delta zerado), para que nenhum delta concorrente seja perdido.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "saldos_conta"))
+    @Query(value = "UPDATE saldos_conta SET "
+            + "valor_total = COALESCE((SELECT SUM(l.valor) FROM lancamentos l WHERE l.id_conta = CAST(:idConta AS uuid)), 0), "
+            + "valor_pago = COALESCE((SELECT SUM(l.valor) FROM lancamentos l WHERE l.id_conta = CAST(:idConta AS uuid) AND l.pago), 0) "
+            + "WHERE id_conta = CAST(:idConta AS uuid)", nativeQuery = true)
+    int recalcular(@Param("idConta") String idConta);
+
+    @Modifying
+    @Query("DELETE FROM SaldoConta s WHERE s.idConta = :idConta")
+    int removerPorConta(@Param("idConta") String idConta);
+}
@@ -0,0 +1,80 @@
+package br.com.controle.financeiro.repositories;
+
+import br.com.controle.financeiro.domain.TotalCompetencia;
+import br.com.controle.financeiro.domain.TotalCompetenciaId;
+import br.com.controle.financeiro.repositories.dto.TotalLancamentosDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface TotalCompetenciaRepository extends JpaRepository<TotalCompetencia, TotalCompetenciaId> {
+
+    /**
+     * Soma os deltas informados ao total da conta/categoria/competência, criando o registro se ainda não existir.
+     * O upsert é atômico, então lançamentos alterados em paralelo não perdem atualizações.
+     * <p>
+     * Como em SaldoContaRepository, os comandos nativos declaram a tabela alterada para preservar o cache de segundo nível.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "totais_competencia"))
+    @Query(value = "INSERT INTO totais_competencia (id_usuario, id_conta, id_categoria, competencia, quantidade, valor_total, quantidade_pagos, valor_pago) "
+            + "SELECT c.id_usuario, c.id, CAST(:idCategoria AS uuid), :competencia, :quantidade, :valorTotal, :quantidadePagos, :valorPago FROM contas c WHERE c.id = CAST(:idConta AS uuid) "
+            + "ON CONFLICT (id_usuario, id_conta, id_categoria, competencia) DO UPDATE SET "
+            + "quantidade = totais_competencia.quantidade + EXCLUDED.quantidade, "
+            + "valor_total = totais_competencia.valor_total + EXCLUDED.valor_total, "
+            + "quantidade_pagos = totais_competencia.quantidade_pagos + EXCLUDED.quantidade_pagos, "
+            + "valor_pago = totais_competencia.valor_pago + EXCLUDED.valor_pago", nativeQuery = true)
+    int aplicarDelta(@Param("idConta") String idConta,
+                     @Param("idCategoria") String idCategoria,
+                     @Param("competencia") int competencia,
+                     @Param("quantidade") long quantidade,
+                     @Param("valorTotal") BigDecimal valorTotal,
+                     @Param("quantidadePagos") long quantidadePagos,
+                     @Param("valorPago") BigDecimal valorPago);
+
+    /**
+     * Corrige os totais do usuário com a diferença entre a soma dos lançamentos e os totais registrados, calculadas
+     * no mesmo snapshot do comando. Como em aplicarDelta, a correção é somada aos totais (upsert), então deltas de
+     * alterações confirmadas durante a correção não se perdem; só as linhas corrigidas são bloqueadas. Totais sem
+     * lançamentos ficam zerados e deixam de aparecer nas consultas.
+     *
+     * @return quantidade de totais divergentes corrigidos
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "totais_competencia"))
+    @Query(value = "INSERT INTO totais_competencia (id_usuario, id_conta, id_categoria, competencia, quantidade, valor_total, quantidade_pagos, valor_pago) "
+            + "SELECT CAST(:idUsuario AS uuid), COALESCE(calc.id_conta, t.id_conta), COALESCE(calc.id_categoria, t.id_categoria), "
+            + "COALESCE(calc.competencia, t.competencia), "
+            + "COALESCE(calc.quantidade, 0) - COALESCE(t.quantidade, 0), COALESCE(calc.valor_total, 0) - COALESCE(t.valor_total, 0), "
+            + "COALESCE(calc.quantidade_pagos, 0) - COALESCE(t.quantidade_pagos, 0), COALESCE(calc.valor_pago, 0) - COALESCE(t.valor_pago, 0) "
+            + "FROM (SELECT l.id_conta, l.id_categoria, "
+            + "CAST(EXTRACT(YEAR FROM l.data) * 100 + EXTRACT(MONTH FROM l.data) AS integer) AS competencia, "
+            + "COUNT(*) AS quantidade, SUM(l.valor) AS valor_total, SUM(CASE WHEN l.pago THEN 1 ELSE 0 END) AS quantidade_pagos, "
+            + "SUM(CASE WHEN l.pago THEN l.valor ELSE 0 END) AS valor_pago "
+            + "FROM lancamentos l JOIN contas c ON c.id = l.id_conta WHERE c.id_usuario = CAST(:idUsuario AS uuid) "
+            + "GROUP BY l.id_conta, l.id_categoria, competencia) calc "
+            + "FULL JOIN (SELECT * FROM totais_competencia WHERE id_usuario = CAST(:idUsuario AS uuid)) t "
+            + "ON t.id_conta = calc.id_conta AND t.id_categoria = calc.id_categoria AND t.competencia = calc.competencia "
+            + "WHERE COALESCE(calc.quantidade, 0) <> COALESCE(t.quantidade, 0) OR COALESCE(calc.valor_total, 0) <> COALESCE(t.valor_total, 0) "
+            + "OR COALESCE(calc.quantidade_pagos, 0) <> COALESCE(t.quantidade_pagos, 0) OR COALESCE(calc.valor_pago, 0) <> COALESCE(t.valor_pago, 0) "
+            + "ON CONFLICT (id_usuario, id_conta, id_categoria, competencia) DO UPDATE SET "
+            + "quantidade = totais_competencia.quantidade + EXCLUDED.quantidade, "
+            + "valor_total = COALESCE(totais_competencia.valor_total, 0) + EXCLUDED.valor_total, "
+            + "quantidade_pagos = totais_competencia.quantidade_pagos + EXCLUDED.quantidade_pagos, "
+            + "valor_pago = COALESCE(totais_competencia.valor_pago, 0) + EXCLUDED.valor_pago", nativeQuery = true)
+    int corrigirTotaisDoUsuario(@Param("idUsuario") String idUsuario);
+
+    @Query("SELECT new br.com.controle.financeiro.repositories.dto.TotalLancamentosDTO(c.id, c.nome, cat.id, cat.nome, "
+            + "t.quantidade, t.quantidadePagos, t.valorTotal, t.valorPago, t.valorTotal - t.valorPago) "
+            + "FROM TotalCompetencia t JOIN Conta c ON c.id = t.id.idConta JOIN Categoria cat ON cat.id = t.id.idCategoria "
+            + "WHERE c.usuario.login = :loginUsuario AND t.id.competencia = :competencia AND t.quantidade > 0")
+    List<TotalLancamentosDTO> findTotaisByUsuarioECompetencia(@Param("loginUsuario") String loginUsuario,
+                                                             @Param("competencia") int competencia);
+}
@@ -2,8 +2,24 @@ package br.com.controle.financeiro.repositories;
 
 import br.com.controle.financeiro.domain.user.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface UsuarioRepository extends JpaRepository<Usuario, String> {
     UserDetails findByLogin(String login);
+
+    @Query("SELECT u.id FROM Usuario u ORDER BY u.id")
+    List<String> findAllIds();
+
+    @Query("SELECT u.versaoDados FROM Usuario u WHERE u.login = :login")
+    Optional<Long> findVersaoDadosByLogin(@Param("login") String login);
+
+    @Modifying
+    @Query("UPDATE Usuario u SET u.versaoDados = u.versaoDados + 1 WHERE u.login = :login")
+    int incrementarVersaoDados(@Param("login") String login);
 }
@@ -0,0 +1,32 @@
+package br.com.controle.financeiro.repositories.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Conta com o saldo mantido em saldos_conta. Contas ainda sem saldo registrado são retornadas com valores zerados.
+ */
+@Data
+public class ContaSaldoDTO {
+
+    private String id;
+
+    private String nome;
+
+    private BigDecimal valorTotal;
+
+    private BigDecimal valorPago;
+
+    public ContaSaldoDTO(String id, String nome, BigDecimal valorTotal, BigDecimal valorPago) {
+        this.id = id;
+        this.nome = nome;
+        this.valorTotal = Objects.requireNonNullElse(valorTotal, BigDecimal.ZERO);
+        this.valorPago = Objects.requireNonNullElse(valorPago, BigDecimal.ZERO);
+    }
+
+    public BigDecimal getValorPendente() {
+        return valorTotal.subtract(valorPago);
+    }
+}
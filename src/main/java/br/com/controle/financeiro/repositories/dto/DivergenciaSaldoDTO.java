@@ -0,0 +1,16 @@
+package br.com.controle.financeiro.repositories.dto;
+
+import java.math.BigDecimal;
+
+public interface DivergenciaSaldoDTO {
+
+    String getIdConta();
+
+    BigDecimal getValorTotalRegistrado();
+
+    BigDecimal getValorPagoRegistrado();
+
+    BigDecimal getValorTotalCalculado();
+
+    BigDecimal getValorPagoCalculado();
+}
@@ -0,0 +1,28 @@
+package br.com.controle.financeiro.repositories.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class LancamentoResumoDTO {
+
+    private String id;
+
+    private String nome;
+
+    private String idConta;
+
+    private String idCategoria;
+
+    private LocalDate data;
+
+    private BigDecimal valor;
+
+    private boolean pago;
+}
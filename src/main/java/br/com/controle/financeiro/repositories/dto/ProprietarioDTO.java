@@ -0,0 +1,8 @@
+package br.com.controle.financeiro.repositories.dto;
+
+public interface ProprietarioDTO {
+
+    String getId();
+
+    String getLoginUsuario();
+}
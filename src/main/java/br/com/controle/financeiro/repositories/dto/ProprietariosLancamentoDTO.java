@@ -0,0 +1,14 @@
+package br.com.controle.financeiro.repositories.dto;
+
+/**
+ * Logins dos donos da conta, da categoria e do lançamento informados em uma gravação de lançamento.
+ * Cada valor é null quando o respectivo registro não existe (ou não foi informado).
+ */
+public interface ProprietariosLancamentoDTO {
+
+    String getLoginConta();
+
+    String getLoginCategoria();
+
+    String getLoginLancamento();
+}
@@ -0,0 +1,34 @@
+package br.com.controle.financeiro.repositories.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais dos lançamentos de uma combinação conta/categoria, calculados no banco (GROUP BY).
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class TotalLancamentosDTO {
+
+    private String idConta;
+
+    private String nomeConta;
+
+    private String idCategoria;
+
+    private String nomeCategoria;
+
+    private Long quantidade;
+
+    private Long quantidadePagos;
+
+    private BigDecimal valorTotal;
+
+    private BigDecimal valorPago;
+
+    private BigDecimal valorNaoPago;
+}
@@ -7,6 +7,7 @@ import br.com.controle.financeiro.repositories.CategoriaRepository;
 import br.com.controle.financeiro.repositories.UsuarioRepository;
 import br.com.controle.financeiro.services.exception.NegocioException;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -21,11 +22,15 @@ public class CategoriaService {
 
     private final ValidacaoDadosUsuarioService validacaoDadosUsuarioService;
 
-    public CategoriaService(CategoriaRepository categoriaRepository, UsuarioRepository usuarioRepository, ValidacaoDadosUsuarioService validacaoDadosUsuarioService) {
+    private final VersaoDadosService versaoDadosService;
+
+    public CategoriaService(CategoriaRepository categoriaRepository, UsuarioRepository usuarioRepository, ValidacaoDadosUsuarioService validacaoDadosUsuarioService,
+                            VersaoDadosService versaoDadosService) {
 
         this.categoriaRepository = categoriaRepository;
         this.usuarioRepository = usuarioRepository;
         this.validacaoDadosUsuarioService = validacaoDadosUsuarioService;
+        this.versaoDadosService = versaoDadosService;
     }
 
     public List<Categoria> obterTodasCategorias(String userLogin) {
@@ -42,15 +47,16 @@ public class CategoriaService {
     @Transactional
     public Categoria criarCategoria(CategoriaRequestDTO categoriaDTO, String userLogin) {
 
-        List<Categoria> categorias = categoriaRepository.findAllCategoriasByUsuarioLogin(userLogin);
-        validarCategoriaComMesmoNome(categoriaDTO.nome(), categorias);
+        validarCategoriaComMesmoNome(categoriaDTO.nome(), userLogin);
 
         UserDetails usuario = usuarioRepository.findByLogin(userLogin);
         Categoria c = new Categoria();
         c.setNome(categoriaDTO.nome());
         c.setUsuario((Usuario) usuario);
 
-        return categoriaRepository.save(c);
+        Categoria categoriaSalva = categoriaRepository.save(c);
+        versaoDadosService.registrarAlteracao(userLogin);
+        return categoriaSalva;
     }
 
     @Transactional
@@ -58,19 +64,21 @@ public class CategoriaService {
 
         validacaoDadosUsuarioService.validarCategoriaDoUsuarioLogado(idCategoria, userLogin);
 
-        List<Categoria> categorias = categoriaRepository.findAllCategoriasByUsuarioLogin(userLogin);
-        validarCategoriaComMesmoNome(categoriaDTO.nome(), categorias);
+        validarCategoriaComMesmoNome(categoriaDTO.nome(), userLogin);
 
         Categoria categoria = categoriaRepository.findById(idCategoria).orElseThrow();
+        // Vinda do cache de segundo nível, a categoria traz o usuário como proxy; ele é carregado aqui porque é devolvido
+        Hibernate.initialize(categoria.getUsuario());
         categoria.setNome(categoriaDTO.nome());
 
-        return categoriaRepository.save(categoria);
+        Categoria categoriaSalva = categoriaRepository.save(categoria);
+        versaoDadosService.registrarAlteracao(userLogin);
+        return categoriaSalva;
     }
 
-    protected void validarCategoriaComMesmoNome(String nomeCategoria, List<Categoria> categorias) {
+    protected void validarCategoriaComMesmoNome(String nomeCategoria, String userLogin) {
 
-        boolean possuiCategoriaComMesmoNome = categorias.stream()
-                .anyMatch(c -> c.getNome().equals(nomeCategoria));
+        boolean possuiCategoriaComMesmoNome = categoriaRepository.existsByNomeAndUsuarioLogin(nomeCategoria, userLogin);
         if (possuiCategoriaComMesmoNome) {
             throw new NegocioException("Categoria com nome informado já existente.");
         }
@@ -86,5 +94,6 @@ public class CategoriaService {
             throw new NegocioException("Não é possível remover essa categoria, pois ela possui lançamentos associados.");
         }
         categoriaRepository.deleteById(idCategoria);
+        versaoDadosService.registrarAlteracao(userLogin);
     }
 }
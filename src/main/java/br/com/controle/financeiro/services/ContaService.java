@@ -3,11 +3,14 @@ package br.com.controle.financeiro.services;
 import br.com.controle.financeiro.controllers.dto.ContaRequestDTO;
 import br.com.controle.financeiro.domain.Categoria;
 import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.domain.SaldoConta;
 import br.com.controle.financeiro.domain.user.Usuario;
 import br.com.controle.financeiro.repositories.ContaRepository;
 import br.com.controle.financeiro.repositories.UsuarioRepository;
+import br.com.controle.financeiro.repositories.dto.ContaSaldoDTO;
 import br.com.controle.financeiro.services.exception.NegocioException;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -22,17 +25,34 @@ public class ContaService {
 
     private final ValidacaoDadosUsuarioService validacaoDadosUsuarioService;
 
-    public ContaService(ContaRepository contaRepository, UsuarioRepository usuarioRepository, ValidacaoDadosUsuarioService validacaoDadosUsuarioService) {
+    private final SaldoContaService saldoContaService;
+
+    private final VersaoDadosService versaoDadosService;
+
+    public ContaService(ContaRepository contaRepository, UsuarioRepository usuarioRepository, ValidacaoDadosUsuarioService validacaoDadosUsuarioService,
+                        SaldoContaService saldoContaService, VersaoDadosService versaoDadosService) {
 
         this.contaRepository = contaRepository;
         this.usuarioRepository = usuarioRepository;
         this.validacaoDadosUsuarioService = validacaoDadosUsuarioService;
+        this.saldoContaService = saldoContaService;
+        this.versaoDadosService = versaoDadosService;
     }
 
     public List<Conta> obterTodasContas(String userLogin) {
         return contaRepository.findAllContasByUsuarioLogin(userLogin);
     }
 
+    public List<ContaSaldoDTO> obterTodasContasComSaldo(String userLogin) {
+        return contaRepository.findContasComSaldoByUsuarioLogin(userLogin);
+    }
+
+    public SaldoConta obterSaldoConta(String idConta, String userLogin) {
+
+        validacaoDadosUsuarioService.validarContaDoUsuarioLogado(idConta, userLogin);
+        return saldoContaService.obterSaldo(idConta);
+    }
+
     public Conta obterContaPorId(String idConta, String userLogin) {
 
         validacaoDadosUsuarioService.validarContaDoUsuarioLogado(idConta, userLogin);
@@ -42,8 +62,7 @@ public class ContaService {
     @Transactional
     public Conta criarConta(ContaRequestDTO contaDTO, String userLogin) {
 
-        List<Conta> contas = contaRepository.findAllContasByUsuarioLogin(userLogin);
-        validarContaComMesmoNome(contaDTO.nome(), contas);
+        validarContaComMesmoNome(contaDTO.nome(), userLogin);
 
         Usuario usuario = (Usuario) usuarioRepository.findByLogin(userLogin);
 
@@ -51,7 +70,9 @@ public class ContaService {
         c.setNome(contaDTO.nome());
         c.setUsuario(usuario);
 
-        return contaRepository.save(c);
+        Conta contaSalva = contaRepository.save(c);
+        versaoDadosService.registrarAlteracao(userLogin);
+        return contaSalva;
     }
 
     @Transactional
@@ -59,19 +80,21 @@ public class ContaService {
 
         validacaoDadosUsuarioService.validarContaDoUsuarioLogado(idConta, userLogin);
 
-        List<Conta> contas = contaRepository.findAllContasByUsuarioLogin(userLogin);
-        validarContaComMesmoNome(contaDTO.nome(), contas);
+        validarContaComMesmoNome(contaDTO.nome(), userLogin);
 
         Conta conta = contaRepository.findById(idConta).orElseThrow();
+        // Vinda do cache de segundo nível, a conta traz o usuário como proxy; ele é carregado aqui porque é devolvido
+        Hibernate.initialize(conta.getUsuario());
         conta.setNome(contaDTO.nome());
 
-        return contaRepository.save(conta);
+        Conta contaSalva = contaRepository.save(conta);
+        versaoDadosService.registrarAlteracao(userLogin);
+        return contaSalva;
     }
 
-    protected void validarContaComMesmoNome(String nomeConta, List<Conta> contas) {
+    protected void validarContaComMesmoNome(String nomeConta, String userLogin) {
 
-        boolean possuiContaComMesmoNome = contas.stream()
-                .anyMatch(c -> c.getNome().equals(nomeConta));
+        boolean possuiContaComMesmoNome = contaRepository.existsByNomeAndUsuarioLogin(nomeConta, userLogin);
         if (possuiContaComMesmoNome) {
             throw new NegocioException("Conta com nome informado já existente.");
         }
@@ -87,5 +110,7 @@ public class ContaService {
             throw new NegocioException("Não é possível remover essa conta, pois ela possui lançamentos associados.");
         }
         contaRepository.deleteById(idConta);
+        saldoContaService.removerSaldo(idConta);
+        versaoDadosService.registrarAlteracao(userLogin);
     }
 }
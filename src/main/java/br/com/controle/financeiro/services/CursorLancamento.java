@@ -0,0 +1,36 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.services.exception.NegocioException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição (data, id) do último lançamento retornado em uma página, usada na paginação por chave (keyset).
+ * É trafegada para o cliente como um texto opaco em Base64 URL-safe.
+ */
+public record CursorLancamento(LocalDate data, String id) {
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        String valor = data + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorLancamento decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int posicaoSeparador = valor.indexOf(SEPARADOR);
+            if (posicaoSeparador < 0 || posicaoSeparador == valor.length() - 1) {
+                throw new NegocioException("Cursor de paginação inválido!");
+            }
+            return new CursorLancamento(LocalDate.parse(valor.substring(0, posicaoSeparador)),
+                    valor.substring(posicaoSeparador + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new NegocioException("Cursor de paginação inválido!");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.services.exception.NegocioException;
+import org.springframework.http.MediaType;
+
+import java.io.Reader;
+import java.util.Arrays;
+
+public enum FormatoExtrato {
+
+    CSV("text/csv") {
+        @Override
+        LeitorExtrato abrirLeitor(Reader reader) {
+            return new LeitorExtratoCsv(reader);
+        }
+    },
+    OFX("application/x-ofx") {
+        @Override
+        LeitorExtrato abrirLeitor(Reader reader) {
+            return new LeitorExtratoOfx(reader);
+        }
+    };
+
+    private final String mediaType;
+
+    FormatoExtrato(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    abstract LeitorExtrato abrirLeitor(Reader reader);
+
+    public static FormatoExtrato deContentType(String contentType) {
+
+        if (contentType != null) {
+            MediaType tipo = MediaType.parseMediaType(contentType);
+            return Arrays.stream(values())
+                    .filter(formato -> MediaType.parseMediaType(formato.mediaType).equalsTypeAndSubtype(tipo))
+                    .findFirst()
+                    .orElseThrow(() -> new NegocioException("Formato de extrato não suportado: " + contentType));
+        }
+        throw new NegocioException("Formato de extrato não informado!");
+    }
+}
@@ -0,0 +1,178 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.repositories.LancamentoRepository;
+import br.com.controle.financeiro.services.exception.NegocioException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importa extratos bancários lendo o arquivo em streaming e gravando os lançamentos em lotes, cada um na sua própria
+ * transação. Apenas um lote fica em memória por vez, independentemente do tamanho do arquivo.
+ */
+@Service
+public class ImportacaoExtratoService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportacaoExtratoService.class);
+
+    @Value("${app.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${app.importacao.maximo-erros-reportados:100}")
+    private int maximoErrosReportados;
+
+    private final LancamentoService lancamentoService;
+
+    private final LancamentoRepository lancamentoRepository;
+
+    private final ValidacaoDadosUsuarioService validacaoDadosUsuarioService;
+
+    private final TotalCompetenciaService totalCompetenciaService;
+
+    private final SaldoContaService saldoContaService;
+
+    private final VersaoDadosService versaoDadosService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ImportacaoExtratoService(LancamentoService lancamentoService, LancamentoRepository lancamentoRepository,
+                                    ValidacaoDadosUsuarioService validacaoDadosUsuarioService,
+                                    TotalCompetenciaService totalCompetenciaService, SaldoContaService saldoContaService,
+                                    VersaoDadosService versaoDadosService,
+                                    TransactionTemplate transactionTemplate) {
+        this.lancamentoService = lancamentoService;
+        this.lancamentoRepository = lancamentoRepository;
+        this.validacaoDadosUsuarioService = validacaoDadosUsuarioService;
+        this.totalCompetenciaService = totalCompetenciaService;
+        this.saldoContaService = saldoContaService;
+        this.versaoDadosService = versaoDadosService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Importa para a conta e categoria informadas as linhas do extrato. Linhas inválidas, com valor fora do limite ou
+     * com nome e data já existentes (inclusive em lotes anteriores do mesmo arquivo) são rejeitadas sem interromper
+     * a importação. Os lotes já gravados permanecem mesmo que um lote posterior falhe.
+     */
+    public ResultadoImportacao importar(Reader extrato, FormatoExtrato formato, String idConta, String idCategoria,
+                                        String userLogin) {
+
+        validacaoDadosUsuarioService.validarDadosLancamentoDoUsuarioLogado(idConta, idCategoria, null, userLogin);
+
+        Progresso progresso = new Progresso();
+        List<LinhaExtrato> lote = new ArrayList<>(tamanhoLote);
+        LeitorExtrato leitor = formato.abrirLeitor(extrato);
+
+        while (leitor.hasNext()) {
+            LinhaExtrato linha = leitor.next();
+            progresso.linhasLidas++;
+            if (!linha.isValida()) {
+                progresso.rejeitar(linha.numero(), linha.erro());
+            } else {
+                lote.add(linha);
+            }
+
+            if (lote.size() == tamanhoLote) {
+                importarLote(lote, idConta, idCategoria, userLogin, progresso);
+                lote.clear();
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            importarLote(lote, idConta, idCategoria, userLogin, progresso);
+        }
+
+        LOGGER.info("Importação de extrato {} concluída: {} linhas lidas, {} importadas, {} rejeitadas",
+                formato, progresso.linhasLidas, progresso.importados, progresso.rejeitados);
+        return progresso.resultado();
+    }
+
+    private void importarLote(List<LinhaExtrato> linhas, String idConta, String idCategoria, String userLogin,
+                              Progresso progresso) {
+
+        List<ResultadoImportacao.ErroLinha> rejeicoes = new ArrayList<>();
+
+        Integer importados = transactionTemplate.execute(status -> {
+
+            // Mesmas regras do cadastro de lançamentos, verificadas para o lote inteiro de uma vez
+            Set<String> existentes = lancamentoService.obterNomesDatasExistentes(userLogin,
+                    linhas.stream().map(LinhaExtrato::nome).collect(Collectors.toSet()),
+                    linhas.stream().map(LinhaExtrato::data).collect(Collectors.toSet()));
+
+            Set<String> chavesLote = new HashSet<>();
+            List<Lancamento> lancamentos = new ArrayList<>(linhas.size());
+            for (LinhaExtrato linha : linhas) {
+                try {
+                    lancamentoService.validarValorLancamento(linha.valor());
+                } catch (NegocioException e) {
+                    rejeicoes.add(new ResultadoImportacao.ErroLinha(linha.numero(), e.getMessage()));
+                    continue;
+                }
+
+                String chave = LancamentoService.chaveNomeData(linha.nome(), linha.data());
+                if (existentes.contains(chave)) {
+                    rejeicoes.add(new ResultadoImportacao.ErroLinha(linha.numero(),
+                            "Lançamento com nome e data informados já existente!"));
+                } else if (!chavesLote.add(chave)) {
+                    rejeicoes.add(new ResultadoImportacao.ErroLinha(linha.numero(),
+                            "Lançamento com nome e data repetidos no extrato!"));
+                } else {
+                    lancamentos.add(Lancamento.builder().nome(linha.nome()).data(linha.data()).valor(linha.valor())
+                            .pago(linha.pago()).conta(Conta.builder().id(idConta).build())
+                            .categoria(Categoria.builder().id(idCategoria).build()).build());
+                }
+            }
+
+            lancamentoRepository.saveAll(lancamentos);
+            totalCompetenciaService.registrarInclusoes(lancamentos);
+            saldoContaService.registrarInclusoes(lancamentos);
+            if (!lancamentos.isEmpty()) {
+                versaoDadosService.registrarAlteracao(userLogin);
+            }
+            return lancamentos.size();
+        });
+
+        progresso.lotes++;
+        progresso.importados += importados;
+        rejeicoes.forEach(erro -> progresso.rejeitar(erro.linha(), erro.mensagem()));
+
+        LOGGER.info("Importação de extrato: lote {} gravado, {} linhas lidas, {} importadas, {} rejeitadas",
+                progresso.lotes, progresso.linhasLidas, progresso.importados, progresso.rejeitados);
+    }
+
+    private class Progresso {
+
+        private long linhasLidas;
+
+        private long importados;
+
+        private long rejeitados;
+
+        private int lotes;
+
+        private final List<ResultadoImportacao.ErroLinha> erros = new ArrayList<>();
+
+        private void rejeitar(long linha, String mensagem) {
+            rejeitados++;
+            if (erros.size() < maximoErrosReportados) {
+                erros.add(new ResultadoImportacao.ErroLinha(linha, mensagem));
+            }
+        }
+
+        private ResultadoImportacao resultado() {
+            return new ResultadoImportacao(linhasLidas, importados, rejeitados, lotes, List.copyOf(erros));
+        }
+    }
+}
@@ -6,14 +6,25 @@ import br.com.controle.financeiro.domain.Conta;
 import br.com.controle.financeiro.domain.Lancamento;
 import br.com.controle.financeiro.repositories.LancamentoRepository;
 import br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO;
+import br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO;
 import br.com.controle.financeiro.services.exception.NegocioException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class LancamentoService {
@@ -21,23 +32,146 @@ public class LancamentoService {
 	@Autowired
 	private BigDecimal valorMaximoLancamento;
 
+	@Value("${app.paginacao.tamanho-padrao:50}")
+	private int tamanhoPadraoPagina;
+
+	@Value("${app.paginacao.tamanho-maximo:500}")
+	private int tamanhoMaximoPagina;
+
+	@Value("${app.lote.tamanho-maximo:1000}")
+	private int tamanhoMaximoLote;
+
 	private final LancamentoRepository lancamentoRepository;
 
 	private final ValidacaoDadosUsuarioService validacaoDadosUsuarioService;
 
+	private final TotalCompetenciaService totalCompetenciaService;
+
+	private final SaldoContaService saldoContaService;
+
+	private final VersaoDadosService versaoDadosService;
+
+	private final LeiturasCompartilhadas leiturasCompartilhadas;
+
 	public LancamentoService(LancamentoRepository lancamentoRepository,
-			ValidacaoDadosUsuarioService validacaoDadosUsuarioService) {
+			ValidacaoDadosUsuarioService validacaoDadosUsuarioService, TotalCompetenciaService totalCompetenciaService,
+			SaldoContaService saldoContaService, VersaoDadosService versaoDadosService,
+			LeiturasCompartilhadas leiturasCompartilhadas) {
 
 		this.lancamentoRepository = lancamentoRepository;
 		this.validacaoDadosUsuarioService = validacaoDadosUsuarioService;
+		this.totalCompetenciaService = totalCompetenciaService;
+		this.saldoContaService = saldoContaService;
+		this.versaoDadosService = versaoDadosService;
+		this.leiturasCompartilhadas = leiturasCompartilhadas;
 	}
 
-	public List<Lancamento> obterTodosLancamentos(String userLogin) {
-		return lancamentoRepository.findLancamentosByUsuario(userLogin);
+	// As consultas abaixo passam por LeiturasCompartilhadas: requisições idênticas e simultâneas do mesmo usuário
+	// (ex.: vários dispositivos abrindo o app) compartilham uma única consulta em andamento
+
+	public List<LancamentoResumoDTO> obterTodosLancamentos(String userLogin) {
+		return leiturasCompartilhadas.executar(userLogin, "obterTodosLancamentos",
+				() -> lancamentoRepository.findLancamentosByUsuario(userLogin));
 	}
 
 	public List<LancamentoCompletoDTO> obterTodosLancamentosCompletos(String userLogin) {
-		return lancamentoRepository.findLancamentosCompletosByUsuario(userLogin);
+		return leiturasCompartilhadas.executar(userLogin, "obterTodosLancamentosCompletos",
+				() -> lancamentoRepository.findLancamentosCompletosByUsuario(userLogin));
+	}
+
+	/**
+	 * Entrega ao consumidor, um a um e na medida em que são lidos do banco, os lançamentos completos do usuário.
+	 * O cursor permanece aberto (e a transação ativa) até o último registro ser consumido.
+	 */
+	@Transactional
+	public void exportarLancamentosCompletos(String userLogin, Consumer<LancamentoCompletoDTO> consumidor) {
+		try (Stream<LancamentoCompletoDTO> lancamentos = lancamentoRepository.streamLancamentosCompletosByUsuario(userLogin)) {
+			lancamentos.forEach(consumidor);
+		}
+	}
+
+	/**
+	 * Igual a {@link #exportarLancamentosCompletos(String, Consumer)}, apenas para os lançamentos do período.
+	 */
+	@Transactional
+	public void exportarLancamentosCompletos(String userLogin, PeriodoCompetencias periodo,
+			Consumer<LancamentoCompletoDTO> consumidor) {
+		try (Stream<LancamentoCompletoDTO> lancamentos = lancamentoRepository
+				.streamLancamentosCompletosByUsuarioEPeriodo(userLogin, periodo.inicio(), periodo.fim())) {
+			lancamentos.forEach(consumidor);
+		}
+	}
+
+	public PeriodoCompetencias validarPeriodoCompetencias(Integer competenciaInicial, Integer competenciaFinal) {
+
+		PeriodoCompetencias periodo = new PeriodoCompetencias(validarCompetencia(competenciaInicial),
+				validarCompetencia(competenciaFinal));
+
+		if (periodo.de().isAfter(periodo.ate())) {
+			throw new NegocioException("Competência inicial deve ser anterior ou igual à competência final!");
+		}
+
+		return periodo;
+	}
+
+	public PaginaLancamentos<LancamentoResumoDTO> obterPaginaLancamentos(String userLogin, String cursor, Integer limite) {
+		return leiturasCompartilhadas.executar(userLogin, "obterPaginaLancamentos",
+				() -> consultarPaginaLancamentos(userLogin, cursor, limite), cursor, limite);
+	}
+
+	private PaginaLancamentos<LancamentoResumoDTO> consultarPaginaLancamentos(String userLogin, String cursor, Integer limite) {
+
+		int tamanhoPagina = calcularTamanhoPagina(limite);
+		// Consulta um registro a mais para saber se existe uma próxima página
+		Pageable pageable = PageRequest.of(0, tamanhoPagina + 1);
+
+		List<LancamentoResumoDTO> lancamentos;
+		if (cursor == null) {
+			lancamentos = lancamentoRepository.findPrimeiraPaginaLancamentosByUsuario(userLogin, pageable);
+		} else {
+			CursorLancamento posicao = CursorLancamento.decodificar(cursor);
+			lancamentos = lancamentoRepository.findPaginaLancamentosByUsuario(userLogin, posicao.data(), posicao.id(), pageable);
+		}
+
+		return PaginaLancamentos.de(lancamentos, tamanhoPagina, l -> new CursorLancamento(l.getData(), l.getId()));
+	}
+
+	public PaginaLancamentos<LancamentoCompletoDTO> obterPaginaLancamentosCompletos(String userLogin, String cursor,
+			Integer limite) {
+		return leiturasCompartilhadas.executar(userLogin, "obterPaginaLancamentosCompletos",
+				() -> consultarPaginaLancamentosCompletos(userLogin, cursor, limite), cursor, limite);
+	}
+
+	private PaginaLancamentos<LancamentoCompletoDTO> consultarPaginaLancamentosCompletos(String userLogin, String cursor,
+			Integer limite) {
+
+		int tamanhoPagina = calcularTamanhoPagina(limite);
+		// Consulta um registro a mais para saber se existe uma próxima página
+		Pageable pageable = PageRequest.of(0, tamanhoPagina + 1);
+
+		List<LancamentoCompletoDTO> lancamentos;
+		if (cursor == null) {
+			lancamentos = lancamentoRepository.findPrimeiraPaginaLancamentosCompletosByUsuario(userLogin, pageable);
+		} else {
+			CursorLancamento posicao = CursorLancamento.decodificar(cursor);
+			lancamentos = lancamentoRepository.findPaginaLancamentosCompletosByUsuario(userLogin, posicao.data(),
+					posicao.id(), pageable);
+		}
+
+		return PaginaLancamentos.de(lancamentos, tamanhoPagina, l -> new CursorLancamento(l.getData(), l.getId()));
+	}
+
+	protected int calcularTamanhoPagina(Integer limite) {
+
+		if (limite == null) {
+			return tamanhoPadraoPagina;
+		}
+
+		if (limite < 1) {
+			throw new NegocioException("Limite da página deve ser maior que 0!");
+		}
+
+		return Math.min(limite, tamanhoMaximoPagina);
 	}
 
 	public Lancamento obterLancamentoPorId(String idLancamento, String userLogin) {
@@ -47,9 +181,27 @@ public class LancamentoService {
 		return lancamentoRepository.findById(idLancamento).orElseThrow();
 	}
 
-	public List<Lancamento> obterLancamentosPorCompetencia(Integer competencia, String userLogin) {
+	public List<LancamentoResumoDTO> obterLancamentosPorCompetencia(Integer competencia, String userLogin) {
 
-		List<Lancamento> todosLancamentos = lancamentoRepository.findLancamentosByUsuario(userLogin);
+		YearMonth mesCompetencia = validarCompetencia(competencia);
+
+		// Intervalo semiaberto [primeiro dia do mês, primeiro dia do mês seguinte)
+		return leiturasCompartilhadas.executar(userLogin, "obterLancamentosPorCompetencia",
+				() -> lancamentoRepository.findLancamentosByUsuarioEPeriodo(userLogin, mesCompetencia.atDay(1),
+						mesCompetencia.plusMonths(1).atDay(1)), mesCompetencia);
+	}
+
+	public ResumoCompetencia obterResumoPorCompetencia(Integer competencia, String userLogin) {
+
+		YearMonth mesCompetencia = validarCompetencia(competencia);
+
+		// Os totais por conta/categoria já estão consolidados em totais_competencia; o resumo só soma esses poucos registros
+		return leiturasCompartilhadas.executar(userLogin, "obterResumoPorCompetencia",
+				() -> ResumoCompetencia.de(mesCompetencia, totalCompetenciaService.obterTotais(userLogin, mesCompetencia)),
+				mesCompetencia);
+	}
+
+	protected YearMonth validarCompetencia(Integer competencia) {
 
 		int ano = competencia / 100;
 		int mes = competencia % 100;
@@ -62,58 +214,128 @@ public class LancamentoService {
 			throw new NegocioException("Mês da competência informada inválido!");
 		}
 
-		List<Lancamento> lancamentosCompetencia = todosLancamentos.stream().filter(
-				lancamento -> lancamento.getData().getYear() == ano && lancamento.getData().getMonthValue() == mes)
-				.toList();
-
-		return lancamentosCompetencia;
+		return YearMonth.of(ano, mes);
 	}
 
 	@Transactional
 	public Lancamento criarLancamento(LancamentoRequestDTO lancamentoDTO, String userLogin) {
 
-		validacaoDadosUsuarioService.validarContaDoUsuarioLogado(lancamentoDTO.idConta(), userLogin);
-		validacaoDadosUsuarioService.validarCategoriaDoUsuarioLogado(lancamentoDTO.idCategoria(), userLogin);
+		validacaoDadosUsuarioService.validarDadosLancamentoDoUsuarioLogado(lancamentoDTO.idConta(),
+				lancamentoDTO.idCategoria(), null, userLogin);
+
+		validarValorLancamento(lancamentoDTO.valor());
+
+		validarLancamentoComMesmoNomeData(null, lancamentoDTO.nome(), lancamentoDTO.parseDate(), userLogin);
+
+		Lancamento lancamento = novoLancamento(lancamentoDTO);
+
+		Lancamento lancamentoCriado = lancamentoRepository.save(lancamento);
+		totalCompetenciaService.registrarInclusao(lancamento);
+		saldoContaService.registrarInclusao(lancamento);
+		versaoDadosService.registrarAlteracao(userLogin);
+		return lancamentoCriado;
+	}
+
+	/**
+	 * Cria os lançamentos do lote em uma única transação. As validações de propriedade e de duplicidade são feitas
+	 * para o lote inteiro (uma consulta cada), e os inserts são agrupados em batches JDBC pelo Hibernate.
+	 */
+	@Transactional
+	public List<Lancamento> criarLancamentos(List<LancamentoRequestDTO> lancamentosDTO, String userLogin) {
+
+		if (lancamentosDTO.isEmpty()) {
+			throw new NegocioException("Nenhum lançamento informado!");
+		}
+
+		if (lancamentosDTO.size() > tamanhoMaximoLote) {
+			throw new NegocioException("O lote deve ter no máximo " + tamanhoMaximoLote + " lançamentos!");
+		}
+
+		validacaoDadosUsuarioService.validarContasECategoriasDoUsuarioLogado(
+				lancamentosDTO.stream().map(LancamentoRequestDTO::idConta).collect(Collectors.toSet()),
+				lancamentosDTO.stream().map(LancamentoRequestDTO::idCategoria).collect(Collectors.toSet()), userLogin);
+
+		lancamentosDTO.forEach(l -> validarValorLancamento(l.valor()));
+
+		validarLoteSemNomeDataRepetidos(lancamentosDTO, userLogin);
+
+		List<Lancamento> lancamentos = lancamentosDTO.stream().map(this::novoLancamento).toList();
 
-		if (lancamentoDTO.valor().compareTo(BigDecimal.ZERO) <= 0) {
+		List<Lancamento> lancamentosCriados = lancamentoRepository.saveAll(lancamentos);
+		totalCompetenciaService.registrarInclusoes(lancamentos);
+		saldoContaService.registrarInclusoes(lancamentos);
+		versaoDadosService.registrarAlteracao(userLogin);
+		return lancamentosCriados;
+	}
+
+	private void validarLoteSemNomeDataRepetidos(List<LancamentoRequestDTO> lancamentosDTO, String userLogin) {
+
+		Set<String> chavesLote = new HashSet<>();
+		for (LancamentoRequestDTO lancamentoDTO : lancamentosDTO) {
+			if (!chavesLote.add(chaveNomeData(lancamentoDTO.nome(), lancamentoDTO.parseDate()))) {
+				throw new NegocioException("Lançamento com nome e data repetidos no lote: " + lancamentoDTO.nome() + " ("
+						+ lancamentoDTO.data() + ").");
+			}
+		}
+
+		Set<String> existentes = obterNomesDatasExistentes(userLogin,
+				lancamentosDTO.stream().map(LancamentoRequestDTO::nome).collect(Collectors.toSet()),
+				lancamentosDTO.stream().map(LancamentoRequestDTO::parseDate).collect(Collectors.toSet()));
+
+		for (LancamentoRequestDTO lancamentoDTO : lancamentosDTO) {
+			if (existentes.contains(chaveNomeData(lancamentoDTO.nome(), lancamentoDTO.parseDate()))) {
+				throw new NegocioException("Lançamento com nome e data informados já existente: " + lancamentoDTO.nome()
+						+ " (" + lancamentoDTO.data() + ").");
+			}
+		}
+	}
+
+	/**
+	 * Obtém, com uma única consulta, as chaves nome/data (ver {@link #chaveNomeData}) dos lançamentos do usuário
+	 * cujo nome e data estão entre os informados. Os pares exatos são conferidos pelo chamador.
+	 */
+	protected Set<String> obterNomesDatasExistentes(String userLogin, Collection<String> nomes, Collection<LocalDate> datas) {
+		return lancamentoRepository.findLancamentosByUsuarioENomesEDatas(userLogin, nomes, datas).stream()
+				.map(l -> chaveNomeData(l.getNome(), l.getData())).collect(Collectors.toSet());
+	}
+
+	protected static String chaveNomeData(String nome, LocalDate data) {
+		return nome + "|" + data;
+	}
+
+	protected void validarValorLancamento(BigDecimal valor) {
+
+		if (valor.compareTo(BigDecimal.ZERO) <= 0) {
 			throw new NegocioException("Valor do lançamento informado deve ser maior que 0!");
 		}
 
-		if (lancamentoDTO.valor().compareTo(valorMaximoLancamento) > 0) {
+		if (valor.compareTo(valorMaximoLancamento) > 0) {
 			throw new NegocioException(
 					"Valor do lançamento informado não deve ser superior a " + valorMaximoLancamento.toString() + "!");
 		}
+	}
 
-		List<Lancamento> lancamentos = lancamentoRepository.findLancamentosByUsuario(userLogin);
-		validarLancamentoComMesmoNomeData(null, lancamentoDTO.nome(), lancamentoDTO.parseDate(), lancamentos);
-
-		Lancamento lancamento = Lancamento.builder().nome(lancamentoDTO.nome())
+	private Lancamento novoLancamento(LancamentoRequestDTO lancamentoDTO) {
+		return Lancamento.builder().nome(lancamentoDTO.nome())
 				.conta(Conta.builder().id(lancamentoDTO.idConta()).build())
 				.categoria(Categoria.builder().id(lancamentoDTO.idCategoria()).build()).data(lancamentoDTO.parseDate())
 				.valor(lancamentoDTO.valor()).pago(lancamentoDTO.pago()).build();
-
-		return lancamentoRepository.save(lancamento);
 	}
 
 	@Transactional
 	public Lancamento atualizarLancamento(String idLancamento, LancamentoRequestDTO lancamentoDTO, String userLogin) {
 
-		validacaoDadosUsuarioService.validarContaDoUsuarioLogado(lancamentoDTO.idConta(), userLogin);
-		validacaoDadosUsuarioService.validarCategoriaDoUsuarioLogado(lancamentoDTO.idCategoria(), userLogin);
-		validacaoDadosUsuarioService.validarLancamentoDoUsuarioLogado(idLancamento, userLogin);
+		validacaoDadosUsuarioService.validarDadosLancamentoDoUsuarioLogado(lancamentoDTO.idConta(),
+				lancamentoDTO.idCategoria(), idLancamento, userLogin);
 
-		if (lancamentoDTO.valor().compareTo(BigDecimal.ZERO) <= 0) {
-			throw new NegocioException("Valor do lançamento informado deve ser maior que 0!");
-		}
-		if (lancamentoDTO.valor().compareTo(valorMaximoLancamento) > 0) {
-			throw new NegocioException(
-					"Valor do lançamento informado não deve ser superior a " + valorMaximoLancamento.toString() + "!");
-		}
+		validarValorLancamento(lancamentoDTO.valor());
 
-		List<Lancamento> lancamentos = lancamentoRepository.findLancamentosByUsuario(userLogin);
-		validarLancamentoComMesmoNomeData(idLancamento, lancamentoDTO.nome(), lancamentoDTO.parseDate(), lancamentos);
+		validarLancamentoComMesmoNomeData(idLancamento, lancamentoDTO.nome(), lancamentoDTO.parseDate(), userLogin);
 
-		Lancamento lancamento = lancamentoRepository.findById(idLancamento).orElseThrow();
+		Lancamento lancamento = lancamentoRepository.findByIdParaAtualizacao(idLancamento).orElseThrow();
+		Lancamento lancamentoAnterior = Lancamento.builder().conta(lancamento.getConta())
+				.categoria(lancamento.getCategoria()).data(lancamento.getData()).valor(lancamento.getValor())
+				.pago(lancamento.isPago()).build();
 
 		lancamento.setNome(lancamentoDTO.nome());
 		lancamento.setConta(Conta.builder().id(lancamentoDTO.idConta()).build());
@@ -122,15 +344,20 @@ public class LancamentoService {
 		lancamento.setValor(lancamentoDTO.valor());
 		lancamento.setPago(lancamentoDTO.pago());
 
-		return lancamentoRepository.save(lancamento);
+		Lancamento lancamentoAtualizado = lancamentoRepository.save(lancamento);
+		totalCompetenciaService.registrarAlteracao(lancamentoAnterior, lancamento);
+		saldoContaService.registrarAlteracao(lancamentoAnterior, lancamento);
+		versaoDadosService.registrarAlteracao(userLogin);
+		return lancamentoAtualizado;
 	}
 
 	protected void validarLancamentoComMesmoNomeData(String idLancamento,  String nomeLancamento, LocalDate dataLancamento,
-			List<Lancamento> lancamentos) {
+			String userLogin) {
 
-		boolean possuiOutroLancamentoComMesmoNomeData = lancamentos.stream()
-				.anyMatch(l -> !l.getId().equals(idLancamento) &&
-						l.getNome().equals(nomeLancamento) && l.getData().equals(dataLancamento));
+		boolean possuiOutroLancamentoComMesmoNomeData = idLancamento == null
+				? lancamentoRepository.existsByNomeAndDataAndContaUsuarioLogin(nomeLancamento, dataLancamento, userLogin)
+				: lancamentoRepository.existsByNomeAndDataAndContaUsuarioLoginAndIdNot(nomeLancamento, dataLancamento,
+						userLogin, idLancamento);
 		if (possuiOutroLancamentoComMesmoNomeData) {
 			throw new NegocioException("Lançamento com nome e data informados já existente.");
 		}
@@ -140,13 +367,17 @@ public class LancamentoService {
 	public Lancamento atualizarLancamentoComoPago(String idLancamento, String userLogin) {
 
 		validacaoDadosUsuarioService.validarLancamentoDoUsuarioLogado(idLancamento, userLogin);
-		Lancamento lancamento = lancamentoRepository.findById(idLancamento).orElseThrow();
+		Lancamento lancamento = lancamentoRepository.findByIdParaAtualizacao(idLancamento).orElseThrow();
 
 		if (lancamento.isPago()) {
 			throw new NegocioException("Lançamento já está pago!");
 		} else {
 			lancamento.setPago(true);
-			return lancamentoRepository.save(lancamento);
+			Lancamento lancamentoAtualizado = lancamentoRepository.save(lancamento);
+			totalCompetenciaService.registrarAlteracaoPagamento(lancamento);
+			saldoContaService.registrarAlteracaoPagamento(lancamento);
+			versaoDadosService.registrarAlteracao(userLogin);
+			return lancamentoAtualizado;
 		}
 	}
 
@@ -154,13 +385,17 @@ public class LancamentoService {
 	public Lancamento atualizarLancamentoComoNaoPago(String idLancamento, String userLogin) {
 
 		validacaoDadosUsuarioService.validarLancamentoDoUsuarioLogado(idLancamento, userLogin);
-		Lancamento lancamento = lancamentoRepository.findById(idLancamento).orElseThrow();
+		Lancamento lancamento = lancamentoRepository.findByIdParaAtualizacao(idLancamento).orElseThrow();
 
 		if (!lancamento.isPago()) {
 			throw new NegocioException("Lançamento já não está pago!");
 		} else {
 			lancamento.setPago(false);
-			return lancamentoRepository.save(lancamento);
+			Lancamento lancamentoAtualizado = lancamentoRepository.save(lancamento);
+			totalCompetenciaService.registrarAlteracaoPagamento(lancamento);
+			saldoContaService.registrarAlteracaoPagamento(lancamento);
+			versaoDadosService.registrarAlteracao(userLogin);
+			return lancamentoAtualizado;
 		}
 	}
 
@@ -168,6 +403,11 @@ public class LancamentoService {
 	public void deletarLancamento(String idLancamento, String userLogin) {
 
 		validacaoDadosUsuarioService.validarLancamentoDoUsuarioLogado(idLancamento, userLogin);
+		lancamentoRepository.findByIdParaAtualizacao(idLancamento).ifPresent(lancamento -> {
+			totalCompetenciaService.registrarExclusao(lancamento);
+			saldoContaService.registrarExclusao(lancamento);
+		});
 		lancamentoRepository.deleteById(idLancamento);
+		versaoDadosService.registrarAlteracao(userLogin);
 	}
 }
@@ -0,0 +1,54 @@
+package br.com.controle.financeiro.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê as linhas de um extrato sob demanda, sem carregar o arquivo inteiro em memória.
+ */
+abstract class LeitorExtrato implements Iterator<LinhaExtrato> {
+
+    private LinhaExtrato proxima;
+
+    /**
+     * @return a próxima linha do extrato, ou null ao fim do arquivo
+     */
+    protected abstract LinhaExtrato lerProxima() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (proxima == null) {
+            try {
+                proxima = lerProxima();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return proxima != null;
+    }
+
+    @Override
+    public LinhaExtrato next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        LinhaExtrato linha = proxima;
+        proxima = null;
+        return linha;
+    }
+
+    /**
+     * Interpreta valores nos formatos "1234.56", "-1.234,56" e "R$ 10,00". Débitos são importados pelo valor absoluto.
+     */
+    static BigDecimal interpretarValor(String texto) {
+
+        String valor = texto.replace("R$", "").replace(" ", "");
+        if (valor.indexOf(',') >= 0) {
+            valor = valor.replace(".", "").replace(',', '.');
+        }
+        return new BigDecimal(valor).abs();
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.controle.financeiro.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lê extratos CSV com as colunas data;nome;valor[;pago], separadas por ponto e vírgula ou vírgula (detectado na
+ * primeira linha). O cabeçalho é opcional e, quando a coluna pago não é informada, o lançamento é importado como pago.
+ */
+class LeitorExtratoCsv extends LeitorExtrato {
+
+    // Resolução estrita: datas inexistentes (ex.: 31-02) são rejeitadas em vez de ajustadas para o fim do mês
+    private static final List<DateTimeFormatter> FORMATOS_DATA = List.of(
+            DateTimeFormatter.ofPattern("dd-MM-uuuu").withResolverStyle(ResolverStyle.STRICT),
+            DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT),
+            DateTimeFormatter.ISO_LOCAL_DATE);
+
+    private final BufferedReader reader;
+
+    private long numeroLinha;
+
+    private Character separador;
+
+    LeitorExtratoCsv(Reader reader) {
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+    }
+
+    @Override
+    protected LinhaExtrato lerProxima() throws IOException {
+
+        String linha;
+        while ((linha = reader.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            if (separador == null) {
+                separador = linha.indexOf(';') >= 0 ? ';' : ',';
+                if (dividir(linha, separador).get(0).toLowerCase(Locale.ROOT).equals("data")) {
+                    continue;
+                }
+            }
+            return interpretar(linha);
+        }
+        return null;
+    }
+
+    private LinhaExtrato interpretar(String linha) {
+
+        List<String> campos = dividir(linha, separador);
+        if (campos.size() < 3) {
+            return LinhaExtrato.invalida(numeroLinha, "Linha deve conter data, nome e valor.");
+        }
+
+        LocalDate data = interpretarData(campos.get(0));
+        if (data == null) {
+            return LinhaExtrato.invalida(numeroLinha, "Data inválida: " + campos.get(0));
+        }
+
+        String nome = campos.get(1);
+        if (nome.isBlank()) {
+            return LinhaExtrato.invalida(numeroLinha, "Nome não informado.");
+        }
+
+        try {
+            boolean pago = campos.size() < 4 || campos.get(3).isBlank() || interpretarPago(campos.get(3));
+            return LinhaExtrato.valida(numeroLinha, nome, data, interpretarValor(campos.get(2)), pago);
+        } catch (NumberFormatException e) {
+            return LinhaExtrato.invalida(numeroLinha, "Valor inválido: " + campos.get(2));
+        }
+    }
+
+    private static LocalDate interpretarData(String texto) {
+        for (DateTimeFormatter formato : FORMATOS_DATA) {
+            try {
+                return LocalDate.parse(texto, formato);
+            } catch (DateTimeParseException e) {
+                // Tenta o próximo formato
+            }
+        }
+        return null;
+    }
+
+    private static boolean interpretarPago(String texto) {
+        return switch (texto.toLowerCase(Locale.ROOT)) {
+            case "true", "sim", "s", "1" -> true;
+            default -> false;
+        };
+    }
+
+    static List<String> dividir(String linha, char separador) {
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                // Aspas duplicadas dentro de um campo entre aspas representam uma aspa literal
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append(c);
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == separador && !entreAspas) {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString().trim());
+        return campos;
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.controle.financeiro.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Lê as transações (STMTTRN) de extratos OFX, tanto no formato SGML (1.x, sem tags de fechamento nos campos) quanto
+ * XML (2.x). O número da linha reportado é o da abertura da transação. Transações de extrato são importadas como pagas.
+ */
+class LeitorExtratoOfx extends LeitorExtrato {
+
+    // Limita o texto acumulado por campo, mantendo a memória constante mesmo com arquivos malformados
+    private static final int TAMANHO_MAXIMO_TEXTO = 1024;
+
+    private final BufferedReader reader;
+
+    private long numeroLinha = 1;
+
+    private long linhaTag;
+
+    private String texto;
+
+    LeitorExtratoOfx(Reader reader) {
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+    }
+
+    @Override
+    protected LinhaExtrato lerProxima() throws IOException {
+
+        long linhaTransacao = 0;
+        String data = null;
+        String valor = null;
+        String nome = null;
+        String memo = null;
+
+        String tag;
+        while ((tag = lerTag()) != null) {
+            switch (tag) {
+                case "STMTTRN" -> {
+                    linhaTransacao = linhaTag;
+                    data = valor = nome = memo = null;
+                }
+                case "DTPOSTED" -> data = texto;
+                case "TRNAMT" -> valor = texto;
+                case "NAME" -> nome = texto;
+                case "MEMO" -> memo = texto;
+                case "/STMTTRN" -> {
+                    if (linhaTransacao > 0) {
+                        return montar(linhaTransacao, data, valor, memo != null && !memo.isBlank() ? memo : nome);
+                    }
+                }
+                default -> { }
+            }
+        }
+        return null;
+    }
+
+    private static LinhaExtrato montar(long numero, String data, String valor, String nome) {
+
+        if (data == null || data.length() < 8) {
+            return LinhaExtrato.invalida(numero, "Data inválida: " + data);
+        }
+        if (nome == null || nome.isBlank()) {
+            return LinhaExtrato.invalida(numero, "Nome não informado.");
+        }
+        if (valor == null) {
+            return LinhaExtrato.invalida(numero, "Valor não informado.");
+        }
+
+        LocalDate dataLancamento;
+        try {
+            // DTPOSTED pode trazer hora e fuso (ex.: 20240503120000[-3:BRT]); apenas a data é usada
+            dataLancamento = LocalDate.parse(data.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return LinhaExtrato.invalida(numero, "Data inválida: " + data);
+        }
+
+        try {
+            return LinhaExtrato.valida(numero, nome, dataLancamento, interpretarValor(valor), true);
+        } catch (NumberFormatException e) {
+            return LinhaExtrato.invalida(numero, "Valor inválido: " + valor);
+        }
+    }
+
+    /**
+     * Avança até a próxima tag e guarda em {@link #texto} o conteúdo que a segue (até a tag seguinte) e em
+     * {@link #linhaTag} a linha em que ela foi aberta.
+     *
+     * @return o nome da tag em maiúsculas (com "/" nas de fechamento), ou null ao fim do arquivo
+     */
+    private String lerTag() throws IOException {
+
+        int c;
+        do {
+            c = ler();
+        } while (c != -1 && c != '<');
+        if (c == -1) {
+            return null;
+        }
+        linhaTag = numeroLinha;
+
+        StringBuilder tag = new StringBuilder();
+        while ((c = ler()) != -1 && c != '>') {
+            if (tag.length() < TAMANHO_MAXIMO_TEXTO) {
+                tag.append((char) c);
+            }
+        }
+
+        StringBuilder conteudo = new StringBuilder();
+        reader.mark(1);
+        while ((c = reader.read()) != -1 && c != '<') {
+            if (c == '\n') {
+                numeroLinha++;
+            }
+            if (conteudo.length() < TAMANHO_MAXIMO_TEXTO) {
+                conteudo.append((char) c);
+            }
+            reader.mark(1);
+        }
+        // Devolve o '<' da próxima tag para a leitura seguinte
+        reader.reset();
+
+        texto = conteudo.toString().trim();
+        return tag.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private int ler() throws IOException {
+        int c = reader.read();
+        if (c == '\n') {
+            numeroLinha++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.controle.financeiro.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa leituras idênticas e simultâneas: enquanto uma leitura de (usuário, versão dos dados, método, argumentos)
+ * está em andamento, os demais chamadores com a mesma chave aguardam e recebem o mesmo resultado (ou a mesma exceção),
+ * em vez de repetir a consulta. Nada é guardado depois que a leitura termina.
+ * <p>
+ * A versão da chave é a que o chamador já leu (a da sua ETag), e a leitura que ele acompanha começou depois que essa
+ * versão foi lida: o resultado nunca é anterior à versão informada ao cliente. Após uma escrita, os chamadores leem
+ * a nova versão e passam a usar outra chave, sem depender de invalidação.
+ * <p>
+ * O resultado é compartilhado entre as threads e não deve ser alterado por quem o recebe.
+ */
+@Component
+public class LeiturasCompartilhadas {
+
+    private final boolean habilitada;
+
+    private final Map<ChaveLeitura, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+
+    private final VersaoDadosService versaoDadosService;
+
+    private final Counter leiturasAgrupadas;
+
+    public LeiturasCompartilhadas(@Value("${app.leituras-compartilhadas.habilitada:true}") boolean habilitada,
+                                  VersaoDadosService versaoDadosService, MeterRegistry meterRegistry) {
+        this.habilitada = habilitada;
+        this.versaoDadosService = versaoDadosService;
+        this.leiturasAgrupadas = Counter.builder("api.leituras.agrupadas")
+                .description("Leituras atendidas pelo resultado de uma leitura idêntica já em andamento")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String userLogin, String metodo, Supplier<T> leitura, Object... argumentos) {
+
+        if (!habilitada) {
+            return leitura.get();
+        }
+
+        ChaveLeitura chave = new ChaveLeitura(userLogin, versaoDadosService.obterVersaoLida(userLogin), metodo,
+                Arrays.asList(argumentos));
+        CompletableFuture<Object> nova = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emAndamento.putIfAbsent(chave, nova);
+
+        if (existente != null) {
+            leiturasAgrupadas.increment();
+            return (T) aguardar(existente);
+        }
+
+        try {
+            T resultado = leitura.get();
+            nova.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    private static Object aguardar(CompletableFuture<Object> leitura) {
+        try {
+            return leitura.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private record ChaveLeitura(String userLogin, long versaoDados, String metodo, List<Object> argumentos) {
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.domain.Lancamento;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Linha (ou transação, no OFX) lida de um extrato bancário. Linhas que não puderam ser interpretadas trazem apenas
+ * o número e o erro encontrado.
+ */
+public record LinhaExtrato(long numero, String nome, LocalDate data, BigDecimal valor, boolean pago, String erro) {
+
+    /**
+     * Linha interpretada com sucesso. Nome ou valor que não cabem nas colunas de lancamentos tornam a linha inválida:
+     * gravados, fariam o insert de todo o lote falhar.
+     */
+    static LinhaExtrato valida(long numero, String nome, LocalDate data, BigDecimal valor, boolean pago) {
+        if (nome.length() > Lancamento.TAMANHO_MAXIMO_NOME) {
+            return invalida(numero, "Nome deve ter no máximo " + Lancamento.TAMANHO_MAXIMO_NOME + " caracteres.");
+        }
+        if (valor.setScale(Lancamento.ESCALA_VALOR, RoundingMode.HALF_UP).precision() > Lancamento.PRECISAO_VALOR) {
+            return invalida(numero, "Valor inválido: " + valor.toPlainString());
+        }
+        return new LinhaExtrato(numero, nome, data, valor, pago, null);
+    }
+
+    static LinhaExtrato invalida(long numero, String erro) {
+        return new LinhaExtrato(numero, null, null, null, false, erro);
+    }
+
+    public boolean isValida() {
+        return erro == null;
+    }
+}
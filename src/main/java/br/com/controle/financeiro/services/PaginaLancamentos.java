@@ -0,0 +1,24 @@
+package br.com.controle.financeiro.services;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de lançamentos obtida por paginação por chave (data, id).
+ *
+ * @param proximoCursor cursor para obter a próxima página, ou null quando esta é a última
+ */
+public record PaginaLancamentos<T>(List<T> itens, String proximoCursor) {
+
+    /**
+     * Monta a página a partir dos registros consultados com um item a mais que o tamanho da página,
+     * que indica a existência de uma próxima página.
+     */
+    public static <T> PaginaLancamentos<T> de(List<T> registros, int tamanhoPagina, Function<T, CursorLancamento> cursor) {
+        if (registros.size() <= tamanhoPagina) {
+            return new PaginaLancamentos<>(registros, null);
+        }
+        List<T> itens = registros.subList(0, tamanhoPagina);
+        return new PaginaLancamentos<>(itens, cursor.apply(itens.get(tamanhoPagina - 1)).codificar());
+    }
+}
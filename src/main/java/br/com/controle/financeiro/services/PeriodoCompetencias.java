@@ -0,0 +1,21 @@
+package br.com.controle.financeiro.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Intervalo de competências, com as duas pontas incluídas.
+ */
+public record PeriodoCompetencias(YearMonth de, YearMonth ate) {
+
+    public LocalDate inicio() {
+        return de.atDay(1);
+    }
+
+    /**
+     * Primeiro dia após o período (limite exclusivo das consultas por data).
+     */
+    public LocalDate fim() {
+        return ate.plusMonths(1).atDay(1);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.controle.financeiro.services;
+
+import java.util.List;
+
+/**
+ * Resultado da importação de um extrato. Os erros são listados por linha até o limite configurado; além dele,
+ * as linhas rejeitadas são apenas contadas.
+ */
+public record ResultadoImportacao(long linhasLidas, long importados, long rejeitados, int lotes, List<ErroLinha> erros) {
+
+    public record ErroLinha(long linha, String mensagem) {
+    }
+}
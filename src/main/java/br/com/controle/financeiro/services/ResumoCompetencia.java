@@ -0,0 +1,59 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.repositories.dto.TotalLancamentosDTO;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Totais dos lançamentos de uma competência, no geral, por conta e por categoria.
+ * É montado a partir dos totais por conta/categoria já agregados no banco, que são poucos registros.
+ */
+public record ResumoCompetencia(YearMonth competencia, Totais total, List<TotalAgrupado> porConta,
+                                List<TotalAgrupado> porCategoria) {
+
+    public record Totais(long quantidade, long quantidadePagos, BigDecimal valorTotal, BigDecimal valorPago,
+                         BigDecimal valorNaoPago) {
+
+        public static final Totais ZERO = new Totais(0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        public Totais somar(Totais outro) {
+            return new Totais(quantidade + outro.quantidade, quantidadePagos + outro.quantidadePagos,
+                    valorTotal.add(outro.valorTotal), valorPago.add(outro.valorPago), valorNaoPago.add(outro.valorNaoPago));
+        }
+
+        private static Totais de(TotalLancamentosDTO dto) {
+            return new Totais(dto.getQuantidade(), dto.getQuantidadePagos(), dto.getValorTotal(), dto.getValorPago(),
+                    dto.getValorNaoPago());
+        }
+    }
+
+    public record TotalAgrupado(String id, String nome, Totais totais) {
+    }
+
+    public static ResumoCompetencia de(YearMonth competencia, List<TotalLancamentosDTO> totais) {
+
+        Totais total = totais.stream().map(Totais::de).reduce(Totais.ZERO, Totais::somar);
+
+        return new ResumoCompetencia(competencia, total,
+                agrupar(totais, TotalLancamentosDTO::getIdConta, TotalLancamentosDTO::getNomeConta),
+                agrupar(totais, TotalLancamentosDTO::getIdCategoria, TotalLancamentosDTO::getNomeCategoria));
+    }
+
+    private static List<TotalAgrupado> agrupar(List<TotalLancamentosDTO> totais, Function<TotalLancamentosDTO, String> id,
+                                               Function<TotalLancamentosDTO, String> nome) {
+
+        Map<String, TotalAgrupado> agrupados = new LinkedHashMap<>();
+        for (TotalLancamentosDTO dto : totais) {
+            agrupados.merge(id.apply(dto), new TotalAgrupado(id.apply(dto), nome.apply(dto), Totais.de(dto)),
+                    (atual, novo) -> new TotalAgrupado(atual.id(), atual.nome(), atual.totais().somar(novo.totais())));
+        }
+
+        return agrupados.values().stream().sorted(Comparator.comparing(TotalAgrupado::nome)).toList();
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.domain.SaldoConta;
+import br.com.controle.financeiro.infra.persistencia.ExecucaoExclusiva;
+import br.com.controle.financeiro.repositories.SaldoContaRepository;
+import br.com.controle.financeiro.repositories.dto.DivergenciaSaldoDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mantém a tabela saldos_conta. Cada alteração de lançamento aplica apenas a diferença (delta) que causou no saldo
+ * da conta, na mesma transação da alteração.
+ * <p>
+ * Os deltas de alteração e exclusão partem do estado do lançamento lido pelo chamador: ele deve ter sido carregado com
+ * bloqueio (LancamentoRepository.findByIdParaAtualizacao), senão duas alterações simultâneas aplicam o mesmo delta.
+ */
+@Service
+public class SaldoContaService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SaldoContaService.class);
+
+    static final String TAREFA_VERIFICACAO = "verificacao-saldos-conta";
+
+    private final SaldoContaRepository saldoContaRepository;
+
+    private final ExecucaoExclusiva execucaoExclusiva;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter divergencias;
+
+    public SaldoContaService(SaldoContaRepository saldoContaRepository, ExecucaoExclusiva execucaoExclusiva,
+                             TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.saldoContaRepository = saldoContaRepository;
+        this.execucaoExclusiva = execucaoExclusiva;
+        this.transactionTemplate = transactionTemplate;
+        this.divergencias = Counter.builder("saldos.conta.divergencias")
+                .description("Saldos de conta divergentes da soma dos lançamentos, encontrados pela verificação")
+                .register(meterRegistry);
+    }
+
+    public SaldoConta obterSaldo(String idConta) {
+        return saldoContaRepository.findById(idConta).orElseGet(() -> SaldoConta.zerado(idConta));
+    }
+
+    public void registrarInclusao(Lancamento lancamento) {
+        aplicar(lancamento, BigDecimal.ONE);
+    }
+
+    /**
+     * Registra a inclusão de vários lançamentos aplicando um único delta por conta.
+     */
+    public void registrarInclusoes(List<Lancamento> lancamentos) {
+
+        Map<String, SaldoConta> deltas = new LinkedHashMap<>();
+        for (Lancamento lancamento : lancamentos) {
+            SaldoConta delta = deltas.computeIfAbsent(lancamento.getConta().getId(), SaldoConta::zerado);
+            delta.setValorTotal(delta.getValorTotal().add(lancamento.getValor()));
+            delta.setValorPago(delta.getValorPago().add(valorPago(lancamento)));
+        }
+
+        deltas.values().forEach(delta -> saldoContaRepository.aplicarDelta(delta.getIdConta(), delta.getValorTotal(),
+                delta.getValorPago()));
+    }
+
+    public void registrarExclusao(Lancamento lancamento) {
+        aplicar(lancamento, BigDecimal.ONE.negate());
+    }
+
+    public void registrarAlteracao(Lancamento anterior, Lancamento atual) {
+
+        if (!Objects.equals(anterior.getConta().getId(), atual.getConta().getId())) {
+            registrarExclusao(anterior);
+            registrarInclusao(atual);
+            return;
+        }
+
+        // Mesma conta: um único delta com a diferença de valores
+        saldoContaRepository.aplicarDelta(atual.getConta().getId(), atual.getValor().subtract(anterior.getValor()),
+                valorPago(atual).subtract(valorPago(anterior)));
+    }
+
+    /**
+     * Registra a mudança do lançamento de não pago para pago (ou o contrário), já refletida no lançamento informado.
+     */
+    public void registrarAlteracaoPagamento(Lancamento lancamento) {
+        BigDecimal deltaValorPago = lancamento.isPago() ? lancamento.getValor() : lancamento.getValor().negate();
+        saldoContaRepository.aplicarDelta(lancamento.getConta().getId(), BigDecimal.ZERO, deltaValorPago);
+    }
+
+    public void removerSaldo(String idConta) {
+        saldoContaRepository.removerPorConta(idConta);
+    }
+
+    /**
+     * Compara os saldos com a soma dos lançamentos de cada conta. As divergências são registradas no log e na métrica
+     * "saldos.conta.divergencias" e corrigidas, cada conta em sua própria transação.
+     * <p>
+     * É apenas uma rede de segurança (alterações feitas direto no banco, por exemplo): os saldos já são mantidos
+     * corretos pelos deltas, e qualquer divergência encontrada aqui indica um defeito a investigar. Com várias
+     * instâncias, apenas uma executa a verificação; as demais a ignoram.
+     *
+     * @return quantidade de saldos divergentes encontrados
+     */
+    @Scheduled(cron = "${app.saldos-conta.verificacao.cron:0 30 3 * * *}")
+    public int verificarSaldos() {
+
+        AtomicInteger corrigidos = new AtomicInteger();
+        boolean executada = execucaoExclusiva.executar(TAREFA_VERIFICACAO, () -> {
+            for (DivergenciaSaldoDTO divergencia : saldoContaRepository.findDivergencias()) {
+                LOGGER.warn("Saldo da conta {} divergente: registrado total={} pago={}, calculado total={} pago={}",
+                        divergencia.getIdConta(), divergencia.getValorTotalRegistrado(), divergencia.getValorPagoRegistrado(),
+                        divergencia.getValorTotalCalculado(), divergencia.getValorPagoCalculado());
+                divergencias.increment();
+                transactionTemplate.executeWithoutResult(status -> corrigir(divergencia.getIdConta()));
+                corrigidos.incrementAndGet();
+            }
+        });
+
+        if (!executada) {
+            LOGGER.info("Verificação dos saldos das contas ignorada: já em execução em outra instância");
+            return 0;
+        }
+        LOGGER.info("Verificação dos saldos das contas concluída: {} divergências corrigidas", corrigidos.get());
+        return corrigidos.get();
+    }
+
+    private void corrigir(String idConta) {
+        // O delta zerado cria o saldo, se não existir, e bloqueia a linha: deltas concorrentes aguardam o recálculo
+        saldoContaRepository.aplicarDelta(idConta, BigDecimal.ZERO, BigDecimal.ZERO);
+        saldoContaRepository.recalcular(idConta);
+    }
+
+    private void aplicar(Lancamento lancamento, BigDecimal sinal) {
+        saldoContaRepository.aplicarDelta(lancamento.getConta().getId(), lancamento.getValor().multiply(sinal),
+                valorPago(lancamento).multiply(sinal));
+    }
+
+    private static BigDecimal valorPago(Lancamento lancamento) {
+        return lancamento.isPago() ? lancamento.getValor() : BigDecimal.ZERO;
+    }
+}
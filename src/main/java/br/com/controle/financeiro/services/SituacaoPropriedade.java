@@ -0,0 +1,22 @@
+package br.com.controle.financeiro.services;
+
+/**
+ * Resultado da verificação de propriedade de um registro (conta, categoria ou lançamento)
+ * em relação ao usuário logado.
+ */
+public enum SituacaoPropriedade {
+    PERTENCE_AO_USUARIO,
+    NAO_ENCONTRADO,
+    PERTENCE_A_OUTRO_USUARIO;
+
+    /**
+     * @param loginProprietario login do dono do registro, ou null quando o registro não existe
+     * @param userLogin         login do usuário logado
+     */
+    public static SituacaoPropriedade verificar(String loginProprietario, String userLogin) {
+        if (loginProprietario == null) {
+            return NAO_ENCONTRADO;
+        }
+        return loginProprietario.equals(userLogin) ? PERTENCE_AO_USUARIO : PERTENCE_A_OUTRO_USUARIO;
+    }
+}
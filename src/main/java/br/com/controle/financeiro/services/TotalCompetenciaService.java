@@ -0,0 +1,161 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.domain.TotalCompetencia;
+import br.com.controle.financeiro.domain.TotalCompetenciaId;
+import br.com.controle.financeiro.infra.persistencia.ExecucaoExclusiva;
+import br.com.controle.financeiro.repositories.TotalCompetenciaRepository;
+import br.com.controle.financeiro.repositories.UsuarioRepository;
+import br.com.controle.financeiro.repositories.dto.TotalLancamentosDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mantém a tabela totais_competencia. Cada alteração de lançamento aplica apenas a diferença (delta) que causou
+ * nos totais, na mesma transação da alteração.
+ */
+@Service
+public class TotalCompetenciaService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TotalCompetenciaService.class);
+
+    static final String TAREFA_RECONSTRUCAO = "reconstrucao-totais-competencia";
+
+    private final TotalCompetenciaRepository totalCompetenciaRepository;
+
+    private final UsuarioRepository usuarioRepository;
+
+    private final ExecucaoExclusiva execucaoExclusiva;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TotalCompetenciaService(TotalCompetenciaRepository totalCompetenciaRepository, UsuarioRepository usuarioRepository,
+                                   ExecucaoExclusiva execucaoExclusiva, TransactionTemplate transactionTemplate) {
+        this.totalCompetenciaRepository = totalCompetenciaRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.execucaoExclusiva = execucaoExclusiva;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public List<TotalLancamentosDTO> obterTotais(String userLogin, YearMonth competencia) {
+        return totalCompetenciaRepository.findTotaisByUsuarioECompetencia(userLogin, paraInteiro(competencia));
+    }
+
+    public void registrarInclusao(Lancamento lancamento) {
+        aplicar(lancamento, 1);
+    }
+
+    /**
+     * Registra a inclusão de vários lançamentos aplicando um único delta por conta/categoria/competência.
+     */
+    public void registrarInclusoes(List<Lancamento> lancamentos) {
+
+        Map<TotalCompetenciaId, TotalCompetencia> deltas = new LinkedHashMap<>();
+        for (Lancamento lancamento : lancamentos) {
+            TotalCompetenciaId chave = new TotalCompetenciaId(null, lancamento.getConta().getId(),
+                    lancamento.getCategoria().getId(), paraInteiro(lancamento.getData()));
+            TotalCompetencia delta = deltas.computeIfAbsent(chave, id -> new TotalCompetencia(id, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO));
+            delta.setQuantidade(delta.getQuantidade() + 1);
+            delta.setValorTotal(delta.getValorTotal().add(lancamento.getValor()));
+            delta.setQuantidadePagos(delta.getQuantidadePagos() + (lancamento.isPago() ? 1 : 0));
+            delta.setValorPago(delta.getValorPago().add(valorPago(lancamento)));
+        }
+
+        deltas.values().forEach(delta -> totalCompetenciaRepository.aplicarDelta(delta.getId().getIdConta(),
+                delta.getId().getIdCategoria(), delta.getId().getCompetencia(), delta.getQuantidade(),
+                delta.getValorTotal(), delta.getQuantidadePagos(), delta.getValorPago()));
+    }
+
+    public void registrarExclusao(Lancamento lancamento) {
+        aplicar(lancamento, -1);
+    }
+
+    public void registrarAlteracao(Lancamento anterior, Lancamento atual) {
+
+        boolean mesmoTotal = Objects.equals(anterior.getConta().getId(), atual.getConta().getId())
+                && Objects.equals(anterior.getCategoria().getId(), atual.getCategoria().getId())
+                && paraInteiro(anterior.getData()) == paraInteiro(atual.getData());
+
+        if (!mesmoTotal) {
+            registrarExclusao(anterior);
+            registrarInclusao(atual);
+            return;
+        }
+
+        // Mesma conta/categoria/competência: um único delta com a diferença de valores
+        BigDecimal deltaValorPago = valorPago(atual).subtract(valorPago(anterior));
+        long deltaQuantidadePagos = (atual.isPago() ? 1 : 0) - (anterior.isPago() ? 1 : 0);
+        totalCompetenciaRepository.aplicarDelta(atual.getConta().getId(), atual.getCategoria().getId(),
+                paraInteiro(atual.getData()), 0, atual.getValor().subtract(anterior.getValor()), deltaQuantidadePagos,
+                deltaValorPago);
+    }
+
+    /**
+     * Registra a mudança do lançamento de não pago para pago (ou o contrário), já refletida no lançamento informado.
+     */
+    public void registrarAlteracaoPagamento(Lancamento lancamento) {
+        int sinal = lancamento.isPago() ? 1 : -1;
+        totalCompetenciaRepository.aplicarDelta(lancamento.getConta().getId(), lancamento.getCategoria().getId(),
+                paraInteiro(lancamento.getData()), 0, BigDecimal.ZERO, sinal,
+                lancamento.getValor().multiply(BigDecimal.valueOf(sinal)));
+    }
+
+    /**
+     * Corrige os totais de todos os usuários a partir dos lançamentos, cada usuário em sua própria transação. Usado
+     * para a carga inicial e para corrigir divergências.
+     * <p>
+     * Não bloqueia a tabela: alterações de lançamentos continuam durante a correção e só aguardam nas linhas que
+     * estiverem sendo corrigidas. Com várias instâncias, apenas uma executa a tarefa; as demais a ignoram.
+     *
+     * @return quantidade de totais corrigidos
+     */
+    @Scheduled(cron = "${app.totais-competencia.reconstrucao.cron:0 0 3 * * *}")
+    public int reconstruir() {
+
+        AtomicInteger corrigidos = new AtomicInteger();
+        boolean executada = execucaoExclusiva.executar(TAREFA_RECONSTRUCAO, () -> {
+            for (String idUsuario : usuarioRepository.findAllIds()) {
+                Integer totais = transactionTemplate.execute(status -> totalCompetenciaRepository.corrigirTotaisDoUsuario(idUsuario));
+                corrigidos.addAndGet(totais == null ? 0 : totais);
+            }
+        });
+
+        if (!executada) {
+            LOGGER.info("Reconstrução dos totais por competência ignorada: já em execução em outra instância");
+            return 0;
+        }
+        LOGGER.info("Totais por competência reconstruídos: {} registros corrigidos", corrigidos.get());
+        return corrigidos.get();
+    }
+
+    private void aplicar(Lancamento lancamento, int sinal) {
+        BigDecimal fator = BigDecimal.valueOf(sinal);
+        totalCompetenciaRepository.aplicarDelta(lancamento.getConta().getId(), lancamento.getCategoria().getId(),
+                paraInteiro(lancamento.getData()), sinal, lancamento.getValor().multiply(fator),
+                lancamento.isPago() ? sinal : 0, valorPago(lancamento).multiply(fator));
+    }
+
+    private static BigDecimal valorPago(Lancamento lancamento) {
+        return lancamento.isPago() ? lancamento.getValor() : BigDecimal.ZERO;
+    }
+
+    static int paraInteiro(LocalDate data) {
+        return data.getYear() * 100 + data.getMonthValue();
+    }
+
+    static int paraInteiro(YearMonth competencia) {
+        return competencia.getYear() * 100 + competencia.getMonthValue();
+    }
+}
@@ -1,17 +1,17 @@
 package br.com.controle.financeiro.services;
 
-import br.com.controle.financeiro.domain.Categoria;
-import br.com.controle.financeiro.domain.Conta;
-import br.com.controle.financeiro.domain.Lancamento;
 import br.com.controle.financeiro.repositories.CategoriaRepository;
 import br.com.controle.financeiro.repositories.ContaRepository;
 import br.com.controle.financeiro.repositories.LancamentoRepository;
-import br.com.controle.financeiro.repositories.UsuarioRepository;
+import br.com.controle.financeiro.repositories.dto.ProprietarioDTO;
+import br.com.controle.financeiro.repositories.dto.ProprietariosLancamentoDTO;
 import br.com.controle.financeiro.services.exception.NegocioException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class ValidacaoDadosUsuarioService {
@@ -22,57 +22,90 @@ public class ValidacaoDadosUsuarioService {
 
     private final LancamentoRepository lancamentoRepository;
 
-    private final UsuarioRepository usuarioRepository;
-
-    public ValidacaoDadosUsuarioService(ContaRepository contaRepository, CategoriaRepository categoriaRepository, LancamentoRepository lancamentoRepository, UsuarioRepository usuarioRepository) {
+    public ValidacaoDadosUsuarioService(ContaRepository contaRepository, CategoriaRepository categoriaRepository, LancamentoRepository lancamentoRepository) {
         this.contaRepository = contaRepository;
         this.categoriaRepository = categoriaRepository;
         this.lancamentoRepository = lancamentoRepository;
-        this.usuarioRepository = usuarioRepository;
     }
 
-    public void validarContaDoUsuarioLogado(String idConta, String userLogin) {
+    public SituacaoPropriedade verificarConta(String idConta, String userLogin) {
+        return SituacaoPropriedade.verificar(contaRepository.findLoginUsuarioById(idConta).orElse(null), userLogin);
+    }
 
-        Optional<Conta> contaOptional = contaRepository.findById(idConta);
+    public SituacaoPropriedade verificarCategoria(String idCategoria, String userLogin) {
+        return SituacaoPropriedade.verificar(categoriaRepository.findLoginUsuarioById(idCategoria).orElse(null), userLogin);
+    }
 
-        if (contaOptional.isPresent() ) {
-            Conta conta = contaOptional.get();
-            UserDetails usuarioLogado = usuarioRepository.findByLogin(userLogin);
-            if (usuarioLogado == null || !conta.getUsuario().getUsername().equals(usuarioLogado.getUsername())) {
-                throw new NegocioException("Conta não pertence ao usuário informado!");
-            }
-        } else {
-            throw new NegocioException("Conta não encontrada!");
-        }
+    public SituacaoPropriedade verificarLancamento(String idLancamento, String userLogin) {
+        return SituacaoPropriedade.verificar(lancamentoRepository.findLoginUsuarioById(idLancamento).orElse(null), userLogin);
+    }
+
+    public void validarContaDoUsuarioLogado(String idConta, String userLogin) {
+        validarConta(verificarConta(idConta, userLogin));
     }
 
     public void validarCategoriaDoUsuarioLogado(String idCategoria, String userLogin) {
+        validarCategoria(verificarCategoria(idCategoria, userLogin));
+    }
+
+    public void validarLancamentoDoUsuarioLogado(String idLancamento, String userLogin) {
+        validarLancamento(verificarLancamento(idLancamento, userLogin));
+    }
 
-        UserDetails usuarioLogado = usuarioRepository.findByLogin(userLogin);
-        Optional<Categoria> categoriaOptional = categoriaRepository.findById(idCategoria);
+    /**
+     * Valida, com uma única consulta, que a conta, a categoria e o lançamento (quando informado) pertencem ao usuário logado.
+     *
+     * @param idLancamento id do lançamento em alteração, ou null na criação de um novo lançamento
+     */
+    public void validarDadosLancamentoDoUsuarioLogado(String idConta, String idCategoria, String idLancamento, String userLogin) {
 
-        if (categoriaOptional.isPresent()) {
-            Categoria categoria = categoriaOptional.get();
-            if (!categoria.getUsuario().getUsername().equals(usuarioLogado.getUsername())) {
-                throw new NegocioException("Categoria não pertence ao usuário informado!");
-            }
-        } else {
-            throw new NegocioException("Categoria não encontrada!");
+        ProprietariosLancamentoDTO proprietarios = lancamentoRepository.findProprietariosLancamento(idConta, idCategoria, idLancamento);
+
+        validarConta(SituacaoPropriedade.verificar(proprietarios.getLoginConta(), userLogin));
+        validarCategoria(SituacaoPropriedade.verificar(proprietarios.getLoginCategoria(), userLogin));
+        if (idLancamento != null) {
+            validarLancamento(SituacaoPropriedade.verificar(proprietarios.getLoginLancamento(), userLogin));
         }
     }
 
-    public void validarLancamentoDoUsuarioLogado(String idLancamento, String userLogin) {
+    /**
+     * Valida, com uma consulta para as contas e outra para as categorias, que todas pertencem ao usuário logado.
+     */
+    public void validarContasECategoriasDoUsuarioLogado(Collection<String> idsConta, Collection<String> idsCategoria,
+                                                        String userLogin) {
+
+        Map<String, String> proprietariosContas = mapearProprietarios(contaRepository.findProprietariosByIdIn(idsConta));
+        idsConta.forEach(id -> validarConta(SituacaoPropriedade.verificar(proprietariosContas.get(id), userLogin)));
+
+        Map<String, String> proprietariosCategorias = mapearProprietarios(categoriaRepository.findProprietariosByIdIn(idsCategoria));
+        idsCategoria.forEach(id -> validarCategoria(SituacaoPropriedade.verificar(proprietariosCategorias.get(id), userLogin)));
+    }
+
+    private static Map<String, String> mapearProprietarios(List<ProprietarioDTO> proprietarios) {
+        return proprietarios.stream().collect(Collectors.toMap(ProprietarioDTO::getId, ProprietarioDTO::getLoginUsuario));
+    }
+
+    private void validarConta(SituacaoPropriedade situacao) {
+        switch (situacao) {
+            case NAO_ENCONTRADO -> throw new NegocioException("Conta não encontrada!");
+            case PERTENCE_A_OUTRO_USUARIO -> throw new NegocioException("Conta não pertence ao usuário informado!");
+            case PERTENCE_AO_USUARIO -> { }
+        }
+    }
 
-        UserDetails usuarioLogado = usuarioRepository.findByLogin(userLogin);
-        Optional<Lancamento> lancamentoOptional = lancamentoRepository.findById(idLancamento);
+    private void validarCategoria(SituacaoPropriedade situacao) {
+        switch (situacao) {
+            case NAO_ENCONTRADO -> throw new NegocioException("Categoria não encontrada!");
+            case PERTENCE_A_OUTRO_USUARIO -> throw new NegocioException("Categoria não pertence ao usuário informado!");
+            case PERTENCE_AO_USUARIO -> { }
+        }
+    }
 
-        if (lancamentoOptional.isPresent()) {
-            Lancamento lancamento = lancamentoOptional.get();
-            if (!lancamento.getConta().getUsuario().getUsername().equals(usuarioLogado.getUsername())) {
-                throw new NegocioException("Lançamento não pertence ao usuário informado!");
-            }
-        } else {
-            throw new NegocioException("Lançamento não encontrado!");
+    private void validarLancamento(SituacaoPropriedade situacao) {
+        switch (situacao) {
+            case NAO_ENCONTRADO -> throw new NegocioException("Lançamento não encontrado!");
+            case PERTENCE_A_OUTRO_USUARIO -> throw new NegocioException("Lançamento não pertence ao usuário informado!");
+            case PERTENCE_AO_USUARIO -> { }
         }
     }
 }
@@ -0,0 +1,61 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.repositories.UsuarioRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Controla a versão dos dados de cada usuário. A versão só aumenta e muda a cada escrita em contas, categorias ou
+ * lançamentos, então duas consultas com a mesma versão retornam os mesmos dados.
+ */
+@Service
+public class VersaoDadosService {
+
+    private static final String ATRIBUTO_VERSAO_LIDA = VersaoDadosService.class.getName() + ".versaoLida";
+
+    private final UsuarioRepository usuarioRepository;
+
+    public VersaoDadosService(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    public long obterVersao(String userLogin) {
+        return usuarioRepository.findVersaoDadosByLogin(userLogin).orElse(0L);
+    }
+
+    /**
+     * Guarda na requisição atual a versão usada na sua ETag, lida antes de qualquer consulta aos dados.
+     */
+    public void registrarVersaoLida(String userLogin, long versao) {
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null) {
+            requisicao.setAttribute(ATRIBUTO_VERSAO_LIDA, new VersaoLida(userLogin, versao), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Versão registrada no início da requisição atual ou, fora de uma requisição (ou de outro usuário), a versão atual.
+     * Em ambos os casos é lida antes da consulta feita em seguida, que retorna dados dessa versão ou de uma mais nova.
+     */
+    public long obterVersaoLida(String userLogin) {
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null && requisicao.getAttribute(ATRIBUTO_VERSAO_LIDA, RequestAttributes.SCOPE_REQUEST)
+                instanceof VersaoLida versaoLida && versaoLida.userLogin().equals(userLogin)) {
+            return versaoLida.versao();
+        }
+        return obterVersao(userLogin);
+    }
+
+    /**
+     * Incrementa a versão na transação da escrita: se ela for desfeita, o incremento também é.
+     */
+    @Transactional
+    public void registrarAlteracao(String userLogin) {
+        usuarioRepository.incrementarVersaoDados(userLogin);
+    }
+
+    private record VersaoLida(String userLogin, long versao) {
+    }
+}
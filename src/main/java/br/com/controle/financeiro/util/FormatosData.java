@@ -0,0 +1,23 @@
+package br.com.controle.financeiro.util;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formatos de data usados pela API. DateTimeFormatter é imutável e thread-safe, então as instâncias são
+ * compartilhadas em vez de recriadas a cada conversão.
+ */
+public final class FormatosData {
+
+    /**
+     * Datas dos lançamentos. Ex.: 03-05-2024
+     */
+    public static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    /**
+     * Competências no formato AAAAMM. Ex.: 202405
+     */
+    public static final DateTimeFormatter COMPETENCIA = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private FormatosData() {
+    }
+}
@@ -0,0 +1,41 @@
+-- Esquema criado até então pelo Hibernate (ddl-auto=create): ids em varchar e chaves estrangeiras com os nomes gerados
+-- pelo Hibernate. Bases existentes, criadas pelo Hibernate, são registradas nesta versão
+-- (spring.flyway.baseline-version=1) e recebem apenas as migrações seguintes.
+
+CREATE TABLE usuarios (
+    id       varchar(255) NOT NULL,
+    login    varchar(255),
+    password varchar(255),
+    role     varchar(255) CHECK (role IN ('ADMIN', 'USER')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE contas (
+    id         varchar(255) NOT NULL,
+    id_usuario varchar(255),
+    nome       varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE categorias (
+    id         varchar(255) NOT NULL,
+    id_usuario varchar(255),
+    nome       varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE lancamentos (
+    data         date,
+    pago         boolean,
+    valor        numeric(8, 2),
+    id           varchar(255) NOT NULL,
+    id_categoria varchar(255),
+    id_conta     varchar(255),
+    nome         varchar(255),
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE categorias ADD CONSTRAINT FKt48es0ao23iysw5gr2drn2jv2 FOREIGN KEY (id_usuario) REFERENCES usuarios;
+ALTER TABLE contas ADD CONSTRAINT FK2h8iaieux15c37wrrtqexb1bs FOREIGN KEY (id_usuario) REFERENCES usuarios;
+ALTER TABLE lancamentos ADD CONSTRAINT FK54199adt3cr2h1ndqg1jsmlel FOREIGN KEY (id_categoria) REFERENCES categorias;
+ALTER TABLE lancamentos ADD CONSTRAINT FKqeik2qvme46ts16b67r091eda FOREIGN KEY (id_conta) REFERENCES contas;
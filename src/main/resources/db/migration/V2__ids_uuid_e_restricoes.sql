@@ -0,0 +1,47 @@
+-- Converte os ids gravados como texto (varchar) para o tipo uuid nativo. Os ids existentes (UUIDs versão 4) mantêm o
+-- mesmo valor; os registros novos recebem UUIDs versão 7. As tabelas são reescritas e ficam bloqueadas até o fim da
+-- migração.
+
+-- As chaves estrangeiras geradas pelo Hibernate são removidas e recriadas com nomes próprios depois da conversão
+ALTER TABLE categorias DROP CONSTRAINT FKt48es0ao23iysw5gr2drn2jv2;
+ALTER TABLE contas DROP CONSTRAINT FK2h8iaieux15c37wrrtqexb1bs;
+ALTER TABLE lancamentos DROP CONSTRAINT FK54199adt3cr2h1ndqg1jsmlel;
+ALTER TABLE lancamentos DROP CONSTRAINT FKqeik2qvme46ts16b67r091eda;
+
+ALTER TABLE usuarios
+    ALTER COLUMN id TYPE uuid USING id::uuid;
+
+ALTER TABLE contas
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN id_usuario TYPE uuid USING id_usuario::uuid;
+
+ALTER TABLE categorias
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN id_usuario TYPE uuid USING id_usuario::uuid;
+
+ALTER TABLE lancamentos
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN id_conta TYPE uuid USING id_conta::uuid,
+    ALTER COLUMN id_categoria TYPE uuid USING id_categoria::uuid;
+
+ALTER TABLE contas
+    ADD CONSTRAINT fk_contas_usuario FOREIGN KEY (id_usuario) REFERENCES usuarios (id);
+ALTER TABLE categorias
+    ADD CONSTRAINT fk_categorias_usuario FOREIGN KEY (id_usuario) REFERENCES usuarios (id);
+ALTER TABLE lancamentos
+    ADD CONSTRAINT fk_lancamentos_conta FOREIGN KEY (id_conta) REFERENCES contas (id),
+    ADD CONSTRAINT fk_lancamentos_categoria FOREIGN KEY (id_categoria) REFERENCES categorias (id);
+
+-- Restrições e índices declarados nas entidades: nomes de conta e categoria únicos por usuário, e os lançamentos
+-- consultados por conta e data e por nome e data
+ALTER TABLE contas
+    ADD CONSTRAINT uk_contas_usuario_nome UNIQUE (id_usuario, nome);
+ALTER TABLE categorias
+    ADD CONSTRAINT uk_categorias_usuario_nome UNIQUE (id_usuario, nome);
+
+CREATE INDEX idx_lancamentos_conta_data ON lancamentos (id_conta, data);
+CREATE INDEX idx_lancamentos_nome_data ON lancamentos (nome, data);
+
+-- O campo é um boolean primitivo na entidade: lançamentos sem valor gravado são lidos como não pagos
+UPDATE lancamentos SET pago = false WHERE pago IS NULL;
+ALTER TABLE lancamentos ALTER COLUMN pago SET NOT NULL;
@@ -0,0 +1,56 @@
+-- Tabelas e colunas mantidas pela aplicação a partir desta versão. Os saldos e os totais são calculados aqui a partir
+-- dos lançamentos existentes; depois, cada alteração de lançamento aplica a sua diferença.
+
+-- Versão dos dados de cada usuário, incrementada a cada escrita e usada nas ETags das leituras
+ALTER TABLE usuarios ADD COLUMN versao_dados bigint NOT NULL DEFAULT 0;
+ALTER TABLE usuarios ALTER COLUMN versao_dados DROP DEFAULT;
+
+CREATE TABLE saldos_conta (
+    id_conta    uuid           NOT NULL,
+    valor_total numeric(14, 2),
+    valor_pago  numeric(14, 2),
+    CONSTRAINT saldos_conta_pkey PRIMARY KEY (id_conta)
+);
+
+INSERT INTO saldos_conta (id_conta, valor_total, valor_pago)
+SELECT id_conta, SUM(valor), SUM(CASE WHEN pago THEN valor ELSE 0 END)
+FROM lancamentos
+WHERE id_conta IS NOT NULL
+GROUP BY id_conta;
+
+CREATE TABLE totais_competencia (
+    id_usuario       uuid           NOT NULL,
+    id_conta         uuid           NOT NULL,
+    id_categoria     uuid           NOT NULL,
+    competencia      integer        NOT NULL,
+    quantidade       bigint         NOT NULL,
+    valor_total      numeric(14, 2),
+    quantidade_pagos bigint         NOT NULL,
+    valor_pago       numeric(14, 2),
+    CONSTRAINT totais_competencia_pkey PRIMARY KEY (id_usuario, id_conta, id_categoria, competencia)
+);
+
+INSERT INTO totais_competencia (id_usuario, id_conta, id_categoria, competencia, quantidade, valor_total, quantidade_pagos, valor_pago)
+SELECT c.id_usuario, l.id_conta, l.id_categoria,
+       CAST(EXTRACT(YEAR FROM l.data) * 100 + EXTRACT(MONTH FROM l.data) AS integer) AS competencia,
+       COUNT(*), SUM(l.valor), SUM(CASE WHEN l.pago THEN 1 ELSE 0 END), SUM(CASE WHEN l.pago THEN l.valor ELSE 0 END)
+FROM lancamentos l JOIN contas c ON c.id = l.id_conta
+WHERE c.id_usuario IS NOT NULL AND l.id_categoria IS NOT NULL AND l.data IS NOT NULL
+GROUP BY c.id_usuario, l.id_conta, l.id_categoria, competencia;
+
+-- Refresh tokens: cada login inicia uma sessão (família) e cada renovação troca o token por um novo da mesma família.
+-- O token substituído é mantido (substituido_em) apenas para detectar o seu reuso, que revoga a família.
+CREATE TABLE refresh_tokens (
+    id             uuid                        NOT NULL,
+    hash           varchar(64)                 NOT NULL,
+    id_usuario     uuid                        NOT NULL,
+    familia        uuid                        NOT NULL,
+    expira_em      timestamp(6) with time zone NOT NULL,
+    substituido_em timestamp(6) with time zone,
+    CONSTRAINT refresh_tokens_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (hash),
+    CONSTRAINT fk_refresh_tokens_usuario FOREIGN KEY (id_usuario) REFERENCES usuarios (id) ON DELETE CASCADE
+);
+
+-- Revogação e remoção dos tokens substituídos de uma família
+CREATE INDEX idx_refresh_tokens_familia ON refresh_tokens (familia);
@@ -0,0 +1,28 @@
+-- Índices das consultas dos repositórios. Até aqui só existiam as chaves primárias, as restrições únicas e os dois
+-- índices de lancamentos criados em V2; os demais acessos por usuário liam as tabelas inteiras.
+-- IF NOT EXISTS: bases antigas podem já ter algum destes índices criado manualmente.
+
+-- Login: autenticação, refresh e todas as consultas por c.usuario.login partem deste índice. Único para que dois
+-- cadastros simultâneos com o mesmo login não passem ambos pela verificação feita na aplicação.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_usuarios_login ON usuarios (login);
+
+-- Contas do usuário (listagens, saldos, junções dos lançamentos e totais) e exclusão de usuário (chave estrangeira).
+-- As categorias já são cobertas por uk_categorias_usuario_nome, que começa por id_usuario.
+CREATE INDEX IF NOT EXISTS idx_contas_usuario ON contas (id_usuario);
+
+-- Exclusão de categoria (chave estrangeira) e carga da coleção Categoria.lancamentos. Filtros por id_conta e data
+-- usam idx_lancamentos_conta_data: toda consulta por período é restrita às contas do usuário.
+CREATE INDEX IF NOT EXISTS idx_lancamentos_categoria ON lancamentos (id_categoria);
+
+-- Resumo mensal: totais do usuário numa competência, sem percorrer as contas e categorias da chave primária.
+CREATE INDEX IF NOT EXISTS idx_totais_competencia_usuario_competencia ON totais_competencia (id_usuario, competencia);
+
+-- Exclusão de usuário (ON DELETE CASCADE) e limpeza diária dos tokens expirados.
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_usuario ON refresh_tokens (id_usuario);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expira_em ON refresh_tokens (expira_em);
+
+ANALYZE usuarios;
+ANALYZE contas;
+ANALYZE lancamentos;
+ANALYZE totais_competencia;
+ANALYZE refresh_tokens;
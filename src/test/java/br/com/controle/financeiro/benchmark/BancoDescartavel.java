@@ -0,0 +1,47 @@
+package br.com.controle.financeiro.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Postgres embarcado e descartável para os benchmarks e testes de carga, que assim não gravam dados no banco de
+ * desenvolvimento configurado em application.properties. O schema é criado pelas migrações do Flyway na inicialização
+ * da aplicação e tudo é apagado ao fechar.
+ */
+class BancoDescartavel implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+
+    private BancoDescartavel(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    static BancoDescartavel iniciar() {
+        try {
+            return new BancoDescartavel(EmbeddedPostgres.start());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível iniciar o Postgres embarcado", e);
+        }
+    }
+
+    /**
+     * Argumentos de linha de comando que apontam a aplicação para este banco.
+     */
+    String[] argumentosConexao() {
+        return new String[]{
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password="};
+    }
+
+    @Override
+    public void close() {
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
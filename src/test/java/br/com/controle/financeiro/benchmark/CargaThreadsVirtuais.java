@@ -0,0 +1,162 @@
+package br.com.controle.financeiro.benchmark;
+
+import br.com.controle.financeiro.ControleFinanceiroApiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Teste de carga que compara a vazão das leituras com o pool fixo de threads do Tomcat e com threads virtuais
+ * (app.threads.virtual.enabled). Para cada modo a aplicação é iniciada em uma porta aleatória, com um Postgres
+ * embarcado próprio (BancoDescartavel), e recebe requisições autenticadas de GET /api/lancamentos.
+ * <p>
+ * Parâmetros (propriedades de sistema): carga.requisicoes (padrão 20000), carga.concorrencia (padrão 1000) e
+ * carga.tomcat.threads (padrão 200, o tamanho padrão do pool do Tomcat).
+ */
+public class CargaThreadsVirtuais {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+
+        int requisicoes = Integer.getInteger("carga.requisicoes", 20_000);
+        int concorrencia = Integer.getInteger("carga.concorrencia", 1_000);
+        int threadsTomcat = Integer.getInteger("carga.tomcat.threads", 200);
+
+        List<String> resultados = new ArrayList<>();
+        for (boolean threadsVirtuais : new boolean[]{false, true}) {
+            try (BancoDescartavel banco = BancoDescartavel.iniciar();
+                 ConfigurableApplicationContext contexto = iniciarAplicacao(banco, threadsVirtuais, threadsTomcat)) {
+                int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+                Resultado resultado = executarCarga("http://localhost:" + porta, requisicoes, concorrencia);
+                resultados.add(String.format("%-10s %,12.1f req/s   p50 %,6d ms   p99 %,6d ms   erros %d",
+                        threadsVirtuais ? "virtuais" : "fixas(" + threadsTomcat + ")", resultado.vazao(),
+                        resultado.p50(), resultado.p99(), resultado.erros()));
+            }
+        }
+
+        System.out.printf("%nGET /api/lancamentos: %,d requisições, %,d simultâneas%n", requisicoes, concorrencia);
+        resultados.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext iniciarAplicacao(BancoDescartavel banco, boolean threadsVirtuais,
+                                                                   int threadsTomcat) {
+        // Argumentos de linha de comando têm precedência sobre o application.properties
+        List<String> argumentos = new ArrayList<>(List.of(banco.argumentosConexao()));
+        argumentos.addAll(List.of("--server.port=0",
+                "--management.server.port=0",
+                "--server.tomcat.threads.max=" + threadsTomcat,
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=20000",
+                "--app.threads.virtual.enabled=" + threadsVirtuais,
+                "--app.agendamentos.habilitado=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        return new SpringApplicationBuilder(ControleFinanceiroApiApplication.class).run(argumentos.toArray(String[]::new));
+    }
+
+    private static Resultado executarCarga(String urlBase, int requisicoes, int concorrencia) throws Exception {
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        String token = prepararDados(cliente, urlBase);
+        HttpRequest leitura = HttpRequest.newBuilder(URI.create(urlBase + "/api/lancamentos"))
+                .header("Authorization", "Bearer " + token).GET().build();
+
+        // Aquecimento
+        for (int i = 0; i < 200; i++) {
+            cliente.send(leitura, HttpResponse.BodyHandlers.discarding());
+        }
+
+        List<Long> tempos = Collections.synchronizedList(new ArrayList<>(requisicoes));
+        AtomicInteger erros = new AtomicInteger();
+        Semaphore emAndamento = new Semaphore(concorrencia);
+
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> envios = new ArrayList<>(requisicoes);
+            for (int i = 0; i < requisicoes; i++) {
+                emAndamento.acquire();
+                envios.add(executor.submit(() -> {
+                    long inicioRequisicao = System.nanoTime();
+                    try {
+                        HttpResponse<Void> resposta = cliente.send(leitura, HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() != 200) {
+                            erros.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        erros.incrementAndGet();
+                    } finally {
+                        tempos.add((System.nanoTime() - inicioRequisicao) / 1_000_000);
+                        emAndamento.release();
+                    }
+                }));
+            }
+            for (Future<?> envio : envios) {
+                envio.get();
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        List<Long> ordenados = new ArrayList<>(tempos);
+        Collections.sort(ordenados);
+        return new Resultado(requisicoes / segundos, percentil(ordenados, 0.50), percentil(ordenados, 0.99), erros.get());
+    }
+
+    private static String prepararDados(HttpClient cliente, String urlBase) throws Exception {
+
+        enviar(cliente, urlBase + "/auth/register", null, "{\"login\":\"carga\",\"password\":\"carga\",\"role\":\"ADMIN\"}");
+        String token = enviar(cliente, urlBase + "/auth/login", null, "{\"login\":\"carga\",\"password\":\"carga\"}")
+                .get("token").asText();
+
+        String idConta = enviar(cliente, urlBase + "/api/contas", token, "{\"nome\":\"Conta Carga\"}").get("id").asText();
+        String idCategoria = enviar(cliente, urlBase + "/api/categorias", token, "{\"nome\":\"Categoria Carga\"}")
+                .get("id").asText();
+
+        StringBuilder lote = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            lote.append(i == 0 ? "" : ",").append(String.format(
+                    "{\"nome\":\"Lançamento %d\",\"idConta\":\"%s\",\"idCategoria\":\"%s\",\"data\":\"%02d-04-2024\",\"valor\":%d,\"pago\":%b}",
+                    i, idConta, idCategoria, i % 28 + 1, i + 1, i % 2 == 0));
+        }
+        enviar(cliente, urlBase + "/api/lancamentos/lote", token, lote.append("]").toString());
+        return token;
+    }
+
+    private static JsonNode enviar(HttpClient cliente, String url, String token, String corpo) throws Exception {
+
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo));
+        if (token != null) {
+            requisicao.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> resposta = cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() >= 300) {
+            throw new IllegalStateException(url + " retornou " + resposta.statusCode() + ": " + resposta.body());
+        }
+        return resposta.body().isBlank() ? OBJECT_MAPPER.nullNode() : OBJECT_MAPPER.readTree(resposta.body());
+    }
+
+    private static long percentil(List<Long> ordenados, double percentil) {
+        return ordenados.isEmpty() ? 0 : ordenados.get((int) Math.min(ordenados.size() - 1, ordenados.size() * percentil));
+    }
+
+    private record Resultado(double vazao, long p50, long p99, int erros) {
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.controle.financeiro.benchmark;
+
+import br.com.controle.financeiro.infra.persistencia.UuidV7;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara os formatos de id numa tabela com o mesmo layout de lancamentos: o anterior (UUID v4 em varchar), UUID v4
+ * no tipo uuid e UUID v7 no tipo uuid. Mede a inserção de lotes de 1.000 linhas (desfeita a cada operação, para
+ * manter o tamanho da tabela) e a leitura paginada por chave (id > ? ORDER BY id LIMIT 1000).
+ * <p>
+ * As tabelas bench_ids_* são criadas no banco de application.properties na primeira execução e reaproveitadas nas
+ * seguintes. Para a tabela de 10 milhões de linhas:
+ * mvn -Pbenchmark verify -Djmh.incluir=IdentificadorBenchmark -Djmh.quantidades=10000000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdentificadorBenchmark {
+
+    private static final int TAMANHO_LOTE = 1000;
+
+    @Param({"10000000"})
+    private int quantidadeLancamentos;
+
+    @Param({"VARCHAR_V4", "UUID_V4", "UUID_V7"})
+    private FormatoId formatoId;
+
+    private Connection conexao;
+
+    private String tabela;
+
+    private PreparedStatement insercao;
+
+    private PreparedStatement leituraPaginada;
+
+    public enum FormatoId {
+
+        VARCHAR_V4("varchar(255)", "gen_random_uuid()::text"),
+        UUID_V4("uuid", "gen_random_uuid()"),
+        // Instante crescente por linha nos 48 bits iniciais e a versão ajustada de 4 para 7
+        UUID_V7("uuid", "CAST(encode(set_bit(set_bit(overlay(uuid_send(gen_random_uuid()) "
+                + "PLACING substring(int8send(1700000000000 + n) FROM 3) FROM 1 FOR 6), 52, 1), 53, 1), 'hex') AS uuid)");
+
+        private final String tipoColuna;
+
+        private final String expressaoCarga;
+
+        FormatoId(String tipoColuna, String expressaoCarga) {
+            this.tipoColuna = tipoColuna;
+            this.expressaoCarga = expressaoCarga;
+        }
+
+        Object novoId() {
+            return switch (this) {
+                case VARCHAR_V4 -> UUID.randomUUID().toString();
+                case UUID_V4 -> UUID.randomUUID();
+                case UUID_V7 -> UuidV7.gerar();
+            };
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException, SQLException {
+
+        Properties propriedades = PropertiesLoaderUtils.loadAllProperties("application.properties");
+        conexao = DriverManager.getConnection(propriedades.getProperty("spring.datasource.url"),
+                propriedades.getProperty("spring.datasource.username"), propriedades.getProperty("spring.datasource.password"));
+        tabela = "bench_ids_" + formatoId.name().toLowerCase() + "_" + quantidadeLancamentos;
+
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + tabela + " (id " + formatoId.tipoColuna + " PRIMARY KEY, "
+                    + "nome varchar(255), id_conta " + formatoId.tipoColuna + ", id_categoria " + formatoId.tipoColuna + ", "
+                    + "data date, valor numeric(38, 2), pago boolean)");
+            try (ResultSet resultado = statement.executeQuery("SELECT count(*) FROM " + tabela)) {
+                resultado.next();
+                if (resultado.getLong(1) != quantidadeLancamentos) {
+                    // Inserção em lotes pela chave primária, como a aplicação faz: o índice cresce na ordem dos ids
+                    statement.execute("TRUNCATE " + tabela);
+                    for (int inicio = 1; inicio <= quantidadeLancamentos; inicio += 1_000_000) {
+                        statement.execute("INSERT INTO " + tabela + " SELECT " + formatoId.expressaoCarga + ", "
+                                + "'Lançamento ' || n, NULL, NULL, DATE '2020-01-01' + (n % 1461), (n % 1000) + 1, n % 2 = 0 "
+                                + "FROM generate_series(" + inicio + ", " + Math.min(inicio + 999_999, quantidadeLancamentos) + ") n");
+                    }
+                }
+            }
+            statement.execute("VACUUM ANALYZE " + tabela);
+            try (ResultSet resultado = statement.executeQuery("SELECT pg_size_pretty(pg_relation_size('" + tabela + "_pkey'))")) {
+                resultado.next();
+                System.out.println("Tamanho do índice da chave primária de " + tabela + ": " + resultado.getString(1));
+            }
+        }
+
+        conexao.setAutoCommit(false);
+        insercao = conexao.prepareStatement("INSERT INTO " + tabela + " (id, nome, data, valor, pago) "
+                + "VALUES (?, 'Benchmark', CURRENT_DATE, 10, false)");
+        leituraPaginada = conexao.prepareStatement("SELECT id, valor FROM " + tabela + " WHERE id > ? ORDER BY id LIMIT "
+                + TAMANHO_LOTE);
+    }
+
+    // As linhas inseridas e desfeitas deixam entradas mortas no índice: sem o VACUUM, o índice incharia a cada iteração
+    @TearDown(Level.Iteration)
+    public void removerLinhasDesfeitas() throws SQLException {
+        conexao.setAutoCommit(true);
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute("VACUUM " + tabela);
+        }
+        conexao.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws SQLException {
+        conexao.close();
+    }
+
+    @Benchmark
+    public void inserirLote() throws SQLException {
+        try {
+            for (int i = 0; i < TAMANHO_LOTE; i++) {
+                insercao.setObject(1, formatoId.novoId());
+                insercao.addBatch();
+            }
+            insercao.executeBatch();
+        } finally {
+            conexao.rollback();
+        }
+    }
+
+    @Benchmark
+    public void lerPaginaPorChave(Blackhole blackhole) throws SQLException {
+        // Página a partir de um ponto aleatório do índice, como na navegação por cursor
+        leituraPaginada.setObject(1, formatoId == FormatoId.VARCHAR_V4
+                ? pontoAleatorio().toString()
+                : pontoAleatorio());
+        try (ResultSet resultado = leituraPaginada.executeQuery()) {
+            while (resultado.next()) {
+                blackhole.consume(resultado.getObject(1));
+                blackhole.consume(resultado.getBigDecimal(2));
+            }
+        }
+        conexao.commit();
+    }
+
+    private UUID pontoAleatorio() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        if (formatoId == FormatoId.UUID_V7) {
+            // Ponto entre o primeiro e o último instante gerados na carga
+            long instante = 1_700_000_000_000L + aleatorio.nextLong(quantidadeLancamentos);
+            return new UUID(instante << 16 | 0x7000L, 0x8000000000000000L);
+        }
+        return new UUID(aleatorio.nextLong(), aleatorio.nextLong());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IdentificadorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
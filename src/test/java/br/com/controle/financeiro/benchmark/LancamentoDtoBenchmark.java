@@ -0,0 +1,100 @@
+package br.com.controle.financeiro.benchmark;
+
+import br.com.controle.financeiro.controllers.dto.LancamentoCompletoResponseDTO;
+import br.com.controle.financeiro.controllers.dto.LancamentoRequestDTO;
+import br.com.controle.financeiro.controllers.dto.LancamentoResponseDTO;
+import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o mapeamento das listagens de lançamentos para os DTOs de resposta (1 mil, 100 mil e 1 milhão de lançamentos
+ * por usuário) e a conversão da data recebida no cadastro (LancamentoRequestDTO.parseDate).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LancamentoDtoBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Lancamentos {
+
+        @Param({"1000", "100000", "1000000"})
+        private int quantidadeLancamentos;
+
+        private List<Lancamento> lancamentos;
+
+        private List<LancamentoCompletoDTO> lancamentosCompletos;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+
+            Conta conta = Conta.builder().id(UUID.randomUUID().toString()).nome("Conta Corrente").build();
+            Categoria categoria = Categoria.builder().id(UUID.randomUUID().toString()).nome("Alimentação").build();
+            LocalDate dataInicial = LocalDate.of(2020, 1, 1);
+
+            lancamentos = new ArrayList<>(quantidadeLancamentos);
+            lancamentosCompletos = new ArrayList<>(quantidadeLancamentos);
+            for (int i = 0; i < quantidadeLancamentos; i++) {
+                String id = UUID.randomUUID().toString();
+                String nome = "Lançamento " + i;
+                LocalDate data = dataInicial.plusDays(i % 1461);
+                BigDecimal valor = BigDecimal.valueOf(i % 100_000, 2);
+                boolean pago = i % 2 == 0;
+
+                lancamentos.add(Lancamento.builder().id(id).nome(nome).conta(conta).categoria(categoria).data(data)
+                        .valor(valor).pago(pago).build());
+                lancamentosCompletos.add(new LancamentoCompletoDTO(id, nome, conta.getNome(), categoria.getNome(), data,
+                        valor, pago));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requisicao {
+
+        private LancamentoRequestDTO lancamentoRequestDTO;
+
+        @Setup
+        public void preparar() {
+            lancamentoRequestDTO = new LancamentoRequestDTO(null, "Pizza", "id_conta", "id_categoria", "25-12-2024",
+                    BigDecimal.TEN, false);
+        }
+    }
+
+    @Benchmark
+    public List<LancamentoResponseDTO> mapearLancamentoResponseDTO(Lancamentos estado) {
+        return estado.lancamentos.stream().map(LancamentoResponseDTO::new).toList();
+    }
+
+    @Benchmark
+    public List<LancamentoCompletoResponseDTO> mapearLancamentoCompletoResponseDTO(Lancamentos estado) {
+        return estado.lancamentosCompletos.stream().map(LancamentoCompletoResponseDTO::new).toList();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public LocalDate parseDate(Requisicao estado) {
+        return estado.lancamentoRequestDTO.parseDate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LancamentoDtoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.controle.financeiro.benchmark;
+
+import br.com.controle.financeiro.ControleFinanceiroApiApplication;
+import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.repositories.CategoriaRepository;
+import br.com.controle.financeiro.repositories.ContaRepository;
+import br.com.controle.financeiro.repositories.LancamentoRepository;
+import br.com.controle.financeiro.repositories.UsuarioRepository;
+import br.com.controle.financeiro.services.LancamentoService;
+import br.com.controle.financeiro.services.exception.NegocioException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a validação de lançamento com mesmo nome e data (LancamentoService.validarLancamentoComMesmoNomeData) contra
+ * um Postgres embarcado criado a cada trial (BancoDescartavel), com um usuário de 1 mil, 100 mil e 1 milhão de
+ * lançamentos. Nada é gravado no banco configurado em application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LancamentoServiceBenchmark {
+
+    private static final String LOGIN = "benchmark@teste.com";
+
+    private static final LocalDate DATA_INICIAL = LocalDate.of(2020, 1, 1);
+
+    @Param({"1000", "100000", "1000000"})
+    private int quantidadeLancamentos;
+
+    private BancoDescartavel banco;
+
+    private ConfigurableApplicationContext contexto;
+
+    private LancamentoServiceMedido lancamentoService;
+
+    private String nomeExistente;
+
+    private LocalDate dataExistente;
+
+    private String idLancamentoExistente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+
+        banco = BancoDescartavel.iniciar();
+        List<String> argumentos = new ArrayList<>(List.of(banco.argumentosConexao()));
+        argumentos.addAll(List.of("--server.port=0",
+                "--management.server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--app.agendamentos.habilitado=false",
+                "--logging.level.root=WARN"));
+        contexto = new SpringApplicationBuilder(ControleFinanceiroApiApplication.class)
+                .run(argumentos.toArray(String[]::new));
+
+        Usuario usuario = contexto.getBean(UsuarioRepository.class)
+                .save(Usuario.builder().login(LOGIN).password("123456").role(UserRole.ADMIN).build());
+        Conta conta = contexto.getBean(ContaRepository.class).save(Conta.builder().nome("Conta").usuario(usuario).build());
+        Categoria categoria = contexto.getBean(CategoriaRepository.class)
+                .save(Categoria.builder().nome("Categoria").usuario(usuario).build());
+
+        // Gerados no próprio banco: inserir 1 milhão de lançamentos pela aplicação levaria minutos
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO lancamentos (id, nome, id_conta, id_categoria, data, valor, pago) "
+                + "SELECT gen_random_uuid(), 'Lançamento ' || n, ?, ?, DATE '2020-01-01' + (n % 1461), (n % 1000) + 1, n % 2 = 0 "
+                + "FROM generate_series(1, ?) n", UUID.fromString(conta.getId()), UUID.fromString(categoria.getId()),
+                quantidadeLancamentos);
+        jdbcTemplate.execute("ANALYZE lancamentos");
+
+        int meio = quantidadeLancamentos / 2;
+        nomeExistente = "Lançamento " + meio;
+        dataExistente = DATA_INICIAL.plusDays(meio % 1461);
+        idLancamentoExistente = jdbcTemplate.queryForObject("SELECT CAST(id AS varchar) FROM lancamentos WHERE nome = ?", String.class,
+                nomeExistente);
+
+        lancamentoService = new LancamentoServiceMedido(contexto.getBean(LancamentoRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        BancoDescartavel bancoDescartavel = banco;
+        try (bancoDescartavel) {
+            contexto.close();
+        }
+    }
+
+    @Benchmark
+    public boolean validarNovoLancamentoSemDuplicidade() {
+        return lancamentoService.possuiMesmoNomeData(null, "Lançamento inexistente", dataExistente);
+    }
+
+    @Benchmark
+    public boolean validarNovoLancamentoDuplicado() {
+        return lancamentoService.possuiMesmoNomeData(null, nomeExistente, dataExistente);
+    }
+
+    @Benchmark
+    public boolean validarAlteracaoDoProprioLancamento() {
+        return lancamentoService.possuiMesmoNomeData(idLancamentoExistente, nomeExistente, dataExistente);
+    }
+
+    /**
+     * Expõe a validação (protected) do serviço. Apenas o repositório é usado por ela.
+     */
+    private static class LancamentoServiceMedido extends LancamentoService {
+
+        LancamentoServiceMedido(LancamentoRepository lancamentoRepository) {
+            super(lancamentoRepository, null, null, null, null, null);
+        }
+
+        boolean possuiMesmoNomeData(String idLancamento, String nome, LocalDate data) {
+            try {
+                validarLancamentoComMesmoNomeData(idLancamento, nome, data, LOGIN);
+                return false;
+            } catch (NegocioException e) {
+                return true;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LancamentoServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
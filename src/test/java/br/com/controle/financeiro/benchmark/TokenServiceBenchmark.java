@@ -0,0 +1,88 @@
+package br.com.controle.financeiro.benchmark;
+
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.infra.security.TokenService;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a validação/geração de tokens antes (Algorithm e JWTVerifier criados a cada chamada)
+ * e depois (instâncias reaproveitadas, com e sem o cache de tokens verificados).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "segredo-benchmark";
+
+    private TokenService tokenServiceComCache;
+
+    private TokenService tokenServiceSemCache;
+
+    private Usuario usuario;
+
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokenServiceComCache = new TokenService(SECRET, 10_000, Duration.ofMinutes(10));
+        tokenServiceSemCache = new TokenService(SECRET, 0, Duration.ofMinutes(10));
+        usuario = new Usuario("joao@teste.com", "senha", UserRole.ADMIN);
+        token = tokenServiceSemCache.generateToken(usuario);
+    }
+
+    @Benchmark
+    public String validarTokenImplementacaoAnterior() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer("auth-api")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String validarTokenVerificadorReaproveitado() {
+        return tokenServiceSemCache.validateToken(token);
+    }
+
+    @Benchmark
+    public String validarTokenComCache() {
+        return tokenServiceComCache.validateToken(token);
+    }
+
+    @Benchmark
+    public String gerarTokenImplementacaoAnterior() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.create()
+                .withIssuer("auth-api")
+                .withSubject(usuario.getLogin())
+                .withExpiresAt(Instant.now().plusSeconds(7200))
+                .withArrayClaim("scope", new String[]{"ROLE_ADMIN ROLE_USER"})
+                .sign(algorithm);
+    }
+
+    @Benchmark
+    public String gerarTokenAlgoritmoReaproveitado() {
+        return tokenServiceSemCache.generateToken(usuario);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
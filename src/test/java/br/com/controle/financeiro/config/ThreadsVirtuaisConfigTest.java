@@ -0,0 +1,51 @@
+package br.com.controle.financeiro.config;
+
+import br.com.controle.financeiro.infra.datasource.BulkheadDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
+
+@SpringBootTest(properties = "app.threads.virtual.enabled=true")
+class ThreadsVirtuaisConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void deveLimitarDataSourceAoTamanhoDoPool() throws SQLException {
+
+        // Act
+        BulkheadDataSource bulkhead = Assertions.assertInstanceOf(BulkheadDataSource.class, dataSource);
+        try (Connection conexao = dataSource.getConnection()) {
+
+            // Assert
+            Assertions.assertTrue(conexao.isValid(1));
+            Assertions.assertEquals(bulkhead.getTotalPermissoes() - 1, bulkhead.getPermissoesDisponiveis());
+        }
+        Assertions.assertEquals(10, bulkhead.getTotalPermissoes());
+        Assertions.assertEquals(10, bulkhead.getPermissoesDisponiveis());
+    }
+
+    @Test
+    void deveExecutarTarefasAssincronasEmThreadsVirtuais() throws ExecutionException, InterruptedException {
+
+        // Act
+        boolean threadVirtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get();
+
+        // Assert
+        Assertions.assertTrue(threadVirtual);
+    }
+}
@@ -4,6 +4,8 @@ import br.com.controle.financeiro.controllers.config.ControllerUserTestConfig;
 import br.com.controle.financeiro.controllers.config.CustomUserDetailsService;
 import br.com.controle.financeiro.controllers.dto.ContaRequestDTO;
 import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.domain.SaldoConta;
+import br.com.controle.financeiro.repositories.dto.ContaSaldoDTO;
 import br.com.controle.financeiro.services.ContaService;
 import br.com.controle.financeiro.services.exception.NegocioException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,6 +24,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -44,9 +47,9 @@ class ContaControllerTest {
     public void deveObterTodasAsContas() throws Exception {
 
         // Arrange
-        Conta contaConjunta = Conta.builder().id("1234").nome("Conta Conjunta").build();
-        Conta cartaoCredito = Conta.builder().id("5678").nome("Cartão de Crédito").build();
-        Mockito.when(contaService.obterTodasContas("usuarioTeste"))
+        ContaSaldoDTO contaConjunta = new ContaSaldoDTO("1234", "Conta Conjunta", new BigDecimal("150.00"), new BigDecimal("100.00"));
+        ContaSaldoDTO cartaoCredito = new ContaSaldoDTO("5678", "Cartão de Crédito", null, null);
+        Mockito.when(contaService.obterTodasContasComSaldo("usuarioTeste"))
                 .thenReturn(List.of(contaConjunta, cartaoCredito));
 
 
@@ -60,8 +63,33 @@ class ContaControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$").isArray()) // Verifica se o retorno é uma lista
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("1234"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].nome").value("Conta Conjunta"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].saldo.valorPago").value(100.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].saldo.valorPendente").value(50.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].saldo.valorTotal").value(150.00))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value("5678"))
-                .andExpect(MockMvcResultMatchers.jsonPath("$[1].nome").value("Cartão de Crédito"));
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].nome").value("Cartão de Crédito"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].saldo.valorTotal").value(0));
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveObterSaldoDaConta() throws Exception {
+
+        // Arrange
+        String idConta = "1234";
+        Mockito.when(contaService.obterSaldoConta(idConta, "usuarioTeste"))
+                .thenReturn(new SaldoConta(idConta, new BigDecimal("300.50"), new BigDecimal("200.50")));
+
+        mockMvc.perform(
+                        // Act
+                        get("/api/contas/" + idConta + "/saldo")
+                                .header("Authorization", "Bearer " + "fake-token-jwt")
+                                .contentType(MediaType.APPLICATION_JSON))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.valorPago").value(200.50))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.valorPendente").value(100.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.valorTotal").value(300.50));
     }
 
     @Test
@@ -0,0 +1,94 @@
+package br.com.controle.financeiro.controllers;
+
+import br.com.controle.financeiro.controllers.config.ControllerUserTestConfig;
+import br.com.controle.financeiro.controllers.config.CustomUserDetailsService;
+import br.com.controle.financeiro.services.FormatoExtrato;
+import br.com.controle.financeiro.services.ImportacaoExtratoService;
+import br.com.controle.financeiro.services.ResultadoImportacao;
+import br.com.controle.financeiro.services.exception.NegocioException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@WebMvcTest(ImportacaoExtratoController.class)
+@Import(ImportacaoExtratoController.class)
+@ContextConfiguration(classes = {GlobalExceptionHandler.class, NegocioException.class, ControllerUserTestConfig.class, CustomUserDetailsService.class})
+class ImportacaoExtratoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImportacaoExtratoService importacaoExtratoService;
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveImportarExtratoOfxRespeitandoOCharset() throws Exception {
+
+        // Arrange
+        ArgumentCaptor<Reader> extrato = ArgumentCaptor.forClass(Reader.class);
+        Mockito.when(importacaoExtratoService.importar(extrato.capture(), Mockito.eq(FormatoExtrato.OFX),
+                        Mockito.eq("id_conta"), Mockito.eq("id_categoria"), Mockito.eq("usuarioTeste")))
+                .thenAnswer(invocation -> {
+                    // O corpo é lido durante a chamada ao serviço
+                    Assertions.assertEquals("<NAME>Padaria São João", new BufferedReader(extrato.getValue()).readLine());
+                    return new ResultadoImportacao(3, 2, 1, 1,
+                            List.of(new ResultadoImportacao.ErroLinha(7, "Valor inválido: abc")));
+                });
+
+        mockMvc.perform(
+                        // Act
+                        post("/api/lancamentos/importacao")
+                                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                                .header("Authorization", "Bearer " + "fake-token-jwt")
+                                .param("idConta", "id_conta")
+                                .param("idCategoria", "id_categoria")
+                                .contentType("application/x-ofx; charset=ISO-8859-1")
+                                .content("<NAME>Padaria São João".getBytes(StandardCharsets.ISO_8859_1))
+                )
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.linhasLidas").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importados").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejeitados").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.erros[0].linha").value(7))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.erros[0].mensagem").value("Valor inválido: abc"));
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void naoDeveImportarExtratoEmFormatoNaoSuportado() throws Exception {
+
+        mockMvc.perform(
+                        // Act
+                        post("/api/lancamentos/importacao")
+                                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                                .header("Authorization", "Bearer " + "fake-token-jwt")
+                                .param("idConta", "id_conta")
+                                .param("idCategoria", "id_categoria")
+                                .contentType("application/pdf")
+                                .content(new byte[]{1, 2, 3})
+                )
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isUnsupportedMediaType());
+
+        Mockito.verifyNoInteractions(importacaoExtratoService);
+    }
+}
@@ -7,7 +7,11 @@ import br.com.controle.financeiro.domain.Categoria;
 import br.com.controle.financeiro.domain.Conta;
 import br.com.controle.financeiro.domain.Lancamento;
 import br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO;
+import br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO;
 import br.com.controle.financeiro.services.LancamentoService;
+import br.com.controle.financeiro.services.PaginaLancamentos;
+import br.com.controle.financeiro.services.PeriodoCompetencias;
+import br.com.controle.financeiro.services.ResumoCompetencia;
 import br.com.controle.financeiro.services.exception.NegocioException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.Matchers;
@@ -18,16 +22,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -49,23 +60,23 @@ class LancamentoControllerTest {
     public void deveObterTodosLancamentos() throws Exception {
 
         // Arrange
-        Lancamento lancamentoPizza = Lancamento.builder()
+        LancamentoResumoDTO lancamentoPizza = LancamentoResumoDTO.builder()
                 .id("123")
                 .nome("Pizza")
                 .valor(BigDecimal.TEN)
                 .data(LocalDate.of(2024, 5, 15))
                 .pago(false)
-                .conta(Conta.builder().id("111").nome("Conta Conjunta").build())
-                .categoria(Categoria.builder().id("222").nome("Alimentação").build())
+                .idConta("111")
+                .idCategoria("222")
                 .build();
-        Lancamento lancamentoTaxi = Lancamento.builder()
+        LancamentoResumoDTO lancamentoTaxi = LancamentoResumoDTO.builder()
                 .id("456")
                 .nome("Taxi")
                 .valor(BigDecimal.valueOf(250.12))
                 .data(LocalDate.of(2024, 10, 20))
                 .pago(true)
-                .conta(Conta.builder().id("111").nome("Conta Conjunta").build())
-                .categoria(Categoria.builder().id("333").nome("Transporte").build())
+                .idConta("111")
+                .idCategoria("333")
                 .build();
         Mockito.when(lancamentoService.obterTodosLancamentos("usuarioTeste"))
                 .thenReturn(List.of(lancamentoPizza, lancamentoTaxi));
@@ -98,6 +109,178 @@ class LancamentoControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].idCategoria").value("333"));
     }
 
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveExportarLancamentosCompletosEmNdjson() throws Exception {
+
+        // Arrange
+        LancamentoCompletoDTO lancamentoPizza = LancamentoCompletoDTO.builder()
+                .id("123").nome("Pizza").nomeConta("Conta Conjunta").nomeCategoria("Alimentação")
+                .valor(BigDecimal.TEN).data(LocalDate.of(2024, 5, 15)).pago(false)
+                .build();
+        LancamentoCompletoDTO lancamentoTaxi = LancamentoCompletoDTO.builder()
+                .id("456").nome("Taxi").nomeConta("Conta Conjunta").nomeCategoria("Transporte")
+                .valor(BigDecimal.valueOf(250.12)).data(LocalDate.of(2024, 10, 20)).pago(true)
+                .build();
+        Mockito.doAnswer(invocation -> {
+            Consumer<LancamentoCompletoDTO> consumidor = invocation.getArgument(1);
+            consumidor.accept(lancamentoPizza);
+            consumidor.accept(lancamentoTaxi);
+            return null;
+        }).when(lancamentoService).exportarLancamentosCompletos(Mockito.eq("usuarioTeste"), Mockito.any());
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/lancamentos/completos/stream")
+                        .header("Authorization", "Bearer " + "fake-token-jwt"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(LancamentoController.MEDIA_TYPE_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> linhas = corpo.lines().toList();
+        Assertions.assertEquals(2, linhas.size());
+        Assertions.assertEquals("Pizza", objectMapper.readTree(linhas.get(0)).get("nome").asText());
+        Assertions.assertEquals("15-05-2024", objectMapper.readTree(linhas.get(0)).get("data").asText());
+        Assertions.assertEquals("Taxi", objectMapper.readTree(linhas.get(1)).get("nome").asText());
+        Assertions.assertTrue(corpo.endsWith("\n"));
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveExportarLancamentosEmCsv() throws Exception {
+
+        // Arrange
+        simularExportacaoCsv();
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/lancamentos/export.csv")
+                        .param("de", "202401").param("ate", "202412")
+                        .header("Authorization", "Bearer " + "fake-token-jwt"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"lancamentos-202401-202412.csv\""))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        Assertions.assertEquals("""
+                data;nome;valor;pago;conta;categoria;id
+                15-05-2024;"Pizza; Refri";10;nao;Conta Conjunta;Alimentação;123
+                20-10-2024;"Taxi ""Executivo""\";250,12;sim;Conta Conjunta;Transporte;456
+                """, corpo);
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveExportarLancamentosEmCsvCompactadoQuandoAceitaGzip() throws Exception {
+
+        // Arrange
+        simularExportacaoCsv();
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/lancamentos/export.csv")
+                        .param("de", "202401").param("ate", "202412")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8")
+                        .header("Authorization", "Bearer " + "fake-token-jwt"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        byte[] corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream descompactado = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+            List<String> linhas = new String(descompactado.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            Assertions.assertEquals(3, linhas.size());
+            Assertions.assertTrue(linhas.get(1).startsWith("15-05-2024;"));
+        }
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void naoDeveExportarCsvComPeriodoInvalido() throws Exception {
+
+        // Arrange
+        Mockito.when(lancamentoService.validarPeriodoCompetencias(202405, 202404))
+                .thenThrow(new NegocioException("Competência inicial deve ser anterior ou igual à competência final!"));
+
+        mockMvc.perform(
+                        // Act
+                        get("/api/lancamentos/export.csv")
+                                .param("de", "202405").param("ate", "202404")
+                                .header("Authorization", "Bearer " + "fake-token-jwt"))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().string("Competência inicial deve ser anterior ou igual à competência final!"));
+
+        Mockito.verify(lancamentoService, Mockito.never()).exportarLancamentosCompletos(Mockito.any(),
+                Mockito.any(PeriodoCompetencias.class), Mockito.any());
+    }
+
+    private void simularExportacaoCsv() {
+
+        PeriodoCompetencias periodo = new PeriodoCompetencias(YearMonth.of(2024, 1), YearMonth.of(2024, 12));
+        Mockito.when(lancamentoService.validarPeriodoCompetencias(202401, 202412)).thenReturn(periodo);
+
+        LancamentoCompletoDTO lancamentoPizza = LancamentoCompletoDTO.builder()
+                .id("123").nome("Pizza; Refri").nomeConta("Conta Conjunta").nomeCategoria("Alimentação")
+                .valor(BigDecimal.TEN).data(LocalDate.of(2024, 5, 15)).pago(false)
+                .build();
+        LancamentoCompletoDTO lancamentoTaxi = LancamentoCompletoDTO.builder()
+                .id("456").nome("Taxi \"Executivo\"").nomeConta("Conta Conjunta").nomeCategoria("Transporte")
+                .valor(BigDecimal.valueOf(250.12)).data(LocalDate.of(2024, 10, 20)).pago(true)
+                .build();
+        Mockito.doAnswer(invocation -> {
+            Consumer<LancamentoCompletoDTO> consumidor = invocation.getArgument(2);
+            consumidor.accept(lancamentoPizza);
+            consumidor.accept(lancamentoTaxi);
+            return null;
+        }).when(lancamentoService).exportarLancamentosCompletos(Mockito.eq("usuarioTeste"), Mockito.eq(periodo), Mockito.any());
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveObterPaginaLancamentosComCursorNoCabecalho() throws Exception {
+
+        // Arrange
+        LancamentoResumoDTO lancamentoPizza = LancamentoResumoDTO.builder()
+                .id("123")
+                .nome("Pizza")
+                .valor(BigDecimal.TEN)
+                .data(LocalDate.of(2024, 5, 15))
+                .pago(false)
+                .idConta("111")
+                .idCategoria("222")
+                .build();
+        Mockito.when(lancamentoService.obterPaginaLancamentos("usuarioTeste", null, 1))
+                .thenReturn(new PaginaLancamentos<>(List.of(lancamentoPizza), "proximo-cursor"));
+
+        mockMvc.perform(
+                        // Act
+                        get("/api/lancamentos")
+                                .param("limite", "1")
+                                .header("Authorization", "Bearer " + "fake-token-jwt")
+                                .contentType(MediaType.APPLICATION_JSON))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(LancamentoController.CABECALHO_PROXIMO_CURSOR, "proximo-cursor"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("123"));
+
+        Mockito.verify(lancamentoService, Mockito.never()).obterTodosLancamentos(Mockito.anyString());
+    }
+
     @Test
     @WithUserDetails("usuarioTeste")
     public void deveObterTodosLancamentosCompletos() throws Exception {
@@ -186,19 +369,50 @@ class LancamentoControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.idCategoria").value("222"));
     }
 
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveObterResumoPorCompetencia() throws Exception {
+
+        // Arrange
+        ResumoCompetencia.Totais totais = new ResumoCompetencia.Totais(3, 1, BigDecimal.valueOf(280),
+                BigDecimal.valueOf(80), BigDecimal.valueOf(200));
+        ResumoCompetencia resumo = new ResumoCompetencia(YearMonth.of(2024, 5), totais,
+                List.of(new ResumoCompetencia.TotalAgrupado("111", "Conta Conjunta", totais)),
+                List.of(new ResumoCompetencia.TotalAgrupado("222", "Alimentação", totais)));
+
+        Mockito.when(lancamentoService.obterResumoPorCompetencia(202405, "usuarioTeste")).thenReturn(resumo);
+
+        mockMvc.perform(
+                        // Act
+                        get("/api/lancamentos/competencia/202405/resumo")
+                                .header("Authorization", "Bearer " + "fake-token-jwt")
+                                .contentType(MediaType.APPLICATION_JSON))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.competencia").value("202405"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total.quantidade").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total.quantidadePagos").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total.quantidadeNaoPagos").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total.valorTotal").value(280))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total.valorNaoPago").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.contas[0].id").value("111"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.contas[0].totais.valorPago").value(80))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.categorias[0].nome").value("Alimentação"));
+    }
+
     @Test
     @WithUserDetails("usuarioTeste")
     public void deveObterLancamentoPorCompetencia() throws Exception {
 
         // Arrange
-        Lancamento lancamentoPizza = Lancamento.builder()
+        LancamentoResumoDTO lancamentoPizza = LancamentoResumoDTO.builder()
                 .id("123")
                 .nome("Pizza")
                 .valor(BigDecimal.TEN)
                 .data(LocalDate.of(2024, 5, 15))
                 .pago(false)
-                .conta(Conta.builder().id("111").nome("Conta Conjunta").build())
-                .categoria(Categoria.builder().id("222").nome("Alimentação").build())
+                .idConta("111")
+                .idCategoria("222")
                 .build();
 
         Mockito.when(lancamentoService.obterLancamentosPorCompetencia(202405, "usuarioTeste"))
@@ -304,6 +518,92 @@ class LancamentoControllerTest {
         Assertions.assertEquals(resposta, "Valor do lançamento informado deve ser maior que 0!");
     }
 
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveInserirLancamentosEmLote() throws Exception {
+
+        // Arrange
+        List<LancamentoRequestDTO> lote = List.of(
+                new LancamentoRequestDTO(null, "Pizza", "222", "333", "15-05-2024", BigDecimal.TEN, false),
+                new LancamentoRequestDTO(null, "Taxi", "222", "333", "20-05-2024", BigDecimal.ONE, true));
+
+        Lancamento lancamentoPizza = Lancamento.builder()
+                .id("111").nome("Pizza").valor(BigDecimal.TEN).data(LocalDate.of(2024, 5, 15)).pago(false)
+                .conta(Conta.builder().id("222").build()).categoria(Categoria.builder().id("333").build())
+                .build();
+        Lancamento lancamentoTaxi = Lancamento.builder()
+                .id("444").nome("Taxi").valor(BigDecimal.ONE).data(LocalDate.of(2024, 5, 20)).pago(true)
+                .conta(Conta.builder().id("222").build()).categoria(Categoria.builder().id("333").build())
+                .build();
+
+        Mockito.when(lancamentoService.criarLancamentos(lote, "usuarioTeste"))
+                .thenReturn(List.of(lancamentoPizza, lancamentoTaxi));
+
+        mockMvc.perform(
+                        // Act
+                        post("/api/lancamentos/lote")
+                                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                                .header("Authorization", "Bearer " + "fake-token-jwt")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(lote))
+                )
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("111"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value("444"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].data").value("20-05-2024"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].pago").value("true"));
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void naoDeveInserirLoteComLancamentoInvalido() throws Exception {
+
+        // Arrange
+        List<LancamentoRequestDTO> lote = List.of(
+                new LancamentoRequestDTO(null, "Pizza", "222", "333", "15-05-2024", BigDecimal.TEN, false),
+                new LancamentoRequestDTO(null, "", "222", "333", "20-05-2024", BigDecimal.ONE, true));
+
+        mockMvc.perform(
+                        // Act
+                        post("/api/lancamentos/lote")
+                                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                                .header("Authorization", "Bearer " + "fake-token-jwt")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(lote))
+                )
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].campo").value("lancamentos[1].nome"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].validacao").value("Campo obrigatório não informado."));
+
+        Mockito.verifyNoInteractions(lancamentoService);
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void naoDeveInserirLoteComLancamentoNulo() throws Exception {
+
+        mockMvc.perform(
+                        // Act
+                        post("/api/lancamentos/lote")
+                                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                                .header("Authorization", "Bearer " + "fake-token-jwt")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[null]")
+                )
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].campo").value("lancamentos[0]"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].validacao").value("Campo obrigatório não informado."));
+
+        Mockito.verifyNoInteractions(lancamentoService);
+    }
+
     //
     @Test
     @WithUserDetails("usuarioTeste")
@@ -0,0 +1,142 @@
+package br.com.controle.financeiro.controllers;
+
+import br.com.controle.financeiro.config.WebMvcConfig;
+import br.com.controle.financeiro.controllers.config.ControllerUserTestConfig;
+import br.com.controle.financeiro.controllers.config.CustomUserDetailsService;
+import br.com.controle.financeiro.infra.instrumentacao.ConfiguracaoInstrumentacao;
+import br.com.controle.financeiro.infra.instrumentacao.InstrumentacaoInterceptor;
+import br.com.controle.financeiro.repositories.dto.ContaSaldoDTO;
+import br.com.controle.financeiro.services.ContaService;
+import br.com.controle.financeiro.services.VersaoDadosService;
+import br.com.controle.financeiro.services.exception.NegocioException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@WebMvcTest(ContaController.class)
+@Import({ContaController.class, VersaoDadosEtagInterceptor.class, WebMvcConfig.class, InstrumentacaoInterceptor.class,
+        ConfiguracaoInstrumentacao.class, SimpleMeterRegistry.class})
+@ContextConfiguration(classes = {GlobalExceptionHandler.class, NegocioException.class, ControllerUserTestConfig.class, CustomUserDetailsService.class})
+class VersaoDadosEtagInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ContaService contaService;
+
+    @MockBean
+    private VersaoDadosService versaoDadosService;
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveRetornarVersaoDosDadosComoEtag() throws Exception {
+
+        // Arrange
+        Mockito.when(versaoDadosService.obterVersao("usuarioTeste")).thenReturn(42L);
+        Mockito.when(contaService.obterTodasContasComSaldo("usuarioTeste"))
+                .thenReturn(List.of(new ContaSaldoDTO("1234", "Conta Conjunta", null, null)));
+
+        mockMvc.perform(
+                        // Act
+                        get("/api/contas")
+                                .header("Authorization", "Bearer " + "fake-token-jwt"))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, VersaoDadosEtagInterceptor.etag("usuarioTeste", 42)))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("1234"));
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveRetornar304SemConsultarOsDadosQuandoVersaoNaoMudou() throws Exception {
+
+        // Arrange
+        Mockito.when(versaoDadosService.obterVersao("usuarioTeste")).thenReturn(42L);
+
+        mockMvc.perform(
+                        // Act
+                        get("/api/contas")
+                                .header(HttpHeaders.IF_NONE_MATCH, VersaoDadosEtagInterceptor.etag("usuarioTeste", 42))
+                                .header("Authorization", "Bearer " + "fake-token-jwt"))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, VersaoDadosEtagInterceptor.etag("usuarioTeste", 42)))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        Mockito.verifyNoInteractions(contaService);
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void deveRetornarDadosQuandoVersaoMudou() throws Exception {
+
+        // Arrange
+        Mockito.when(versaoDadosService.obterVersao("usuarioTeste")).thenReturn(43L);
+        Mockito.when(contaService.obterTodasContasComSaldo("usuarioTeste")).thenReturn(List.of());
+
+        mockMvc.perform(
+                        // Act
+                        get("/api/contas")
+                                .header(HttpHeaders.IF_NONE_MATCH, VersaoDadosEtagInterceptor.etag("usuarioTeste", 42))
+                                .header("Authorization", "Bearer " + "fake-token-jwt"))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, VersaoDadosEtagInterceptor.etag("usuarioTeste", 43)));
+    }
+
+    @Test
+    public void naoDeveRevalidarEtagDeOutroUsuarioComMesmaVersao() throws Exception {
+
+        // Arrange: os dois usuários estão na mesma versão dos dados
+        Mockito.when(versaoDadosService.obterVersao(Mockito.anyString())).thenReturn(0L);
+        Mockito.when(contaService.obterTodasContasComSaldo(Mockito.anyString())).thenReturn(List.of());
+        String etagJoao = mockMvc.perform(get("/api/contas").with(SecurityMockMvcRequestPostProcessors.user("joao")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                        // Act: a resposta guardada para o primeiro usuário é revalidada pelo segundo
+                        get("/api/contas")
+                                .with(SecurityMockMvcRequestPostProcessors.user("maria"))
+                                .header(HttpHeaders.IF_NONE_MATCH, etagJoao))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, VersaoDadosEtagInterceptor.etag("maria", 0)));
+
+        Mockito.verify(contaService).obterTodasContasComSaldo("maria");
+    }
+
+    @Test
+    @WithUserDetails("usuarioTeste")
+    public void naoDeveConsultarVersaoEmEscritas() throws Exception {
+
+        mockMvc.perform(
+                        // Act
+                        delete("/api/contas/1234")
+                                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                                .header(HttpHeaders.IF_NONE_MATCH, "W/\"42\"")
+                                .header("Authorization", "Bearer " + "fake-token-jwt"))
+                // Assert
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.ETAG));
+
+        Mockito.verifyNoInteractions(versaoDadosService);
+        Mockito.verify(contaService).deletarConta("1234", "usuarioTeste");
+    }
+}
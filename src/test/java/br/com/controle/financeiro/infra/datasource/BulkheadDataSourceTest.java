@@ -0,0 +1,70 @@
+package br.com.controle.financeiro.infra.datasource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+class BulkheadDataSourceTest {
+
+    private DataSource dataSourceMock;
+
+    private BulkheadDataSource bulkheadDataSource;
+
+    @BeforeEach
+    void prepararDataSource() throws SQLException {
+        dataSourceMock = Mockito.mock(DataSource.class);
+        Mockito.when(dataSourceMock.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+        bulkheadDataSource = new BulkheadDataSource(dataSourceMock, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void deveLimitarConexoesSimultaneasAoTotalDePermissoes() throws SQLException {
+
+        // Arrange
+        bulkheadDataSource.getConnection();
+        bulkheadDataSource.getConnection();
+
+        // Assert
+        SQLTransientConnectionException erro = Assertions.assertThrows(
+                // Assert
+                SQLTransientConnectionException.class,
+                // Act
+                () -> bulkheadDataSource.getConnection());
+        Assertions.assertTrue(erro.getMessage().startsWith("Nenhuma conexão com o banco de dados disponível"));
+        Mockito.verify(dataSourceMock, Mockito.times(2)).getConnection();
+    }
+
+    @Test
+    void deveDevolverPermissaoUmaUnicaVezAoFecharConexao() throws SQLException {
+
+        // Arrange
+        Connection conexao = bulkheadDataSource.getConnection();
+
+        // Act
+        conexao.close();
+        conexao.close();
+
+        // Assert
+        Assertions.assertEquals(2, bulkheadDataSource.getPermissoesDisponiveis());
+    }
+
+    @Test
+    void deveDevolverPermissaoQuandoPoolFalhaAoEntregarConexao() throws SQLException {
+
+        // Arrange
+        Mockito.when(dataSourceMock.getConnection()).thenThrow(new SQLTransientConnectionException("timeout do pool"));
+
+        // Act
+        Assertions.assertThrows(SQLTransientConnectionException.class, () -> bulkheadDataSource.getConnection());
+
+        // Assert
+        Assertions.assertEquals(2, bulkheadDataSource.getPermissoesDisponiveis());
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.controle.financeiro.infra.instrumentacao;
+
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.infra.security.TokenService;
+import br.com.controle.financeiro.repositories.UsuarioRepository;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Os endpoints do actuator só são atendidos na porta de gerenciamento, que o MockMvc não alcança: são chamados por HTTP
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureMockMvc
+class InstrumentacaoInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int portaGerenciamento;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ConfiguracaoInstrumentacao configuracao;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private String tokenUsuario;
+
+    private String tokenAdmin;
+
+    @BeforeEach
+    public void prepararMassaTeste() {
+        tokenUsuario = tokenService.generateToken(criarUsuario(UserRole.USER));
+        tokenAdmin = tokenService.generateToken(criarUsuario(UserRole.ADMIN));
+    }
+
+    @AfterEach
+    public void restaurarConfiguracao() {
+        configuracao.setHabilitada(true);
+        configuracao.setLimiteSqlLento(Duration.ofMillis(200));
+        configuracao.setAmostragemSqlLento(1.0);
+    }
+
+    private Usuario criarUsuario(UserRole role) {
+        return usuarioRepository.save(new Usuario("instrumentacao-" + UUID.randomUUID(), "123456", role));
+    }
+
+    private ResponseEntity<String> alterarInstrumentacao(String configuracao, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(token);
+        return restTemplate.postForEntity("http://127.0.0.1:" + portaGerenciamento + "/actuator/instrumentacao",
+                new HttpEntity<>(configuracao, headers), String.class);
+    }
+
+    @Test
+    public void deveInformarServerTimingERegistrarMetricasDoMetodoDoController() throws Exception {
+
+        mockMvc.perform(
+                        // Act
+                        get("/api/contas")
+                                .header("Authorization", "Bearer " + tokenUsuario))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Server-Timing",
+                        Matchers.matchesPattern("app;dur=[0-9.]+, db;dur=[0-9.]+, db-comandos;desc=\"[1-9][0-9]*\", db-linhas;desc=\"[0-9]+\"")));
+
+        Timer timer = meterRegistry.find("api.requisicoes")
+                .tags("controlador", "ContaController", "metodo", "obterTodasContas", "status", "200")
+                .timer();
+        DistributionSummary comandos = meterRegistry.find("api.requisicoes.sql.comandos")
+                .tags("controlador", "ContaController", "metodo", "obterTodasContas")
+                .summary();
+        Assertions.assertNotNull(timer);
+        Assertions.assertTrue(timer.count() >= 1);
+        Assertions.assertNotNull(comandos);
+        Assertions.assertTrue(comandos.totalAmount() >= 1);
+    }
+
+    @Test
+    public void naoDeveMedirRequisicoesQuandoInstrumentacaoDesabilitada() throws Exception {
+
+        // Act
+        ResponseEntity<String> resposta = alterarInstrumentacao("{\"habilitada\": false, \"amostragemSqlLento\": 0.5}", tokenAdmin);
+
+        // Assert
+        Assertions.assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        Assertions.assertEquals(false, JsonPath.read(resposta.getBody(), "$.habilitada"));
+        Assertions.assertEquals(0.5, JsonPath.<Double>read(resposta.getBody(), "$.amostragemSqlLento"));
+
+        mockMvc.perform(
+                        get("/api/contas")
+                                .header("Authorization", "Bearer " + tokenUsuario))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist("Server-Timing"));
+    }
+
+    @Test
+    public void naoDevePermitirAlterarInstrumentacaoSemPerfilAdmin() throws Exception {
+
+        // Act
+        ResponseEntity<String> resposta = alterarInstrumentacao("{\"habilitada\": false}", tokenUsuario);
+
+        // Assert
+        Assertions.assertEquals(HttpStatus.FORBIDDEN, resposta.getStatusCode());
+
+        Assertions.assertTrue(configuracao.isHabilitada());
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.controle.financeiro.infra.persistencia;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class UuidV7Test {
+
+    @Test
+    void deveGerarUuidVersao7ComOInstanteNosBitsIniciais() {
+
+        // Arrange
+        long instante = 1_717_000_000_000L;
+
+        // Act
+        UUID uuid = UuidV7.gerar(instante);
+
+        // Assert
+        Assertions.assertEquals(7, uuid.version());
+        Assertions.assertEquals(2, uuid.variant());
+        Assertions.assertTrue((uuid.getMostSignificantBits() >>> 16) >= instante);
+    }
+
+    @Test
+    void deveGerarIdsCrescentesMesmoNoMesmoMilissegundo() {
+
+        // Arrange
+        long instante = System.currentTimeMillis();
+        List<UUID> uuids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(UuidV7.gerar(instante));
+        }
+
+        // Assert: a ordem como texto é a mesma do índice do banco
+        for (int i = 1; i < uuids.size(); i++) {
+            Assertions.assertTrue(uuids.get(i - 1).toString().compareTo(uuids.get(i).toString()) < 0);
+        }
+    }
+
+    @Test
+    void deveConverterIdQueNaoEUuidParaUuidNulo() {
+
+        // Act / Assert
+        Assertions.assertEquals(IdentificadorJavaType.UUID_NULO, IdentificadorJavaType.paraUuid("1234"));
+        Assertions.assertEquals(IdentificadorJavaType.UUID_NULO, IdentificadorJavaType.paraUuid("zzzzzzzz-zzzz-zzzz-zzzz-zzzzzzzzzzzz"));
+        Assertions.assertNull(IdentificadorJavaType.paraUuid(null));
+        Assertions.assertEquals(UUID.fromString("01900000-0000-7000-8000-000000000001"),
+                IdentificadorJavaType.paraUuid("01900000-0000-7000-8000-000000000001"));
+    }
+}
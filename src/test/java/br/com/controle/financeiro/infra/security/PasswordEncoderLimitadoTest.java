@@ -0,0 +1,114 @@
+package br.com.controle.financeiro.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+class PasswordEncoderLimitadoTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CountDownLatch liberarHash;
+
+    private PasswordEncoderLimitado passwordEncoder;
+
+    @BeforeEach
+    void prepararPool() {
+        meterRegistry = new SimpleMeterRegistry();
+        liberarHash = new CountDownLatch(0);
+    }
+
+    @AfterEach
+    void encerrarPool() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void deveCodificarEVerificarSenhaNoPoolERegistrarTempoDoHash() {
+
+        // Arrange
+        passwordEncoder = new PasswordEncoderLimitado(new BCryptPasswordEncoder(4), 1, 10, Duration.ofSeconds(5),
+                meterRegistry);
+
+        // Act
+        String hash = passwordEncoder.encode("123456");
+
+        // Assert
+        Assertions.assertTrue(passwordEncoder.matches("123456", hash));
+        Assertions.assertFalse(passwordEncoder.matches("654321", hash));
+        Assertions.assertEquals(1, meterRegistry.get("autenticacao.senhas.hash").tag("operacao", "codificacao").timer().count());
+        Assertions.assertEquals(2, meterRegistry.get("autenticacao.senhas.hash").tag("operacao", "verificacao").timer().count());
+    }
+
+    @Test
+    void deveRecusarQuandoFilaDoPoolEstiverCheia() throws Exception {
+
+        // Arrange
+        liberarHash = new CountDownLatch(1);
+        passwordEncoder = new PasswordEncoderLimitado(criarEncoderBloqueado(), 1, 1, Duration.ofSeconds(5), meterRegistry);
+        CompletableFuture<String> emExecucao = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("senha1"));
+        aguardar(() -> meterRegistry.get("autenticacao.senhas.ativas").gauge().value() == 1);
+        CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("senha2"));
+        aguardar(() -> meterRegistry.get("autenticacao.senhas.fila").gauge().value() == 1);
+
+        // Act
+        AutenticacaoSobrecarregadaException exception = Assertions.assertThrows(AutenticacaoSobrecarregadaException.class,
+                () -> passwordEncoder.encode("senha3"));
+
+        // Assert
+        Assertions.assertEquals("Serviço de autenticação sobrecarregado. Tente novamente em instantes.", exception.getMessage());
+        Assertions.assertEquals(1, meterRegistry.get("autenticacao.senhas.rejeitadas").counter().count());
+        liberarHash.countDown();
+        Assertions.assertEquals("hash-senha1", emExecucao.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("hash-senha2", naFila.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deveRecusarQuandoEsperaMaximaForExcedida() {
+
+        // Arrange
+        liberarHash = new CountDownLatch(1);
+        passwordEncoder = new PasswordEncoderLimitado(criarEncoderBloqueado(), 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        // Act / Assert
+        Assertions.assertThrows(AutenticacaoSobrecarregadaException.class, () -> passwordEncoder.encode("senha1"));
+        Assertions.assertEquals(1, meterRegistry.get("autenticacao.senhas.rejeitadas").counter().count());
+    }
+
+    private PasswordEncoder criarEncoderBloqueado() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    liberarHash.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() < limite, "Condição não atingida no tempo esperado");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.controle.financeiro.infra.security;
+
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PortaGerenciamentoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    public void naoDeveExporEndpointsDoActuatorNaPortaPublica() throws Exception {
+
+        // Arrange
+        Usuario usuario = new Usuario("admin-" + UUID.randomUUID(), "123456", UserRole.ADMIN);
+        usuario.setId(UUID.randomUUID().toString());
+        String token = tokenService.generateToken(usuario);
+
+        mockMvc.perform(
+                        // Act
+                        post("/actuator/loggers/br.com.controle.financeiro")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"configuredLevel\": \"TRACE\"}")
+                                .header("Authorization", "Bearer " + token))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
@@ -0,0 +1,210 @@
+package br.com.controle.financeiro.infra.security;
+
+import br.com.controle.financeiro.domain.user.LoginResponseDTO;
+import br.com.controle.financeiro.domain.user.RefreshToken;
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.repositories.RefreshTokenRepository;
+import br.com.controle.financeiro.repositories.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Value("${api.security.refresh-token.maximo-sessoes}")
+    private int maximoSessoes;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    public void prepararMassaTeste() {
+        usuario = usuarioRepository.save(new Usuario("refresh-" + UUID.randomUUID(), "123456", UserRole.USER));
+    }
+
+    @Test
+    public void deveArmazenarSomenteOHashDoRefreshToken() {
+
+        // Act
+        String refreshToken = refreshTokenService.gerar(usuario);
+
+        // Assert
+        RefreshToken registro = refreshTokenRepository.findByHashComUsuario(TokenService.calcularHash(refreshToken)).orElseThrow();
+        Assertions.assertNotEquals(refreshToken, registro.getHash());
+        Assertions.assertEquals(usuario.getId(), registro.getUsuario().getId());
+        Assertions.assertTrue(registro.getExpiraEm().isAfter(Instant.now()));
+    }
+
+    @Test
+    public void deveEmitirNovoJwtComRefreshTokenSemInformarSenha() {
+
+        // Arrange
+        String refreshToken = refreshTokenService.gerar(usuario);
+
+        // Act
+        LoginResponseDTO resposta = refreshTokenService.renovar(refreshToken);
+
+        // Assert
+        Assertions.assertEquals(usuario.getLogin(), tokenService.validateToken(resposta.token()));
+        Assertions.assertNotEquals(refreshToken, resposta.refreshToken());
+        Assertions.assertEquals(usuario.getLogin(),
+                tokenService.validateToken(refreshTokenService.renovar(resposta.refreshToken()).token()));
+    }
+
+    @Test
+    public void deveRevogarSessaoQuandoRefreshTokenSubstituidoForReutilizado() {
+
+        // Arrange
+        String refreshToken = refreshTokenService.gerar(usuario);
+        String refreshTokenAtual = refreshTokenService.renovar(refreshToken).refreshToken();
+
+        // Act
+        Assertions.assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(refreshToken));
+
+        // Assert: o token atual da sessão também foi revogado
+        Assertions.assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(refreshTokenAtual));
+    }
+
+    @Test
+    public void deveRevogarSessaoNoLogout() {
+
+        // Arrange
+        String refreshToken = refreshTokenService.gerar(usuario);
+        String outraSessao = refreshTokenService.gerar(usuario);
+
+        // Act
+        refreshTokenService.revogar(refreshToken);
+
+        // Assert
+        Assertions.assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(refreshToken));
+        Assertions.assertNotNull(refreshTokenService.renovar(outraSessao).token());
+    }
+
+    @Test
+    public void deveRevogarSessoesMaisAntigasAcimaDoLimitePorUsuario() {
+
+        // Arrange
+        String maisAntiga = refreshTokenService.gerar(usuario);
+        List<String> demais = new ArrayList<>();
+        for (int i = 0; i < maximoSessoes; i++) {
+            demais.add(refreshTokenService.gerar(usuario));
+        }
+
+        // Act / Assert
+        Assertions.assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(maisAntiga));
+        demais.forEach(refreshToken -> Assertions.assertNotNull(refreshTokenService.renovar(refreshToken).token()));
+    }
+
+    @Test
+    public void naoDeveRenovarComRefreshTokenExpirado() {
+
+        // Arrange
+        String refreshToken = refreshTokenService.gerar(usuario);
+        RefreshToken registro = refreshTokenRepository.findByHashComUsuario(TokenService.calcularHash(refreshToken)).orElseThrow();
+        registro.setExpiraEm(Instant.now().minusSeconds(1));
+        refreshTokenRepository.save(registro);
+
+        // Act / Assert
+        Assertions.assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(refreshToken));
+        Assertions.assertTrue(refreshTokenService.removerExpirados() >= 1);
+        Assertions.assertTrue(refreshTokenRepository.findByHashComUsuario(TokenService.calcularHash(refreshToken)).isEmpty());
+    }
+
+    @Test
+    public void deveRenovarTokenPeloEndpointComRefreshTokenRecebidoNoLogin() throws Exception {
+
+        // Arrange
+        String login = "refresh-" + UUID.randomUUID();
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"login\": \"" + login + "\", \"password\": \"123456\", \"role\": \"USER\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        String respostaLogin = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"login\": \"" + login + "\", \"password\": \"123456\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode tokens = objectMapper.readTree(respostaLogin);
+
+        mockMvc.perform(
+                        // Act
+                        post("/auth/refresh")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"refreshToken\": \"" + tokens.get("refreshToken").asText() + "\"}"))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.token").isNotEmpty())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.refreshToken").isNotEmpty())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.refreshToken").value(
+                        Matchers.not(tokens.get("refreshToken").asText())));
+    }
+
+    @Test
+    public void naoDeveRenovarTokenPeloEndpointAposLogout() throws Exception {
+
+        // Arrange
+        String refreshToken = refreshTokenService.gerar(usuario);
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"" + refreshToken + "\"}"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        mockMvc.perform(
+                        // Act
+                        post("/auth/refresh")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"refreshToken\": \"" + refreshToken + "\"}"))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+
+    @Test
+    public void naoDeveRenovarTokenPeloEndpointComRefreshTokenInvalido() throws Exception {
+
+        mockMvc.perform(
+                        // Act
+                        post("/auth/refresh")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"refreshToken\": \"token-inexistente\"}"))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.controle.financeiro.infra.security;
+
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Os endpoints do actuator só são atendidos na porta de gerenciamento, que o MockMvc não alcança: são chamados por HTTP
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"api.security.token.principal-por-claims=true", "management.server.port=0"})
+@AutoConfigureMockMvc
+class SecurityFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int portaGerenciamento;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    public void deveAutenticarPelasClaimsDoTokenSemConsultarUsuarioNoBanco() throws Exception {
+
+        // Arrange: o usuário não existe no banco, somente no token
+        Usuario usuario = new Usuario("claims-" + UUID.randomUUID(), "123456", UserRole.USER);
+        usuario.setId(UUID.randomUUID().toString());
+        String token = tokenService.generateToken(usuario);
+
+        mockMvc.perform(
+                        // Act
+                        get("/api/categorias")
+                                .header("Authorization", "Bearer " + token))
+                // Assert
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$").isEmpty());
+    }
+
+    @Test
+    public void deveAplicarPapeisDasClaimsDoToken() throws Exception {
+
+        // Arrange
+        Usuario usuario = new Usuario("claims-" + UUID.randomUUID(), "123456", UserRole.USER);
+        usuario.setId(UUID.randomUUID().toString());
+        String token = tokenService.generateToken(usuario);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+
+        // Act
+        ResponseEntity<String> resposta = restTemplate.exchange("http://127.0.0.1:" + portaGerenciamento + "/actuator/instrumentacao",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Assert
+        Assertions.assertEquals(HttpStatus.FORBIDDEN, resposta.getStatusCode());
+    }
+}
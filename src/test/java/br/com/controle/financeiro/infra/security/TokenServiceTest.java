@@ -0,0 +1,99 @@
+package br.com.controle.financeiro.infra.security;
+
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "segredo-teste";
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 100})
+    void deveValidarTokenGeradoRepetidasVezes(long tamanhoMaximoCache) {
+
+        // Arrange
+        TokenService tokenService = new TokenService(SECRET, tamanhoMaximoCache, Duration.ofMinutes(10));
+        String token = tokenService.generateToken(new Usuario("joao@teste.com", "senha", UserRole.USER));
+
+        // Act / Assert
+        Assertions.assertEquals("joao@teste.com", tokenService.validateToken(token));
+        Assertions.assertEquals("joao@teste.com", tokenService.validateToken(token));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 100})
+    void naoDeveValidarTokenAssinadoComOutroSegredo(long tamanhoMaximoCache) {
+
+        // Arrange
+        TokenService tokenService = new TokenService(SECRET, tamanhoMaximoCache, Duration.ofMinutes(10));
+        String token = new TokenService("outro-segredo", 0, Duration.ofMinutes(10))
+                .generateToken(new Usuario("joao@teste.com", "senha", UserRole.USER));
+
+        // Act / Assert
+        Assertions.assertEquals("", tokenService.validateToken(token));
+        Assertions.assertEquals("", tokenService.validateToken(token));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 100})
+    void naoDeveValidarTokenExpirado(long tamanhoMaximoCache) {
+
+        // Arrange
+        TokenService tokenService = new TokenService(SECRET, tamanhoMaximoCache, Duration.ofMinutes(10));
+        String token = JWT.create()
+                .withIssuer("auth-api")
+                .withSubject("joao@teste.com")
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        // Act / Assert
+        Assertions.assertEquals("", tokenService.validateToken(token));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 100})
+    void deveReconstruirUsuarioAPartirDasClaimsDoToken(long tamanhoMaximoCache) {
+
+        // Arrange
+        TokenService tokenService = new TokenService(SECRET, tamanhoMaximoCache, Duration.ofMinutes(10));
+        Usuario usuario = new Usuario("joao@teste.com", "senha", UserRole.ADMIN);
+        usuario.setId("0b4f2a6e-7d1c-4a55-9a1e-3c2d8f6b9e10");
+        String token = tokenService.generateToken(usuario);
+
+        // Act
+        UsuarioAutenticado usuarioAutenticado = tokenService.obterUsuarioAutenticado(token);
+
+        // Assert
+        Assertions.assertEquals("0b4f2a6e-7d1c-4a55-9a1e-3c2d8f6b9e10", usuarioAutenticado.id());
+        Assertions.assertEquals("joao@teste.com", usuarioAutenticado.getUsername());
+        Assertions.assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"),
+                usuarioAutenticado.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void naoDeveReconstruirUsuarioDeTokenSemIdDoUsuario() {
+
+        // Arrange
+        TokenService tokenService = new TokenService(SECRET, 100, Duration.ofMinutes(10));
+        String token = JWT.create()
+                .withIssuer("auth-api")
+                .withSubject("joao@teste.com")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        // Act / Assert
+        Assertions.assertNull(tokenService.obterUsuarioAutenticado(token));
+        Assertions.assertEquals("joao@teste.com", tokenService.validateToken(token));
+    }
+}
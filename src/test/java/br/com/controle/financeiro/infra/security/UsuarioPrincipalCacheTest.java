@@ -0,0 +1,101 @@
+package br.com.controle.financeiro.infra.security;
+
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+class UsuarioPrincipalCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UsuarioPrincipalCache usuarioPrincipalCache;
+
+    private AtomicInteger consultasBanco;
+
+    private Function<String, UserDetails> carregarUsuario;
+
+    @BeforeEach
+    void prepararCache() {
+        meterRegistry = new SimpleMeterRegistry();
+        usuarioPrincipalCache = new UsuarioPrincipalCache(100, Duration.ofMinutes(5), meterRegistry);
+        consultasBanco = new AtomicInteger();
+        carregarUsuario = login -> {
+            consultasBanco.incrementAndGet();
+            return "inexistente".equals(login) ? null : new Usuario(login, "senha", UserRole.USER);
+        };
+    }
+
+    @Test
+    void deveConsultarBancoSomenteNaPrimeiraRequisicao() {
+
+        // Act
+        UserDetails primeiraRequisicao = usuarioPrincipalCache.obter("joao@teste.com", carregarUsuario);
+        UserDetails segundaRequisicao = usuarioPrincipalCache.obter("joao@teste.com", carregarUsuario);
+
+        // Assert
+        Assertions.assertEquals(1, consultasBanco.get());
+        Assertions.assertSame(primeiraRequisicao, segundaRequisicao);
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "usuarios.principal").tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "usuarios.principal").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void naoDeveArmazenarUsuarioNaoEncontrado() {
+
+        // Act
+        UserDetails primeiraRequisicao = usuarioPrincipalCache.obter("inexistente", carregarUsuario);
+        UserDetails segundaRequisicao = usuarioPrincipalCache.obter("inexistente", carregarUsuario);
+
+        // Assert
+        Assertions.assertNull(primeiraRequisicao);
+        Assertions.assertNull(segundaRequisicao);
+        Assertions.assertEquals(2, consultasBanco.get());
+    }
+
+    @Test
+    void deveConsultarBancoNovamenteAposInvalidarUsuario() {
+
+        // Arrange
+        usuarioPrincipalCache.obter("joao@teste.com", carregarUsuario);
+
+        // Act
+        usuarioPrincipalCache.invalidar("joao@teste.com");
+        usuarioPrincipalCache.obter("joao@teste.com", carregarUsuario);
+
+        // Assert
+        Assertions.assertEquals(2, consultasBanco.get());
+    }
+
+    @Test
+    void deveInvalidarUsuarioSomenteDepoisDoCommit() {
+
+        // Arrange
+        usuarioPrincipalCache.obter("joao@teste.com", carregarUsuario);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            usuarioPrincipalCache.invalidarAposCommit("joao@teste.com");
+            usuarioPrincipalCache.obter("joao@teste.com", carregarUsuario);
+            int consultasAntesDoCommit = consultasBanco.get();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            usuarioPrincipalCache.obter("joao@teste.com", carregarUsuario);
+
+            // Assert
+            Assertions.assertEquals(1, consultasAntesDoCommit);
+            Assertions.assertEquals(2, consultasBanco.get());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
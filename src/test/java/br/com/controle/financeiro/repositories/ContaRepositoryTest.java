@@ -8,8 +8,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.List;
+import java.util.UUID;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -21,6 +23,9 @@ class ContaRepositoryTest {
     @Autowired
     private ContaRepository contaRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     public void deveObterAsContasDoUsuario() {
 
@@ -44,4 +49,30 @@ class ContaRepositoryTest {
         // Assert
         Assertions.assertEquals(2, contasUsuario.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void deveGerarIdsUuidV7CrescentesGravadosNoTipoUuid() {
+
+        // Arrange
+        var user = usuarioRepository.save(Usuario.builder().login("maria@teste.com").password("senha_da_maria").role(UserRole.USER).build());
+
+        // Act
+        Conta primeiraConta = contaRepository.save(Conta.builder().nome("Conta Corrente").usuario(user).build());
+        Conta segundaConta = contaRepository.save(Conta.builder().nome("Poupança").usuario(user).build());
+
+        // Assert
+        Assertions.assertEquals(7, UUID.fromString(primeiraConta.getId()).version());
+        Assertions.assertTrue(primeiraConta.getId().compareTo(segundaConta.getId()) < 0);
+        Assertions.assertEquals("uuid", jdbcTemplate.queryForObject(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = 'contas' AND column_name = 'id'", String.class));
+        Assertions.assertEquals(segundaConta.getId(), contaRepository.findById(segundaConta.getId()).orElseThrow().getId());
+    }
+
+    @Test
+    public void naoDeveEncontrarContaPorIdQueNaoEUuid() {
+
+        // Act / Assert
+        Assertions.assertTrue(contaRepository.findById("1234").isEmpty());
+        Assertions.assertTrue(contaRepository.findLoginUsuarioById("id-invalido").isEmpty());
+    }
+}
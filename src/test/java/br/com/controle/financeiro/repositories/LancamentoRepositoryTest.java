@@ -6,20 +6,33 @@ import br.com.controle.financeiro.domain.Lancamento;
 import br.com.controle.financeiro.domain.user.UserRole;
 import br.com.controle.financeiro.domain.user.Usuario;
 import br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO;
+import br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO;
+import br.com.controle.financeiro.repositories.dto.ProprietariosLancamentoDTO;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class LancamentoRepositoryTest {
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
@@ -93,12 +106,294 @@ class LancamentoRepositoryTest {
         lancamentoRepository.save(lancamento2);
 
         // Act
-        List<Lancamento> lancamentosUsuario = lancamentoRepository.findLancamentosByUsuario(usuario.getLogin());
+        List<LancamentoResumoDTO> lancamentosUsuario = lancamentoRepository.findLancamentosByUsuario(usuario.getLogin());
 
         // Assert
         Assertions.assertEquals(2, lancamentosUsuario.size());
     }
 
+    @Test
+    public void deveObterResumoDosLancamentosSemCarregarContaECategoria() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+        var lancamento = Lancamento.builder()
+                .conta(contaCorrente).nome("Pipoca")
+                .categoria(categoriaAlimentacao)
+                .valor(BigDecimal.valueOf(123.45))
+                .data(LocalDate.of(2024, 4, 1))
+                .build();
+
+        usuarioRepository.save(usuario);
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+        lancamentoRepository.save(lancamento);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<LancamentoResumoDTO> resumos = lancamentoRepository.findLancamentosByUsuario(usuario.getLogin());
+        Lancamento lancamentoCarregado = lancamentoRepository.findById(lancamento.getId()).orElseThrow();
+
+        // Assert
+        Assertions.assertEquals(1, resumos.size());
+        Assertions.assertEquals(contaCorrente.getId(), resumos.get(0).getIdConta());
+        Assertions.assertEquals(categoriaAlimentacao.getId(), resumos.get(0).getIdCategoria());
+
+        // Conta e categoria só são carregadas quando acessadas
+        Assertions.assertFalse(Hibernate.isInitialized(lancamentoCarregado.getConta()));
+        Assertions.assertFalse(Hibernate.isInitialized(lancamentoCarregado.getCategoria()));
+        Assertions.assertEquals(contaCorrente.getId(), lancamentoCarregado.getConta().getId());
+    }
+
+    @Test
+    public void deveObterLancamentosDoUsuarioNoPeriodo() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+
+        usuarioRepository.save(usuario);
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        for (LocalDate data : List.of(LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 1),
+                LocalDate.of(2024, 4, 30), LocalDate.of(2024, 5, 1))) {
+            lancamentoRepository.save(Lancamento.builder()
+                    .conta(contaCorrente).nome("Lançamento " + data)
+                    .categoria(categoriaAlimentacao)
+                    .valor(BigDecimal.TEN)
+                    .data(data)
+                    .build());
+        }
+
+        // Act
+        List<LancamentoResumoDTO> lancamentosAbril = lancamentoRepository.findLancamentosByUsuarioEPeriodo(usuario.getLogin(),
+                LocalDate.of(2024, 4, 1), LocalDate.of(2024, 5, 1));
+
+        // Assert
+        Assertions.assertEquals(2, lancamentosAbril.size());
+        Assertions.assertTrue(lancamentosAbril.stream().allMatch(l -> l.getData().getMonthValue() == 4));
+    }
+
+    @Test
+    public void deveObterLancamentosDoUsuarioPaginadosPorCursor() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+
+        usuarioRepository.save(usuario);
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        for (int dia = 1; dia <= 5; dia++) {
+            lancamentoRepository.save(Lancamento.builder()
+                    .conta(contaCorrente).nome("Lançamento " + dia)
+                    .categoria(categoriaAlimentacao)
+                    .valor(BigDecimal.TEN)
+                    // Dois lançamentos por dia, para o desempate pelo id
+                    .data(LocalDate.of(2024, 4, (dia + 1) / 2))
+                    .build());
+        }
+
+        // Act
+        List<LancamentoResumoDTO> primeiraPagina = lancamentoRepository.findPrimeiraPaginaLancamentosByUsuario(usuario.getLogin(),
+                PageRequest.of(0, 3));
+        LancamentoResumoDTO ultimo = primeiraPagina.get(primeiraPagina.size() - 1);
+        List<LancamentoResumoDTO> segundaPagina = lancamentoRepository.findPaginaLancamentosByUsuario(usuario.getLogin(),
+                ultimo.getData(), ultimo.getId(), PageRequest.of(0, 3));
+        List<LancamentoCompletoDTO> segundaPaginaCompletos = lancamentoRepository.findPaginaLancamentosCompletosByUsuario(
+                usuario.getLogin(), ultimo.getData(), ultimo.getId(), PageRequest.of(0, 3));
+
+        // Assert
+        Assertions.assertEquals(3, primeiraPagina.size());
+        Assertions.assertEquals(2, segundaPagina.size());
+        Assertions.assertEquals(segundaPagina.stream().map(LancamentoResumoDTO::getId).toList(),
+                segundaPaginaCompletos.stream().map(LancamentoCompletoDTO::getId).toList());
+
+        // Nenhum lançamento se repete entre as páginas e a ordem (data, id) é mantida
+        List<LancamentoResumoDTO> todos = new ArrayList<>(primeiraPagina);
+        todos.addAll(segundaPagina);
+        Assertions.assertEquals(5, todos.stream().map(LancamentoResumoDTO::getId).distinct().count());
+        Assertions.assertEquals(todos.stream().sorted(Comparator.comparing(LancamentoResumoDTO::getData)
+                .thenComparing(LancamentoResumoDTO::getId)).toList(), todos);
+    }
+
+    @Test
+    public void deveLerLancamentosCompletosDoUsuarioComCursor() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var outroUsuario = Usuario.builder().login("outro").password("123456").role(UserRole.USER).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var contaOutroUsuario = Conta.builder().nome("Conta Corrente").usuario(outroUsuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+
+        usuarioRepository.save(usuario);
+        usuarioRepository.save(outroUsuario);
+        contaRepository.save(contaCorrente);
+        contaRepository.save(contaOutroUsuario);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        for (int dia = 1; dia <= 3; dia++) {
+            lancamentoRepository.save(Lancamento.builder()
+                    .conta(contaCorrente).nome("Lançamento " + dia)
+                    .categoria(categoriaAlimentacao)
+                    .valor(BigDecimal.TEN)
+                    .data(LocalDate.of(2024, 4, dia))
+                    .build());
+        }
+        lancamentoRepository.save(Lancamento.builder()
+                .conta(contaOutroUsuario).nome("Outro usuário")
+                .categoria(categoriaAlimentacao)
+                .valor(BigDecimal.TEN)
+                .data(LocalDate.of(2024, 4, 1))
+                .build());
+
+        // Act
+        List<String> nomes;
+        try (Stream<LancamentoCompletoDTO> lancamentos = lancamentoRepository.streamLancamentosCompletosByUsuario(usuario.getLogin())) {
+            nomes = lancamentos.map(LancamentoCompletoDTO::getNome).toList();
+        }
+
+        // Assert
+        Assertions.assertEquals(List.of("Lançamento 1", "Lançamento 2", "Lançamento 3"), nomes);
+    }
+
+    @Test
+    public void deveLerLancamentosCompletosDoUsuarioNoPeriodoComCursor() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+
+        usuarioRepository.save(usuario);
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        for (LocalDate data : List.of(LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29),
+                LocalDate.of(2024, 3, 1))) {
+            lancamentoRepository.save(Lancamento.builder()
+                    .conta(contaCorrente).nome("Lançamento " + data)
+                    .categoria(categoriaAlimentacao)
+                    .valor(BigDecimal.TEN)
+                    .data(data)
+                    .build());
+        }
+
+        // Act
+        List<LocalDate> datas;
+        try (Stream<LancamentoCompletoDTO> lancamentos = lancamentoRepository.streamLancamentosCompletosByUsuarioEPeriodo(
+                usuario.getLogin(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 1))) {
+            datas = lancamentos.map(LancamentoCompletoDTO::getData).toList();
+        }
+
+        // Assert
+        Assertions.assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29)), datas);
+    }
+
+    @Test
+    public void deveVerificarExistenciaDeLancamentoComMesmoNomeData() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+        LocalDate dataLancamento = LocalDate.of(2024, 5, 3);
+        var lancamento = Lancamento.builder()
+                .conta(contaCorrente).nome("Pipoca")
+                .categoria(categoriaAlimentacao)
+                .valor(BigDecimal.TEN)
+                .data(dataLancamento)
+                .build();
+
+        usuarioRepository.save(usuario);
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+        lancamentoRepository.save(lancamento);
+
+        // Act / Assert
+        Assertions.assertTrue(lancamentoRepository.existsByNomeAndDataAndContaUsuarioLogin("Pipoca", dataLancamento, "usuario"));
+        Assertions.assertFalse(lancamentoRepository.existsByNomeAndDataAndContaUsuarioLogin("Pipoca", dataLancamento.plusDays(1), "usuario"));
+        Assertions.assertFalse(lancamentoRepository.existsByNomeAndDataAndContaUsuarioLogin("Pipoca", dataLancamento, "outro_usuario"));
+        Assertions.assertFalse(lancamentoRepository.existsByNomeAndDataAndContaUsuarioLoginAndIdNot("Pipoca", dataLancamento, "usuario", lancamento.getId()));
+    }
+
+    @Test
+    public void deveObterLancamentosDoUsuarioPorNomesEDatas() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+        LocalDate dataLancamento = LocalDate.of(2024, 5, 3);
+
+        usuarioRepository.save(usuario);
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+        lancamentoRepository.saveAll(List.of(
+                Lancamento.builder().conta(contaCorrente).categoria(categoriaAlimentacao).nome("Pipoca")
+                        .valor(BigDecimal.TEN).data(dataLancamento).build(),
+                Lancamento.builder().conta(contaCorrente).categoria(categoriaAlimentacao).nome("Cinema")
+                        .valor(BigDecimal.TEN).data(dataLancamento.plusDays(1)).build(),
+                Lancamento.builder().conta(contaCorrente).categoria(categoriaAlimentacao).nome("Taxi")
+                        .valor(BigDecimal.TEN).data(dataLancamento).build()));
+
+        // Act
+        var lancamentos = lancamentoRepository.findLancamentosByUsuarioENomesEDatas("usuario",
+                Set.of("Pipoca", "Cinema"), Set.of(dataLancamento, dataLancamento.plusDays(1)));
+        var lancamentosOutroUsuario = lancamentoRepository.findLancamentosByUsuarioENomesEDatas("outro_usuario",
+                Set.of("Pipoca", "Cinema"), Set.of(dataLancamento, dataLancamento.plusDays(1)));
+
+        // Assert
+        Assertions.assertEquals(Set.of("Pipoca", "Cinema"),
+                lancamentos.stream().map(LancamentoResumoDTO::getNome).collect(Collectors.toSet()));
+        Assertions.assertTrue(lancamentosOutroUsuario.isEmpty());
+    }
+
+    @Test
+    public void deveObterProprietariosDosDadosDoLancamento() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var outroUsuario = Usuario.builder().login("outro_usuario").password("123456").role(UserRole.USER).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var categoriaOutroUsuario = Categoria.builder().nome("Alimentação").usuario(outroUsuario).build();
+        var lancamento = Lancamento.builder()
+                .conta(contaCorrente).nome("Pipoca")
+                .categoria(categoriaOutroUsuario)
+                .valor(BigDecimal.TEN)
+                .data(LocalDate.now())
+                .build();
+
+        usuarioRepository.save(usuario);
+        usuarioRepository.save(outroUsuario);
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaOutroUsuario);
+        lancamentoRepository.save(lancamento);
+
+        // Act
+        ProprietariosLancamentoDTO proprietarios = lancamentoRepository.findProprietariosLancamento(
+                contaCorrente.getId(), categoriaOutroUsuario.getId(), lancamento.getId());
+        ProprietariosLancamentoDTO proprietariosNovoLancamento = lancamentoRepository.findProprietariosLancamento(
+                "conta_inexistente", categoriaOutroUsuario.getId(), null);
+
+        // Assert
+        Assertions.assertEquals("usuario", proprietarios.getLoginConta());
+        Assertions.assertEquals("outro_usuario", proprietarios.getLoginCategoria());
+        Assertions.assertEquals("usuario", proprietarios.getLoginLancamento());
+
+        Assertions.assertNull(proprietariosNovoLancamento.getLoginConta());
+        Assertions.assertEquals("outro_usuario", proprietariosNovoLancamento.getLoginCategoria());
+        Assertions.assertNull(proprietariosNovoLancamento.getLoginLancamento());
+    }
+
     @Test
     public void deveObterLancamentosCompletosDoUsuario() {
 
@@ -0,0 +1,295 @@
+package br.com.controle.financeiro.repositories;
+
+import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.domain.Conta;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.Hibernate;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Confere, com EXPLAIN num Postgres embarcado criado pelas migrações do Flyway, que as consultas dos repositórios
+ * têm índice. Cada caso chama o repositório e explica o SQL que o Hibernate realmente enviou ao banco (capturado por
+ * um StatementInspector), então uma consulta alterada no repositório é verificada sem mudar este teste.
+ * <p>
+ * Os comandos são preparados e explicados com plano genérico (plan_cache_mode = force_generic_plan), que não depende
+ * dos valores dos parâmetros. A varredura sequencial fica desabilitada na sessão: o planejador só a escolhe quando
+ * nenhum índice atende a consulta, então o resultado não depende do volume de dados carregado.
+ * <p>
+ * Ficam de fora os inserts (inclusive a correção dos totais) e as consultas que percorrem as tabelas inteiras por
+ * definição (verificação dos saldos e lista dos usuários da reconstrução dos totais).
+ */
+@SpringBootTest(properties = {
+        "app.agendamentos.habilitado=false",
+        // Sem cache de segundo nível: toda chamada precisa chegar ao banco para que o SQL seja capturado
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlanoConsultasTest {
+
+    private static final String LOGIN = "usuario1";
+
+    private static final String ID = "0190f3c4-5a6b-7c8d-9e0f-a1b2c3d4e5f6";
+
+    private static final LocalDate DATA = LocalDate.of(2024, 3, 1);
+
+    private static final EmbeddedPostgres POSTGRES = iniciarPostgres();
+
+    private static final List<String> SQL_CAPTURADO = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    private SaldoContaRepository saldoContaRepository;
+
+    @Autowired
+    private TotalCompetenciaRepository totalCompetenciaRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String idContaExistente;
+
+    private String idCategoriaExistente;
+
+    @TestConfiguration
+    static class CapturaSqlConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer capturarSql() {
+            return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                SQL_CAPTURADO.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @DynamicPropertySource
+    static void configurarBanco(DynamicPropertyRegistry registro) {
+        registro.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registro.add("spring.datasource.username", () -> "postgres");
+        registro.add("spring.datasource.password", () -> "");
+    }
+
+    private static EmbeddedPostgres iniciarPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @BeforeAll
+    void carregarDados() {
+        jdbcTemplate.execute("INSERT INTO usuarios (id, login, password, role, versao_dados) "
+                + "SELECT gen_random_uuid(), 'usuario' || n, 'senha', 'USER', 0 FROM generate_series(1, 1000) n");
+        jdbcTemplate.execute("INSERT INTO contas (id, nome, id_usuario) "
+                + "SELECT gen_random_uuid(), 'Conta ' || k, u.id FROM usuarios u CROSS JOIN generate_series(1, 3) k");
+        jdbcTemplate.execute("INSERT INTO categorias (id, nome, id_usuario) "
+                + "SELECT gen_random_uuid(), 'Categoria ' || k, u.id FROM usuarios u CROSS JOIN generate_series(1, 3) k");
+        jdbcTemplate.execute("INSERT INTO lancamentos (id, nome, id_conta, id_categoria, data, valor, pago) "
+                + "SELECT gen_random_uuid(), 'Lançamento ' || (n % 50), c.id, cat.id, DATE '2024-01-01' + (n % 365), 10.00, n % 4 <> 0 "
+                + "FROM contas c JOIN categorias cat ON cat.id_usuario = c.id_usuario AND cat.nome = 'Categoria 1' "
+                + "CROSS JOIN generate_series(1, 20) n");
+        jdbcTemplate.execute("INSERT INTO saldos_conta (id_conta, valor_total, valor_pago) "
+                + "SELECT id_conta, SUM(valor), SUM(CASE WHEN pago THEN valor ELSE 0 END) FROM lancamentos GROUP BY id_conta");
+        jdbcTemplate.execute("INSERT INTO totais_competencia (id_usuario, id_conta, id_categoria, competencia, quantidade, valor_total, quantidade_pagos, valor_pago) "
+                + "SELECT c.id_usuario, l.id_conta, l.id_categoria, CAST(EXTRACT(YEAR FROM l.data) * 100 + EXTRACT(MONTH FROM l.data) AS integer) AS competencia, "
+                + "COUNT(*), SUM(l.valor), SUM(CASE WHEN l.pago THEN 1 ELSE 0 END), SUM(CASE WHEN l.pago THEN l.valor ELSE 0 END) "
+                + "FROM lancamentos l JOIN contas c ON c.id = l.id_conta GROUP BY c.id_usuario, l.id_conta, l.id_categoria, competencia");
+        jdbcTemplate.execute("INSERT INTO refresh_tokens (id, hash, id_usuario, familia, expira_em) "
+                + "SELECT gen_random_uuid(), md5(u.id::text) || md5(u.login), u.id, gen_random_uuid(), now() + interval '30 days' FROM usuarios u");
+        jdbcTemplate.execute("ANALYZE");
+
+        idContaExistente = jdbcTemplate.queryForObject("SELECT CAST(c.id AS varchar) FROM contas c "
+                + "JOIN usuarios u ON u.id = c.id_usuario WHERE u.login = ? AND c.nome = 'Conta 1'", String.class, LOGIN);
+        idCategoriaExistente = jdbcTemplate.queryForObject("SELECT CAST(cat.id AS varchar) FROM categorias cat "
+                + "JOIN usuarios u ON u.id = cat.id_usuario WHERE u.login = ? AND cat.nome = 'Categoria 1'", String.class, LOGIN);
+    }
+
+    @AfterAll
+    static void pararBanco() throws IOException {
+        POSTGRES.close();
+    }
+
+    @FunctionalInterface
+    interface Consulta {
+        void executar(PlanoConsultasTest teste);
+    }
+
+    Stream<Arguments> consultas() {
+        PageRequest pagina = PageRequest.of(0, 50);
+        return Stream.of(
+                caso("UsuarioRepository.findByLogin", t -> t.usuarioRepository.findByLogin(LOGIN)),
+                caso("UsuarioRepository.findVersaoDadosByLogin", t -> t.usuarioRepository.findVersaoDadosByLogin(LOGIN)),
+                caso("UsuarioRepository.incrementarVersaoDados", t -> t.usuarioRepository.incrementarVersaoDados(LOGIN)),
+                caso("ContaRepository.findById", t -> t.contaRepository.findById(ID)),
+                caso("ContaRepository.findAllContasByUsuarioLogin", t -> t.contaRepository.findAllContasByUsuarioLogin(LOGIN)),
+                caso("ContaRepository.findContasComSaldoByUsuarioLogin", t -> t.contaRepository.findContasComSaldoByUsuarioLogin(LOGIN)),
+                caso("ContaRepository.existsByNomeAndUsuarioLogin", t -> t.contaRepository.existsByNomeAndUsuarioLogin("Conta 1", LOGIN)),
+                caso("ContaRepository.findLoginUsuarioById", t -> t.contaRepository.findLoginUsuarioById(ID)),
+                caso("ContaRepository.findProprietariosByIdIn", t -> t.contaRepository.findProprietariosByIdIn(List.of(ID))),
+                caso("Conta.lancamentos (exclusão de conta)", t -> Hibernate.initialize(
+                        t.contaRepository.findById(t.idContaExistente).map(Conta::getLancamentos).orElseThrow())),
+                caso("CategoriaRepository.findById", t -> t.categoriaRepository.findById(ID)),
+                caso("CategoriaRepository.findAllCategoriasByUsuarioLogin", t -> t.categoriaRepository.findAllCategoriasByUsuarioLogin(LOGIN)),
+                caso("CategoriaRepository.existsByNomeAndUsuarioLogin", t -> t.categoriaRepository.existsByNomeAndUsuarioLogin("Categoria 1", LOGIN)),
+                caso("CategoriaRepository.findLoginUsuarioById", t -> t.categoriaRepository.findLoginUsuarioById(ID)),
+                caso("CategoriaRepository.findProprietariosByIdIn", t -> t.categoriaRepository.findProprietariosByIdIn(List.of(ID))),
+                caso("Categoria.lancamentos (exclusão de categoria)", t -> Hibernate.initialize(
+                        t.categoriaRepository.findById(t.idCategoriaExistente).map(Categoria::getLancamentos).orElseThrow())),
+                caso("LancamentoRepository.findLancamentosByUsuario", t -> t.lancamentoRepository.findLancamentosByUsuario(LOGIN)),
+                caso("LancamentoRepository.findPrimeiraPaginaLancamentosByUsuario",
+                        t -> t.lancamentoRepository.findPrimeiraPaginaLancamentosByUsuario(LOGIN, pagina)),
+                caso("LancamentoRepository.findPaginaLancamentosByUsuario",
+                        t -> t.lancamentoRepository.findPaginaLancamentosByUsuario(LOGIN, DATA, ID, pagina)),
+                caso("LancamentoRepository.findLancamentosByUsuarioEPeriodo",
+                        t -> t.lancamentoRepository.findLancamentosByUsuarioEPeriodo(LOGIN, DATA, DATA.plusMonths(1))),
+                caso("LancamentoRepository.findLancamentosByUsuarioENomesEDatas",
+                        t -> t.lancamentoRepository.findLancamentosByUsuarioENomesEDatas(LOGIN, List.of("Lançamento 1", "Lançamento 2"),
+                                List.of(DATA, DATA.plusDays(1)))),
+                caso("LancamentoRepository.existsByNomeAndDataAndContaUsuarioLogin",
+                        t -> t.lancamentoRepository.existsByNomeAndDataAndContaUsuarioLogin("Lançamento 1", DATA, LOGIN)),
+                caso("LancamentoRepository.existsByNomeAndDataAndContaUsuarioLoginAndIdNot",
+                        t -> t.lancamentoRepository.existsByNomeAndDataAndContaUsuarioLoginAndIdNot("Lançamento 1", DATA, LOGIN, ID)),
+                caso("LancamentoRepository.findByIdParaAtualizacao", t -> t.lancamentoRepository.findByIdParaAtualizacao(ID)),
+                caso("LancamentoRepository.findLoginUsuarioById", t -> t.lancamentoRepository.findLoginUsuarioById(ID)),
+                caso("LancamentoRepository.findProprietariosLancamento", t -> t.lancamentoRepository.findProprietariosLancamento(ID, ID, ID)),
+                caso("LancamentoRepository.findLancamentosCompletosByUsuario",
+                        t -> t.lancamentoRepository.findLancamentosCompletosByUsuario(LOGIN)),
+                caso("LancamentoRepository.streamLancamentosCompletosByUsuario", t -> {
+                    try (Stream<?> linhas = t.lancamentoRepository.streamLancamentosCompletosByUsuario(LOGIN)) {
+                        linhas.count();
+                    }
+                }),
+                caso("LancamentoRepository.streamLancamentosCompletosByUsuarioEPeriodo", t -> {
+                    try (Stream<?> linhas = t.lancamentoRepository.streamLancamentosCompletosByUsuarioEPeriodo(LOGIN, DATA, DATA.plusMonths(1))) {
+                        linhas.count();
+                    }
+                }),
+                caso("LancamentoRepository.findPrimeiraPaginaLancamentosCompletosByUsuario",
+                        t -> t.lancamentoRepository.findPrimeiraPaginaLancamentosCompletosByUsuario(LOGIN, pagina)),
+                caso("LancamentoRepository.findPaginaLancamentosCompletosByUsuario",
+                        t -> t.lancamentoRepository.findPaginaLancamentosCompletosByUsuario(LOGIN, DATA, ID, pagina)),
+                caso("SaldoContaRepository.findById", t -> t.saldoContaRepository.findById(ID)),
+                caso("SaldoContaRepository.recalcular", t -> t.saldoContaRepository.recalcular(ID)),
+                caso("SaldoContaRepository.removerPorConta", t -> t.saldoContaRepository.removerPorConta(ID)),
+                caso("TotalCompetenciaRepository.findTotaisByUsuarioECompetencia",
+                        t -> t.totalCompetenciaRepository.findTotaisByUsuarioECompetencia(LOGIN, 202403)),
+                caso("RefreshTokenRepository.findByHashComUsuario", t -> t.refreshTokenRepository.findByHashComUsuario("hash")),
+                caso("RefreshTokenRepository.findByHashParaRenovacao", t -> t.refreshTokenRepository.findByHashParaRenovacao("hash")),
+                caso("RefreshTokenRepository.findFamiliasAtivasByUsuario",
+                        t -> t.refreshTokenRepository.findFamiliasAtivasByUsuario(t.usuarioRepository.getReferenceById(ID))),
+                caso("RefreshTokenRepository.removerFamilias", t -> t.refreshTokenRepository.removerFamilias(List.of(ID))),
+                caso("RefreshTokenRepository.removerSubstituidos", t -> t.refreshTokenRepository.removerSubstituidos(ID)),
+                caso("RefreshTokenRepository.removerExpirados", t -> t.refreshTokenRepository.removerExpirados(Instant.EPOCH))
+        );
+    }
+
+    private static Arguments caso(String nome, Consulta consulta) {
+        return Arguments.of(nome, consulta);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    void naoDevePlanejarVarreduraSequencial(String nome, Consulta consulta) throws SQLException {
+
+        // Arrange: executa a consulta numa transação desfeita ao final, guardando o SQL enviado pelo Hibernate
+        SQL_CAPTURADO.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            consulta.executar(this);
+            status.setRollbackOnly();
+        });
+        List<String> comandos = SQL_CAPTURADO.stream()
+                .filter(sql -> !sql.stripLeading().toLowerCase().startsWith("insert"))
+                .toList();
+        Assertions.assertFalse(comandos.isEmpty(), () -> nome + " não enviou nenhuma consulta ao banco");
+
+        for (String sql : comandos) {
+
+            // Act
+            List<String> plano = explicar(sql);
+
+            // Assert
+            Assertions.assertTrue(plano.stream().noneMatch(linha -> linha.contains("Seq Scan")),
+                    () -> nome + " planejada com varredura sequencial:\n" + sql + "\n" + String.join("\n", plano));
+        }
+    }
+
+    // Conexão própria, fora do pool da aplicação, para que as configurações da sessão não alterem os demais comandos
+    private static List<String> explicar(String sql) throws SQLException {
+
+        int parametros = 0;
+        StringBuilder numerado = new StringBuilder();
+        for (char caractere : sql.toCharArray()) {
+            if (caractere == '?') {
+                numerado.append('$').append(++parametros);
+            } else {
+                numerado.append(caractere);
+            }
+        }
+        String argumentos = parametros == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parametros, "NULL")) + ")";
+
+        List<String> plano = new ArrayList<>();
+        try (Connection conexao = POSTGRES.getPostgresDatabase().getConnection();
+             Statement comando = conexao.createStatement()) {
+            comando.execute("SET enable_seqscan = off");
+            comando.execute("SET plan_cache_mode = force_generic_plan");
+            comando.execute("PREPARE consulta AS " + numerado);
+            try (ResultSet linhas = comando.executeQuery("EXPLAIN EXECUTE consulta" + argumentos)) {
+                while (linhas.next()) {
+                    plano.add(linhas.getString(1));
+                }
+            }
+        }
+        return plano;
+    }
+}
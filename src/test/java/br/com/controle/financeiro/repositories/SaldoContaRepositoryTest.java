@@ -0,0 +1,110 @@
+package br.com.controle.financeiro.repositories;
+
+import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.domain.SaldoConta;
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.repositories.dto.DivergenciaSaldoDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SaldoContaRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    private SaldoContaRepository saldoContaRepository;
+
+    @Test
+    public void deveAcumularDeltasNoSaldoDaConta() {
+
+        // Arrange
+        String idConta = UUID.randomUUID().toString();
+
+        // Act
+        saldoContaRepository.aplicarDelta(idConta, BigDecimal.valueOf(50.10), BigDecimal.valueOf(50.10));
+        saldoContaRepository.aplicarDelta(idConta, BigDecimal.valueOf(200), BigDecimal.ZERO);
+        saldoContaRepository.aplicarDelta(idConta, BigDecimal.valueOf(-50.10), BigDecimal.valueOf(-50.10));
+        entityManager.clear();
+
+        // Assert
+        SaldoConta saldo = saldoContaRepository.findById(idConta).orElseThrow();
+        Assertions.assertEquals(0, BigDecimal.valueOf(200).compareTo(saldo.getValorTotal()));
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(saldo.getValorPago()));
+    }
+
+    @Test
+    public void deveEncontrarERecalcularSaldoDivergente() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var cartaoCredito = Conta.builder().nome("Cartão Crédito").usuario(usuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+
+        usuarioRepository.save(usuario);
+        contaRepository.save(contaCorrente);
+        contaRepository.save(cartaoCredito);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        lancamentoRepository.save(Lancamento.builder().conta(contaCorrente).categoria(categoriaAlimentacao)
+                .nome("Pizza").valor(BigDecimal.valueOf(50.10)).data(LocalDate.of(2024, 4, 1)).pago(true).build());
+        lancamentoRepository.save(Lancamento.builder().conta(contaCorrente).categoria(categoriaAlimentacao)
+                .nome("Mercado").valor(BigDecimal.valueOf(200)).data(LocalDate.of(2024, 4, 30)).pago(false).build());
+        entityManager.flush();
+
+        // Saldo da conta corrente sem o pagamento da pizza; cartão sem lançamentos e sem saldo registrado
+        saldoContaRepository.aplicarDelta(contaCorrente.getId(), BigDecimal.valueOf(250.10), BigDecimal.ZERO);
+
+        // Act
+        List<DivergenciaSaldoDTO> divergencias = divergenciasDoUsuario(contaCorrente, cartaoCredito);
+        saldoContaRepository.recalcular(contaCorrente.getId());
+        entityManager.clear();
+
+        // Assert
+        Assertions.assertEquals(1, divergencias.size());
+        DivergenciaSaldoDTO divergencia = divergencias.get(0);
+        Assertions.assertEquals(contaCorrente.getId(), divergencia.getIdConta());
+        Assertions.assertEquals(0, BigDecimal.valueOf(250.10).compareTo(divergencia.getValorTotalCalculado()));
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(divergencia.getValorPagoRegistrado()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(50.10).compareTo(divergencia.getValorPagoCalculado()));
+
+        SaldoConta saldo = saldoContaRepository.findById(contaCorrente.getId()).orElseThrow();
+        Assertions.assertEquals(0, BigDecimal.valueOf(250.10).compareTo(saldo.getValorTotal()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(50.10).compareTo(saldo.getValorPago()));
+        Assertions.assertTrue(divergenciasDoUsuario(contaCorrente, cartaoCredito).isEmpty());
+    }
+
+    // A base de testes é compartilhada, então apenas as contas criadas pelo teste são consideradas
+    private List<DivergenciaSaldoDTO> divergenciasDoUsuario(Conta... contas) {
+        List<String> ids = Stream.of(contas).map(Conta::getId).toList();
+        return saldoContaRepository.findDivergencias().stream().filter(d -> ids.contains(d.getIdConta())).toList();
+    }
+}
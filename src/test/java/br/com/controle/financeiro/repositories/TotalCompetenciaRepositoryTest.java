@@ -0,0 +1,132 @@
+package br.com.controle.financeiro.repositories;
+
+import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.domain.TotalCompetencia;
+import br.com.controle.financeiro.domain.TotalCompetenciaId;
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.repositories.dto.TotalLancamentosDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TotalCompetenciaRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    private TotalCompetenciaRepository totalCompetenciaRepository;
+
+    @Test
+    public void deveAcumularDeltasNoTotalDaCompetencia() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+
+        usuarioRepository.save(usuario);
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+        entityManager.flush();
+
+        // Act
+        totalCompetenciaRepository.aplicarDelta(contaCorrente.getId(), categoriaAlimentacao.getId(), 202404,
+                1, BigDecimal.valueOf(50.10), 1, BigDecimal.valueOf(50.10));
+        totalCompetenciaRepository.aplicarDelta(contaCorrente.getId(), categoriaAlimentacao.getId(), 202404,
+                1, BigDecimal.valueOf(200), 0, BigDecimal.ZERO);
+        totalCompetenciaRepository.aplicarDelta(contaCorrente.getId(), categoriaAlimentacao.getId(), 202404,
+                -1, BigDecimal.valueOf(-50.10), -1, BigDecimal.valueOf(-50.10));
+        entityManager.clear();
+
+        // Assert
+        TotalCompetencia total = totalCompetenciaRepository.findById(new TotalCompetenciaId(usuario.getId(),
+                contaCorrente.getId(), categoriaAlimentacao.getId(), 202404)).orElseThrow();
+        Assertions.assertEquals(1, total.getQuantidade());
+        Assertions.assertEquals(0, total.getQuantidadePagos());
+        Assertions.assertEquals(0, BigDecimal.valueOf(200).compareTo(total.getValorTotal()));
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(total.getValorPago()));
+    }
+
+    @Test
+    public void deveCorrigirTotaisDoUsuarioPorContaECategoria() {
+
+        // Arrange
+        var usuario = Usuario.builder().login("usuario").password("123456").role(UserRole.ADMIN).build();
+        var contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuario).build();
+        var categoriaAlimentacao = Categoria.builder().nome("Alimentação").usuario(usuario).build();
+        var categoriaTransporte = Categoria.builder().nome("Transporte").usuario(usuario).build();
+
+        usuarioRepository.save(usuario);
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+        categoriaRepository.save(categoriaTransporte);
+
+        lancamentoRepository.save(Lancamento.builder().conta(contaCorrente).categoria(categoriaAlimentacao)
+                .nome("Pizza").valor(BigDecimal.valueOf(50.10)).data(LocalDate.of(2024, 4, 1)).pago(true).build());
+        lancamentoRepository.save(Lancamento.builder().conta(contaCorrente).categoria(categoriaAlimentacao)
+                .nome("Mercado").valor(BigDecimal.valueOf(200)).data(LocalDate.of(2024, 4, 30)).pago(false).build());
+        lancamentoRepository.save(Lancamento.builder().conta(contaCorrente).categoria(categoriaTransporte)
+                .nome("Uber").valor(BigDecimal.valueOf(30)).data(LocalDate.of(2024, 4, 15)).pago(true).build());
+        // Fora da competência
+        lancamentoRepository.save(Lancamento.builder().conta(contaCorrente).categoria(categoriaTransporte)
+                .nome("Taxi").valor(BigDecimal.valueOf(99)).data(LocalDate.of(2024, 5, 1)).pago(false).build());
+        entityManager.flush();
+        // Totais divergentes: um com valores errados e outro sem lançamentos
+        totalCompetenciaRepository.aplicarDelta(contaCorrente.getId(), categoriaTransporte.getId(), 202404,
+                5, BigDecimal.valueOf(500), 0, BigDecimal.ZERO);
+        totalCompetenciaRepository.aplicarDelta(contaCorrente.getId(), categoriaAlimentacao.getId(), 202403,
+                1, BigDecimal.TEN, 1, BigDecimal.TEN);
+
+        // Act
+        int totaisCorrigidos = totalCompetenciaRepository.corrigirTotaisDoUsuario(usuario.getId());
+        int totaisCorrigidosNovamente = totalCompetenciaRepository.corrigirTotaisDoUsuario(usuario.getId());
+        List<TotalLancamentosDTO> totais = totalCompetenciaRepository.findTotaisByUsuarioECompetencia(usuario.getLogin(), 202404);
+
+        // Assert
+        Assertions.assertEquals(4, totaisCorrigidos);
+        Assertions.assertEquals(0, totaisCorrigidosNovamente);
+        Assertions.assertTrue(totalCompetenciaRepository.findTotaisByUsuarioECompetencia(usuario.getLogin(), 202403).isEmpty());
+        Assertions.assertEquals(2, totais.size());
+
+        TotalLancamentosDTO totalAlimentacao = totais.stream()
+                .filter(t -> t.getIdCategoria().equals(categoriaAlimentacao.getId())).findFirst().orElseThrow();
+        Assertions.assertEquals(contaCorrente.getId(), totalAlimentacao.getIdConta());
+        Assertions.assertEquals("Alimentação", totalAlimentacao.getNomeCategoria());
+        Assertions.assertEquals(2, totalAlimentacao.getQuantidade());
+        Assertions.assertEquals(1, totalAlimentacao.getQuantidadePagos());
+        Assertions.assertEquals(0, BigDecimal.valueOf(250.10).compareTo(totalAlimentacao.getValorTotal()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(50.10).compareTo(totalAlimentacao.getValorPago()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(200).compareTo(totalAlimentacao.getValorNaoPago()));
+
+        TotalLancamentosDTO totalTransporte = totais.stream()
+                .filter(t -> t.getIdCategoria().equals(categoriaTransporte.getId())).findFirst().orElseThrow();
+        Assertions.assertEquals(1, totalTransporte.getQuantidade());
+        Assertions.assertEquals(0, BigDecimal.valueOf(30).compareTo(totalTransporte.getValorTotal()));
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(totalTransporte.getValorNaoPago()));
+    }
+}
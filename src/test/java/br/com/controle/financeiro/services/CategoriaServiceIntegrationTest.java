@@ -11,6 +11,7 @@ import br.com.controle.financeiro.repositories.ContaRepository;
 import br.com.controle.financeiro.repositories.LancamentoRepository;
 import br.com.controle.financeiro.repositories.UsuarioRepository;
 import br.com.controle.financeiro.services.exception.NegocioException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +48,12 @@ class CategoriaServiceIntegrationTest {
         this.criarUsuarioPadrao();
     }
 
+    // Os dados são gravados de fato (sem rollback): limpa também ao final, para não afetar as classes seguintes
+    @AfterEach
+    public void limparMassaTeste() {
+        this.limparBase();
+    }
+
     private void limparBase() {
         lancamentoRepository.deleteAll();
         categoriaRepository.deleteAll();
@@ -80,6 +87,25 @@ class CategoriaServiceIntegrationTest {
         Assertions.assertEquals(2, categoriasUsuario.size());
     }
 
+    @Test
+    void deveRefletirEscritasNaListagemDeCategoriasEmCache() {
+
+        //Arrange
+        String login = usuarioPadrao.getLogin();
+        Assertions.assertTrue(categoriaService.obterTodasCategorias(login).isEmpty());
+
+        // Act / Assert
+        Categoria categoria = categoriaService.criarCategoria(new CategoriaRequestDTO(null, "Transporte"), login);
+        Assertions.assertEquals(List.of("Transporte"), categoriaService.obterTodasCategorias(login).stream().map(Categoria::getNome).toList());
+
+        categoriaService.atualizarCategoria(categoria.getId(), new CategoriaRequestDTO(categoria.getId(), "Mobilidade"), login);
+        Assertions.assertEquals(List.of("Mobilidade"), categoriaService.obterTodasCategorias(login).stream().map(Categoria::getNome).toList());
+        Assertions.assertEquals("Mobilidade", categoriaService.obterCategoriaPorId(categoria.getId(), login).getNome());
+
+        categoriaService.deletarCategoria(categoria.getId(), login);
+        Assertions.assertTrue(categoriaService.obterTodasCategorias(login).isEmpty());
+    }
+
     @Test
     void deveObterCategoriaPorId() {
 
@@ -89,7 +89,7 @@ class CategoriaServiceTest {
         CategoriaRequestDTO novaCategoriaDto = new CategoriaRequestDTO(null, nomeNovaCategoria);
 
         List<Categoria> categoriasExistentes = List.of(Categoria.builder().nome("Alimentacao").build());
-        Mockito.when(categoriaRepositoryMock.findAllCategoriasByUsuarioLogin(loginUsuario)).thenReturn(categoriasExistentes);
+        simularCategoriasExistentes(loginUsuario, categoriasExistentes);
 
         Usuario usuario = Usuario.builder().login(loginUsuario).id("1234").build();
         Mockito.when(usuarioRepositoryMock.findByLogin(loginUsuario)).thenReturn(usuario);
@@ -116,7 +116,7 @@ class CategoriaServiceTest {
         Categoria alimentacao = Categoria.builder().nome("Alimentacao").build();
         Categoria transporte = Categoria.builder().nome("Transporte").build();
         List<Categoria> categoriasExistentes = List.of(alimentacao, transporte);
-        Mockito.when(categoriaRepositoryMock.findAllCategoriasByUsuarioLogin(loginUsuario)).thenReturn(categoriasExistentes);
+        simularCategoriasExistentes(loginUsuario, categoriasExistentes);
 
         Usuario usuario = Usuario.builder().login(loginUsuario).id("1234").build();
         String idCategoria = "id_Categoria";
@@ -144,7 +144,7 @@ class CategoriaServiceTest {
         Categoria alimentacao = Categoria.builder().nome("Alimentacao").build();
         Categoria transporte = Categoria.builder().nome("Transporte").build();
         List<Categoria> categoriasExistentes = List.of(alimentacao, transporte);
-        Mockito.when(categoriaRepositoryMock.findAllCategoriasByUsuarioLogin(loginUsuario)).thenReturn(categoriasExistentes);
+        simularCategoriasExistentes(loginUsuario, categoriasExistentes);
 
         String idCategoria = "id_Categoria";
 
@@ -209,10 +209,12 @@ class CategoriaServiceTest {
     void naoDeveLancarErroAoValidarCategoriaNomeDiferente() {
 
         //Arrange
+        String loginUsuario = "user@login.com";
         List<Categoria> categorias = List.of(Categoria.builder().nome("Alimentacao").build());
+        simularCategoriasExistentes(loginUsuario, categorias);
 
         //Act
-        categoriaService.validarCategoriaComMesmoNome("Transporte", categorias);
+        categoriaService.validarCategoriaComMesmoNome("Transporte", loginUsuario);
 
         //Assert
         //Não lançar erro.
@@ -222,15 +224,17 @@ class CategoriaServiceTest {
     void deveLancarErroAoValidarCategoriaMesmoNome() {
 
         //Arrange
+        String loginUsuario = "user@login.com";
         List<Categoria> categorias = List.of(
                 Categoria.builder().nome("Transporte").build(),
                 Categoria.builder().nome("Alimentacao").build());
+        simularCategoriasExistentes(loginUsuario, categorias);
 
         Assertions.assertThrows(
                 //Assert
                 NegocioException.class,
                 //Act
-                () -> categoriaService.validarCategoriaComMesmoNome("Alimentacao", categorias)
+                () -> categoriaService.validarCategoriaComMesmoNome("Alimentacao", loginUsuario)
         );
     }
 
@@ -242,7 +246,17 @@ class CategoriaServiceTest {
         // IGNORA o teste caso a lista de categorias seja null, mas não considera uma FALHA.
         Assumptions.assumeTrue(categoriasParametrizada != null);
 
-        categoriaService.validarCategoriaComMesmoNome(nomeCategoriaParametrizada, categoriasParametrizada);
+        String loginUsuario = "user@login.com";
+        simularCategoriasExistentes(loginUsuario, categoriasParametrizada);
+
+        categoriaService.validarCategoriaComMesmoNome(nomeCategoriaParametrizada, loginUsuario);
+    }
+
+    // Simula a consulta de existência do banco a partir das categorias informadas
+    private void simularCategoriasExistentes(String loginUsuario, List<Categoria> categoriasExistentes) {
+        Mockito.when(categoriaRepositoryMock.existsByNomeAndUsuarioLogin(Mockito.anyString(), Mockito.eq(loginUsuario)))
+                .thenAnswer(invocation -> categoriasExistentes.stream()
+                        .anyMatch(c -> c.getNome().equals(invocation.getArgument(0))));
     }
 
     static Stream<Arguments> provedorParametrosNomesCategorias() {
@@ -11,6 +11,7 @@ import br.com.controle.financeiro.repositories.ContaRepository;
 import br.com.controle.financeiro.repositories.LancamentoRepository;
 import br.com.controle.financeiro.repositories.UsuarioRepository;
 import br.com.controle.financeiro.services.exception.NegocioException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,9 @@ class ContaServiceIntegrationTest {
 
     @Autowired
     private ContaService contaService;
+
+    @Autowired
+    private VersaoDadosService versaoDadosService;
     private Usuario usuarioPadrao = null;
 
     @BeforeEach
@@ -47,6 +51,12 @@ class ContaServiceIntegrationTest {
         this.criarUsuarioPadrao();
     }
 
+    // Os dados são gravados de fato (sem rollback): limpa também ao final, para não afetar as classes seguintes
+    @AfterEach
+    public void limparMassaTeste() {
+        this.limparBase();
+    }
+
     private void limparBase() {
     	lancamentoRepository.deleteAll();
     	categoriaRepository.deleteAll();
@@ -80,6 +90,25 @@ class ContaServiceIntegrationTest {
         Assertions.assertEquals(2, contasUsuario.size());
     }
 
+    @Test
+    void deveRefletirEscritasNaListagemDeContasEmCache() {
+
+        //Arrange
+        String login = usuarioPadrao.getLogin();
+        Assertions.assertTrue(contaService.obterTodasContas(login).isEmpty());
+
+        // Act / Assert
+        Conta conta = contaService.criarConta(new ContaRequestDTO(null, "Conta Corrente"), login);
+        Assertions.assertEquals(List.of("Conta Corrente"), contaService.obterTodasContas(login).stream().map(Conta::getNome).toList());
+
+        contaService.atualizarConta(conta.getId(), new ContaRequestDTO(conta.getId(), "Conta Salário"), login);
+        Assertions.assertEquals(List.of("Conta Salário"), contaService.obterTodasContas(login).stream().map(Conta::getNome).toList());
+        Assertions.assertEquals("Conta Salário", contaService.obterContaPorId(conta.getId(), login).getNome());
+
+        contaService.deletarConta(conta.getId(), login);
+        Assertions.assertTrue(contaService.obterTodasContas(login).isEmpty());
+    }
+
     @Test
     void deveObterContaPorId() {
 
@@ -163,6 +192,24 @@ class ContaServiceIntegrationTest {
         Assertions.assertEquals(0, contasDepoisExclusao.size());
     }
 
+    @Test
+    void deveIncrementarVersaoDadosSomenteQuandoEscritaConfirmada() {
+
+        //Arrange
+        String login = usuarioPadrao.getLogin();
+        long versaoInicial = versaoDadosService.obterVersao(login);
+
+        // Act
+        Conta conta = contaService.criarConta(new ContaRequestDTO(null, "Conta Corrente"), login);
+        contaService.atualizarConta(conta.getId(), new ContaRequestDTO(conta.getId(), "Conta Salário"), login);
+        // Nome repetido: a transação é desfeita e a versão não muda
+        Assertions.assertThrows(NegocioException.class,
+                () -> contaService.criarConta(new ContaRequestDTO(null, "Conta Salário"), login));
+
+        //Assert
+        Assertions.assertEquals(versaoInicial + 2, versaoDadosService.obterVersao(login));
+    }
+
     @Test
     void naoDeveDeletarContaComLancamentoAssociado() {
 
@@ -89,7 +89,7 @@ class ContaServiceTest {
 		ContaRequestDTO novaContaDto = new ContaRequestDTO(null, nomeNovaConta);
 
 		List<Conta> contasExistentes = List.of(Conta.builder().nome("Conta Corrente").build());
-		Mockito.when(contaRepositoryMock.findAllContasByUsuarioLogin(loginUsuario)).thenReturn(contasExistentes);
+		simularContasExistentes(loginUsuario, contasExistentes);
 
 		Usuario usuario = Usuario.builder().login(loginUsuario).id("1234").build();
 		Mockito.when(usuarioRepositoryMock.findByLogin(loginUsuario)).thenReturn(usuario);
@@ -105,7 +105,7 @@ class ContaServiceTest {
 		Assertions.assertEquals(contaEsperada, contaResultado);
 
 		//verifica que um método da depencia com mock foi chamado com os parâmetros esperados.
-		Mockito.verify(contaRepositoryMock).findAllContasByUsuarioLogin(loginUsuario);
+		Mockito.verify(contaRepositoryMock).existsByNomeAndUsuarioLogin(nomeNovaConta, loginUsuario);
 		Mockito.verify(usuarioRepositoryMock).findByLogin(loginUsuario);
 	}
 
@@ -121,7 +121,7 @@ class ContaServiceTest {
 		Conta cartaoCredito = Conta.builder().nome("Cartão Crédito").build();
 		Conta contaCorrente = Conta.builder().nome("Conta Corrente").build();
 		List<Conta> contasExistentes = List.of(cartaoCredito, contaCorrente);
-		Mockito.when(contaRepositoryMock.findAllContasByUsuarioLogin(loginUsuario)).thenReturn(contasExistentes);
+		simularContasExistentes(loginUsuario, contasExistentes);
 
 		Usuario usuario = Usuario.builder().login(loginUsuario).id("1234").build();
 		String idConta = "id_Conta";
@@ -149,7 +149,7 @@ class ContaServiceTest {
 		Conta cartaoCredito = Conta.builder().nome("Cartão Crédito").build();
 		Conta contaCorrente = Conta.builder().nome("Conta Corrente").build();
 		List<Conta> contasExistentes = List.of(cartaoCredito, contaCorrente);
-		Mockito.when(contaRepositoryMock.findAllContasByUsuarioLogin(loginUsuario)).thenReturn(contasExistentes);
+		simularContasExistentes(loginUsuario, contasExistentes);
 
 		String idConta = "id_Conta";
 
@@ -210,10 +210,12 @@ class ContaServiceTest {
 	void naoDeveLancarErroAoValidarContaNomeDiferente() {
 
 		// Arrange
+		String loginUsuario = "user@login.com";
 		List<Conta> contas = List.of(Conta.builder().nome("Cartão Crédito").build());
+		simularContasExistentes(loginUsuario, contas);
 
 		// Act
-		contaService.validarContaComMesmoNome("Conta Conjunta", contas);
+		contaService.validarContaComMesmoNome("Conta Conjunta", loginUsuario);
 
 		// Assert
 		// Não lançar erro.
@@ -223,14 +225,16 @@ class ContaServiceTest {
 	void deveLancarErroAoValidarContaMesmoNome() {
 
 		// Arrange
+		String loginUsuario = "user@login.com";
 		List<Conta> contas = List.of(Conta.builder().nome("Contorrente").build(),
 				Conta.builder().nome("Cartão Crédito").build());
+		simularContasExistentes(loginUsuario, contas);
 
 		Assertions.assertThrows(
 				// Assert
 				NegocioException.class,
 				// Act
-				() -> contaService.validarContaComMesmoNome("Cartão Crédito", contas));
+				() -> contaService.validarContaComMesmoNome("Cartão Crédito", loginUsuario));
 	}
 
 	
@@ -250,7 +254,17 @@ class ContaServiceTest {
 		// IGNORA o teste caso a lista de contas seja null, mas não considera uma FALHA.
 		Assumptions.assumeTrue(contasParametrizada != null);
 
-		contaService.validarContaComMesmoNome(nomeContaParametrizada, contasParametrizada);
+		String loginUsuario = "user@login.com";
+		simularContasExistentes(loginUsuario, contasParametrizada);
+
+		contaService.validarContaComMesmoNome(nomeContaParametrizada, loginUsuario);
+	}
+
+	// Simula a consulta de existência do banco a partir das contas informadas
+	private void simularContasExistentes(String loginUsuario, List<Conta> contasExistentes) {
+		Mockito.when(contaRepositoryMock.existsByNomeAndUsuarioLogin(Mockito.anyString(), Mockito.eq(loginUsuario)))
+				.thenAnswer(invocation -> contasExistentes.stream()
+						.anyMatch(c -> c.getNome().equals(invocation.getArgument(0))));
 	}
 
 	static Stream<Arguments> provedorParametrosNomesContas() {
@@ -17,6 +17,9 @@ class ContaServiceTestComStub {
 	// Outras dependências inicializadas com null, pois não serão utilizadas nesse teste
 	private UsuarioRepository usuarioRepository = null;
 	private ValidacaoDadosUsuarioService validacaoDadosUsuarioService = null;
+	private SaldoContaService saldoContaService = null;
+
+	private VersaoDadosService versaoDadosService = null;
 
 	private ContaService contaService;
 
@@ -28,7 +31,9 @@ class ContaServiceTestComStub {
 		contaService = new ContaService(
 				contaRepositoryStub, 
 				usuarioRepository, 
-				validacaoDadosUsuarioService);
+				validacaoDadosUsuarioService,
+				saldoContaService,
+				versaoDadosService);
 
 		
 		String loginUsuario = "user@login.com";
@@ -0,0 +1,161 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.controllers.dto.LancamentoRequestDTO;
+import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.domain.user.UserRole;
+import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.repositories.CategoriaRepository;
+import br.com.controle.financeiro.repositories.ContaRepository;
+import br.com.controle.financeiro.repositories.LancamentoRepository;
+import br.com.controle.financeiro.repositories.SaldoContaRepository;
+import br.com.controle.financeiro.repositories.TotalCompetenciaRepository;
+import br.com.controle.financeiro.repositories.UsuarioRepository;
+import br.com.controle.financeiro.services.exception.NegocioException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+@SpringBootTest
+class ImportacaoExtratoServiceIntegrationTest {
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TotalCompetenciaRepository totalCompetenciaRepository;
+
+    @Autowired
+    private SaldoContaRepository saldoContaRepository;
+
+    @Autowired
+    private LancamentoService lancamentoService;
+
+    @Autowired
+    private ImportacaoExtratoService importacaoExtratoService;
+
+    private Usuario usuario;
+
+    private Conta conta;
+
+    private Categoria categoria;
+
+    @BeforeEach
+    public void prepararMassaTeste() {
+        limparBase();
+        usuario = usuarioRepository.save(Usuario.builder().login("joao@teste.com").password("senha").role(UserRole.ADMIN).build());
+        conta = contaRepository.save(Conta.builder().nome("Conta Corrente").usuario(usuario).build());
+        categoria = categoriaRepository.save(Categoria.builder().nome("Diversos").usuario(usuario).build());
+
+        // Lotes pequenos para exercitar a gravação em várias transações
+        ReflectionTestUtils.setField(importacaoExtratoService, "tamanhoLote", 2);
+    }
+
+    @AfterEach
+    public void restaurarTamanhoLote() {
+        ReflectionTestUtils.setField(importacaoExtratoService, "tamanhoLote", 500);
+        limparBase();
+    }
+
+    private void limparBase() {
+        totalCompetenciaRepository.deleteAll();
+        saldoContaRepository.deleteAll();
+        lancamentoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        contaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void deveImportarExtratoEmLotesRejeitandoLinhasInvalidas() {
+
+        // Arrange
+        lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Cinema", conta.getId(), categoria.getId(),
+                "02-05-2024", BigDecimal.TEN, true), usuario.getLogin());
+
+        String csv = """
+                data;nome;valor
+                01-05-2024;Pizza;50,00
+                02-05-2024;Cinema;10,00
+                03-05-2024;Uber;25,00
+                data-invalida;Mercado;10,00
+                01-05-2024;Pizza;50,00
+                04-05-2024;Casa;999999,00
+                05-05-2024;Farmácia;15,50
+                """;
+
+        // Act
+        ResultadoImportacao resultado = importacaoExtratoService.importar(new StringReader(csv), FormatoExtrato.CSV,
+                conta.getId(), categoria.getId(), usuario.getLogin());
+
+        // Assert
+        Assertions.assertEquals(7, resultado.linhasLidas());
+        Assertions.assertEquals(3, resultado.importados());
+        Assertions.assertEquals(4, resultado.rejeitados());
+        Assertions.assertEquals(3, resultado.lotes());
+        Assertions.assertEquals(List.of(
+                new ResultadoImportacao.ErroLinha(3, "Lançamento com nome e data informados já existente!"),
+                new ResultadoImportacao.ErroLinha(5, "Data inválida: data-invalida"),
+                // Repetida de uma linha gravada em lote anterior
+                new ResultadoImportacao.ErroLinha(6, "Lançamento com nome e data informados já existente!"),
+                new ResultadoImportacao.ErroLinha(7, "Valor do lançamento informado não deve ser superior a 100000!")),
+                resultado.erros());
+
+        Assertions.assertEquals(4, lancamentoService.obterTodosLancamentos(usuario.getLogin()).size());
+        Assertions.assertEquals(new ResumoCompetencia.Totais(4, 4, new BigDecimal("100.50"), new BigDecimal("100.50"),
+                new BigDecimal("0.00")), lancamentoService.obterResumoPorCompetencia(202405, usuario.getLogin()).total());
+    }
+
+    @Test
+    void deveRejeitarLinhaComNomeMaiorQueAColunaSemPerderOLote() {
+
+        // Arrange: as duas linhas caem no mesmo lote
+        String csv = "01-05-2024;Pizza;50,00\n"
+                + "02-05-2024;" + "X".repeat(300) + ";10,00\n";
+
+        // Act
+        ResultadoImportacao resultado = importacaoExtratoService.importar(new StringReader(csv), FormatoExtrato.CSV,
+                conta.getId(), categoria.getId(), usuario.getLogin());
+
+        // Assert
+        Assertions.assertEquals(1, resultado.importados());
+        Assertions.assertEquals(List.of(new ResultadoImportacao.ErroLinha(2, "Nome deve ter no máximo 255 caracteres.")),
+                resultado.erros());
+        Assertions.assertEquals(1, lancamentoService.obterTodosLancamentos(usuario.getLogin()).size());
+    }
+
+    @Test
+    void naoDeveImportarExtratoParaContaDeOutroUsuario() {
+
+        // Arrange
+        Usuario outroUsuario = usuarioRepository.save(Usuario.builder().login("maria@teste.com").password("senha")
+                .role(UserRole.USER).build());
+
+        // Assert
+        NegocioException erro = Assertions.assertThrows(
+                // Assert
+                NegocioException.class,
+                // Act
+                () -> importacaoExtratoService.importar(new StringReader("01-05-2024;Pizza;50"), FormatoExtrato.CSV,
+                        conta.getId(), categoria.getId(), outroUsuario.getLogin()));
+        Assertions.assertEquals("Conta não pertence ao usuário informado!", erro.getMessage());
+        Assertions.assertTrue(lancamentoRepository.findAll().isEmpty());
+    }
+}
@@ -4,12 +4,19 @@ import br.com.controle.financeiro.controllers.dto.LancamentoRequestDTO;
 import br.com.controle.financeiro.domain.Categoria;
 import br.com.controle.financeiro.domain.Conta;
 import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.domain.SaldoConta;
 import br.com.controle.financeiro.domain.user.UserRole;
 import br.com.controle.financeiro.domain.user.Usuario;
+import br.com.controle.financeiro.infra.persistencia.ExecucaoExclusiva;
 import br.com.controle.financeiro.repositories.CategoriaRepository;
 import br.com.controle.financeiro.repositories.ContaRepository;
 import br.com.controle.financeiro.repositories.LancamentoRepository;
+import br.com.controle.financeiro.repositories.SaldoContaRepository;
+import br.com.controle.financeiro.repositories.TotalCompetenciaRepository;
 import br.com.controle.financeiro.repositories.UsuarioRepository;
+import br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO;
+import br.com.controle.financeiro.services.exception.NegocioException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +27,14 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -38,9 +52,24 @@ class LancamentoServiceIntegrationTest {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private TotalCompetenciaRepository totalCompetenciaRepository;
+
+    @Autowired
+    private SaldoContaRepository saldoContaRepository;
+
     @Autowired
     private LancamentoService lancamentoService;
 
+    @Autowired
+    private TotalCompetenciaService totalCompetenciaService;
+
+    @Autowired
+    private SaldoContaService saldoContaService;
+
+    @Autowired
+    private ExecucaoExclusiva execucaoExclusiva;
+
     private Usuario usuarioPadrao = null;
 
     @BeforeEach
@@ -49,7 +78,15 @@ class LancamentoServiceIntegrationTest {
         this.criarUsuarioPadrao();
     }
 
+    // Os dados são gravados de fato (sem rollback): limpa também ao final, para não afetar as classes seguintes
+    @AfterEach
+    public void limparMassaTeste() {
+        this.limparBase();
+    }
+
     private void limparBase() {
+        totalCompetenciaRepository.deleteAll();
+        saldoContaRepository.deleteAll();
         lancamentoRepository.deleteAll();
         categoriaRepository.deleteAll();
         contaRepository.deleteAll();
@@ -100,7 +137,7 @@ class LancamentoServiceIntegrationTest {
         lancamentoRepository.save(lancamentoPastel);
 
         // Act
-        List<Lancamento> lancamentosObtidos = lancamentoService.obterTodosLancamentos(usuarioPadrao.getLogin());
+        List<LancamentoResumoDTO> lancamentosObtidos = lancamentoService.obterTodosLancamentos(usuarioPadrao.getLogin());
 
         //Assert
         Assertions.assertEquals(2, lancamentosObtidos.size());
@@ -166,6 +203,34 @@ class LancamentoServiceIntegrationTest {
         Assertions.assertEquals("Pizza", lancamentoCriado.getNome());
     }
 
+    @Test
+    void deveCriarLancamentosEmLote() {
+
+        //Arrange
+        Conta contaCorrente = contaRepository.save(Conta.builder().nome("Conta Corrente").usuario(usuarioPadrao).build());
+        Categoria categoriaAlimentacao = categoriaRepository.save(Categoria.builder().nome("Alimentacao").usuario(usuarioPadrao).build());
+
+        List<LancamentoRequestDTO> lote = List.of(
+                new LancamentoRequestDTO(null, "Pizza", contaCorrente.getId(), categoriaAlimentacao.getId(),
+                        "03-05-2024", BigDecimal.TEN, false),
+                new LancamentoRequestDTO(null, "Pizza", contaCorrente.getId(), categoriaAlimentacao.getId(),
+                        "10-05-2024", BigDecimal.ONE, true));
+
+        // Act
+        List<Lancamento> lancamentosCriados = lancamentoService.criarLancamentos(lote, usuarioPadrao.getLogin());
+
+        //Assert
+        Assertions.assertEquals(2, lancamentosCriados.size());
+        Assertions.assertTrue(lancamentosCriados.stream().allMatch(l -> l.getId() != null));
+        Assertions.assertEquals(2, lancamentoService.obterTodosLancamentos(usuarioPadrao.getLogin()).size());
+
+        // Reenviar o mesmo lote é rejeitado sem criar nenhum lançamento
+        NegocioException erro = Assertions.assertThrows(NegocioException.class,
+                () -> lancamentoService.criarLancamentos(lote, usuarioPadrao.getLogin()));
+        Assertions.assertEquals("Lançamento com nome e data informados já existente: Pizza (03-05-2024).", erro.getMessage());
+        Assertions.assertEquals(2, lancamentoService.obterTodosLancamentos(usuarioPadrao.getLogin()).size());
+    }
+
     @Test
     void deveAtualizarLancamento() {
 
@@ -319,4 +384,232 @@ class LancamentoServiceIntegrationTest {
         Assertions.assertEquals(idLancamento, lancamentoAtualizado.getId());
         Assertions.assertFalse(lancamentoAtualizado.isPago());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveManterTotaisDaCompetenciaIguaisAReconstrucao() {
+
+        //Arrange
+        Conta contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuarioPadrao).build();
+        Categoria categoriaAlimentacao = Categoria.builder().nome("Alimentacao").usuario(usuarioPadrao).build();
+        Categoria categoriaTransporte = Categoria.builder().nome("Transporte").usuario(usuarioPadrao).build();
+
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+        categoriaRepository.save(categoriaTransporte);
+
+        String login = usuarioPadrao.getLogin();
+
+        // Act
+        Lancamento pizza = lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Pizza", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "10-04-2024", BigDecimal.valueOf(50), false), login);
+        Lancamento uber = lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Uber", contaCorrente.getId(),
+                categoriaTransporte.getId(), "11-04-2024", BigDecimal.valueOf(30), true), login);
+        Lancamento mercado = lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Mercado", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "12-04-2024", BigDecimal.valueOf(200), false), login);
+
+        lancamentoService.atualizarLancamentoComoPago(pizza.getId(), login);
+        lancamentoService.atualizarLancamento(uber.getId(), new LancamentoRequestDTO(uber.getId(), "Uber",
+                contaCorrente.getId(), categoriaAlimentacao.getId(), "01-05-2024", BigDecimal.valueOf(35), true), login);
+        lancamentoService.deletarLancamento(mercado.getId(), login);
+
+        ResumoCompetencia abrilIncremental = lancamentoService.obterResumoPorCompetencia(202404, login);
+        ResumoCompetencia maioIncremental = lancamentoService.obterResumoPorCompetencia(202405, login);
+
+        totalCompetenciaService.reconstruir();
+
+        //Assert
+        Assertions.assertEquals(new ResumoCompetencia.Totais(1, 1, new BigDecimal("50.00"), new BigDecimal("50.00"),
+                new BigDecimal("0.00")), abrilIncremental.total());
+        Assertions.assertEquals(new ResumoCompetencia.Totais(1, 1, new BigDecimal("35.00"), new BigDecimal("35.00"),
+                new BigDecimal("0.00")), maioIncremental.total());
+
+        Assertions.assertEquals(abrilIncremental, lancamentoService.obterResumoPorCompetencia(202404, login));
+        Assertions.assertEquals(maioIncremental, lancamentoService.obterResumoPorCompetencia(202405, login));
+    }
+
+    @Test
+    void deveAplicarUmaUnicaVezNosTotaisAlteracoesConcorrentesDoMesmoLancamento() throws Exception {
+
+        //Arrange
+        Conta contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuarioPadrao).build();
+        Categoria categoriaAlimentacao = Categoria.builder().nome("Alimentacao").usuario(usuarioPadrao).build();
+
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        String login = usuarioPadrao.getLogin();
+        Lancamento pizza = lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Pizza", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "10-04-2024", BigDecimal.valueOf(50), false), login);
+        Lancamento mercado = lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Mercado", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "12-04-2024", BigDecimal.valueOf(200), false), login);
+
+        // Act
+        int pagamentos = executarEmParalelo(4, () -> lancamentoService.atualizarLancamentoComoPago(pizza.getId(), login));
+        executarEmParalelo(4, () -> lancamentoService.deletarLancamento(mercado.getId(), login));
+
+        //Assert
+        Assertions.assertEquals(1, pagamentos);
+        Assertions.assertEquals(new ResumoCompetencia.Totais(1, 1, new BigDecimal("50.00"), new BigDecimal("50.00"),
+                new BigDecimal("0.00")), lancamentoService.obterResumoPorCompetencia(202404, login).total());
+    }
+
+    /**
+     * Executa a operação ao mesmo tempo em várias threads e retorna quantas execuções terminaram sem NegocioException.
+     */
+    private static int executarEmParalelo(int threads, Runnable operacao) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<Boolean>> execucoes = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                execucoes.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        operacao.run();
+                        return true;
+                    } catch (NegocioException e) {
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            int sucessos = 0;
+            for (Future<Boolean> execucao : execucoes) {
+                if (execucao.get(30, TimeUnit.SECONDS)) {
+                    sucessos++;
+                }
+            }
+            return sucessos;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deveManterSaldoDaContaIgualASomaDosLancamentos() {
+
+        //Arrange
+        Conta contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuarioPadrao).build();
+        Conta cartaoCredito = Conta.builder().nome("Cartão Crédito").usuario(usuarioPadrao).build();
+        Categoria categoriaAlimentacao = Categoria.builder().nome("Alimentacao").usuario(usuarioPadrao).build();
+
+        contaRepository.save(contaCorrente);
+        contaRepository.save(cartaoCredito);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        String login = usuarioPadrao.getLogin();
+
+        // Act
+        Lancamento pizza = lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Pizza", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "10-04-2024", BigDecimal.valueOf(50), false), login);
+        Lancamento mercado = lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Mercado", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "12-04-2024", BigDecimal.valueOf(200), true), login);
+        lancamentoService.criarLancamentos(List.of(
+                new LancamentoRequestDTO(null, "Padaria", contaCorrente.getId(), categoriaAlimentacao.getId(),
+                        "13-04-2024", BigDecimal.valueOf(15), true),
+                new LancamentoRequestDTO(null, "Restaurante", cartaoCredito.getId(), categoriaAlimentacao.getId(),
+                        "14-04-2024", BigDecimal.valueOf(80), false)), login);
+
+        lancamentoService.atualizarLancamentoComoPago(pizza.getId(), login);
+        lancamentoService.atualizarLancamento(mercado.getId(), new LancamentoRequestDTO(mercado.getId(), "Mercado",
+                cartaoCredito.getId(), categoriaAlimentacao.getId(), "12-04-2024", BigDecimal.valueOf(210), true), login);
+        lancamentoService.atualizarLancamentoComoNaoPago(mercado.getId(), login);
+        lancamentoService.deletarLancamento(pizza.getId(), login);
+
+        //Assert
+        SaldoConta saldoContaCorrente = saldoContaService.obterSaldo(contaCorrente.getId());
+        Assertions.assertEquals(0, BigDecimal.valueOf(15).compareTo(saldoContaCorrente.getValorTotal()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(15).compareTo(saldoContaCorrente.getValorPago()));
+
+        SaldoConta saldoCartaoCredito = saldoContaService.obterSaldo(cartaoCredito.getId());
+        Assertions.assertEquals(0, BigDecimal.valueOf(290).compareTo(saldoCartaoCredito.getValorTotal()));
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(saldoCartaoCredito.getValorPago()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(290).compareTo(saldoCartaoCredito.valorPendente()));
+
+        Assertions.assertEquals(0, saldoContaService.verificarSaldos());
+    }
+
+    @Test
+    void deveAplicarUmaUnicaVezNoSaldoAlteracoesConcorrentesDoMesmoLancamento() throws Exception {
+
+        //Arrange
+        Conta contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuarioPadrao).build();
+        Categoria categoriaAlimentacao = Categoria.builder().nome("Alimentacao").usuario(usuarioPadrao).build();
+
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        String login = usuarioPadrao.getLogin();
+        Lancamento pizza = lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Pizza", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "10-04-2024", BigDecimal.valueOf(50), true), login);
+        Lancamento mercado = lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Mercado", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "12-04-2024", BigDecimal.valueOf(200), true), login);
+
+        // Act
+        int estornos = executarEmParalelo(4, () -> lancamentoService.atualizarLancamentoComoNaoPago(pizza.getId(), login));
+        executarEmParalelo(4, () -> lancamentoService.deletarLancamento(mercado.getId(), login));
+
+        //Assert
+        Assertions.assertEquals(1, estornos);
+        SaldoConta saldo = saldoContaService.obterSaldo(contaCorrente.getId());
+        Assertions.assertEquals(0, BigDecimal.valueOf(50).compareTo(saldo.getValorTotal()));
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(saldo.getValorPago()));
+        Assertions.assertEquals(0, saldoContaService.verificarSaldos());
+    }
+
+    @Test
+    void deveCorrigirSaldoDivergenteNaVerificacao() {
+
+        //Arrange
+        Conta contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuarioPadrao).build();
+        Categoria categoriaAlimentacao = Categoria.builder().nome("Alimentacao").usuario(usuarioPadrao).build();
+
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Pizza", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "10-04-2024", BigDecimal.valueOf(50), true), usuarioPadrao.getLogin());
+
+        // Simula um saldo que deixou de acompanhar os lançamentos
+        saldoContaRepository.deleteAll();
+
+        // Act
+        int divergencias = saldoContaService.verificarSaldos();
+
+        //Assert
+        Assertions.assertEquals(1, divergencias);
+        SaldoConta saldo = saldoContaService.obterSaldo(contaCorrente.getId());
+        Assertions.assertEquals(0, BigDecimal.valueOf(50).compareTo(saldo.getValorTotal()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(50).compareTo(saldo.getValorPago()));
+        Assertions.assertEquals(0, saldoContaService.verificarSaldos());
+    }
+
+    @Test
+    void naoDeveVerificarSaldosEmExecucaoEmOutraInstancia() {
+
+        //Arrange
+        Conta contaCorrente = Conta.builder().nome("Conta Corrente").usuario(usuarioPadrao).build();
+        Categoria categoriaAlimentacao = Categoria.builder().nome("Alimentacao").usuario(usuarioPadrao).build();
+
+        contaRepository.save(contaCorrente);
+        categoriaRepository.save(categoriaAlimentacao);
+
+        lancamentoService.criarLancamento(new LancamentoRequestDTO(null, "Pizza", contaCorrente.getId(),
+                categoriaAlimentacao.getId(), "10-04-2024", BigDecimal.valueOf(50), true), usuarioPadrao.getLogin());
+
+        saldoContaRepository.deleteAll();
+        AtomicInteger divergencias = new AtomicInteger(-1);
+
+        // Act: o bloqueio já está com outra conexão, como estaria com outra instância
+        boolean executada = execucaoExclusiva.executar(SaldoContaService.TAREFA_VERIFICACAO,
+                () -> divergencias.set(saldoContaService.verificarSaldos()));
+
+        //Assert
+        Assertions.assertTrue(executada);
+        Assertions.assertEquals(0, divergencias.get());
+        Assertions.assertTrue(saldoContaRepository.findById(contaCorrente.getId()).isEmpty());
+        Assertions.assertEquals(1, saldoContaService.verificarSaldos());
+    }
+}
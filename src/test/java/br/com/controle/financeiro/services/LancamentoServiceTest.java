@@ -7,6 +7,8 @@ import br.com.controle.financeiro.domain.Lancamento;
 import br.com.controle.financeiro.domain.user.Usuario;
 import br.com.controle.financeiro.repositories.LancamentoRepository;
 import br.com.controle.financeiro.repositories.dto.LancamentoCompletoDTO;
+import br.com.controle.financeiro.repositories.dto.LancamentoResumoDTO;
+import br.com.controle.financeiro.repositories.dto.TotalLancamentosDTO;
 import br.com.controle.financeiro.services.config.LancamentoServiceTestConfig;
 import br.com.controle.financeiro.services.exception.NegocioException;
 import org.junit.jupiter.api.Assertions;
@@ -16,10 +18,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -27,8 +33,11 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 @ContextConfiguration(classes = { LancamentoServiceTestConfig.class })
@@ -42,6 +51,15 @@ class LancamentoServiceTest {
 	@MockBean
 	ValidacaoDadosUsuarioService validacaoDadosUsuarioServiceMock;
 
+	@MockBean
+	TotalCompetenciaService totalCompetenciaServiceMock;
+
+	@MockBean
+	SaldoContaService saldoContaServiceMock;
+
+	@MockBean
+	VersaoDadosService versaoDadosServiceMock;
+
 	@Autowired
 	BigDecimal valorMaximoLancamento;
 
@@ -54,13 +72,13 @@ class LancamentoServiceTest {
 		// Arrange
 		String loginUsuario = "user@login.com";
 
-		List<Lancamento> lancamentosEsperados = List.of(Lancamento.builder().nome("Pizza").build(),
-				Lancamento.builder().nome("Taxi").build());
+		List<LancamentoResumoDTO> lancamentosEsperados = List.of(LancamentoResumoDTO.builder().nome("Pizza").build(),
+				LancamentoResumoDTO.builder().nome("Taxi").build());
 
 		Mockito.when(lancamentoRepositoryMock.findLancamentosByUsuario(loginUsuario)).thenReturn(lancamentosEsperados);
 
 		// Act
-		List<Lancamento> lancamentosObtidos = lancamentoService.obterTodosLancamentos(loginUsuario);
+		List<LancamentoResumoDTO> lancamentosObtidos = lancamentoService.obterTodosLancamentos(loginUsuario);
 
 		// Assert
 		Assertions.assertEquals(lancamentosEsperados, lancamentosObtidos);
@@ -86,6 +104,29 @@ class LancamentoServiceTest {
 		Assertions.assertEquals(lancamentosEsperados, lancamentosObtidos);
 	}
 
+	@Test
+	void deveExportarLancamentosCompletosEFecharOCursor() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		AtomicBoolean cursorFechado = new AtomicBoolean(false);
+
+		Stream<LancamentoCompletoDTO> lancamentos = Stream.of(
+				LancamentoCompletoDTO.builder().nome("Pizza").build(),
+				LancamentoCompletoDTO.builder().nome("Taxi").build()).onClose(() -> cursorFechado.set(true));
+		Mockito.when(lancamentoRepositoryMock.streamLancamentosCompletosByUsuario(loginUsuario)).thenReturn(lancamentos);
+
+		List<String> nomesExportados = new ArrayList<>();
+
+		// Act
+		lancamentoService.exportarLancamentosCompletos(loginUsuario, l -> nomesExportados.add(l.getNome()));
+
+		// Assert
+		Assertions.assertEquals(List.of("Pizza", "Taxi"), nomesExportados);
+		Assertions.assertTrue(cursorFechado.get());
+		Mockito.verify(lancamentoRepositoryMock, Mockito.never()).findLancamentosCompletosByUsuario(loginUsuario);
+	}
+
 	@Test
 	void deveObterLancamentoPorId() {
 
@@ -113,18 +154,18 @@ class LancamentoServiceTest {
 		// Arrange
 		String loginUsuario = "user@login.com";
 
-		List<Lancamento> todosLancamentos = List.of(
-				Lancamento.builder().nome("Pizza").data(LocalDate.of(2024, Month.JANUARY, 4)).build(),
-				Lancamento.builder().nome("Viagem").data(LocalDate.of(2024, Month.APRIL, 30)).build(),
-				Lancamento.builder().nome("Cinema").data(LocalDate.of(2024, Month.APRIL, 15)).build(),
-				Lancamento.builder().nome("Taxi").data(LocalDate.of(2025, Month.APRIL, 20)).build());
+		List<LancamentoResumoDTO> lancamentosCompetencia = List.of(
+				LancamentoResumoDTO.builder().nome("Viagem").data(LocalDate.of(2024, Month.APRIL, 30)).build(),
+				LancamentoResumoDTO.builder().nome("Cinema").data(LocalDate.of(2024, Month.APRIL, 15)).build());
 
-		Mockito.when(lancamentoRepositoryMock.findLancamentosByUsuario(loginUsuario)).thenReturn(todosLancamentos);
+		// O filtro da competência é feito no banco, no intervalo [01/04/2024, 01/05/2024)
+		Mockito.when(lancamentoRepositoryMock.findLancamentosByUsuarioEPeriodo(loginUsuario,
+				LocalDate.of(2024, Month.APRIL, 1), LocalDate.of(2024, Month.MAY, 1))).thenReturn(lancamentosCompetencia);
 
 		Integer competencia = 202404;
 
 		// Act
-		List<Lancamento> lancamentosObtidos = lancamentoService.obterLancamentosPorCompetencia(competencia,
+		List<LancamentoResumoDTO> lancamentosObtidos = lancamentoService.obterLancamentosPorCompetencia(competencia,
 				loginUsuario);
 
 		// Assert
@@ -134,6 +175,177 @@ class LancamentoServiceTest {
 		Assertions.assertTrue(lancamentosObtidos.stream().anyMatch(l -> l.getNome().equals("Cinema")));
 	}
 
+	@Test
+	void deveObterResumoPorCompetenciaAPartirDosTotaisConsolidados() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+
+		List<TotalLancamentosDTO> totais = List.of(
+				new TotalLancamentosDTO("id_corrente", "Conta Corrente", "id_alimentacao", "Alimentação", 2L, 1L,
+						BigDecimal.valueOf(250), BigDecimal.valueOf(50), BigDecimal.valueOf(200)),
+				new TotalLancamentosDTO("id_corrente", "Conta Corrente", "id_transporte", "Transporte", 1L, 1L,
+						BigDecimal.valueOf(30), BigDecimal.valueOf(30), BigDecimal.ZERO),
+				new TotalLancamentosDTO("id_cartao", "Cartão Crédito", "id_alimentacao", "Alimentação", 1L, 0L,
+						BigDecimal.valueOf(100), BigDecimal.ZERO, BigDecimal.valueOf(100)));
+
+		Mockito.when(totalCompetenciaServiceMock.obterTotais(loginUsuario, YearMonth.of(2024, Month.APRIL)))
+				.thenReturn(totais);
+
+		// Act
+		ResumoCompetencia resumo = lancamentoService.obterResumoPorCompetencia(202404, loginUsuario);
+
+		// Assert
+		Assertions.assertEquals(new ResumoCompetencia.Totais(4, 2, BigDecimal.valueOf(380), BigDecimal.valueOf(80),
+				BigDecimal.valueOf(300)), resumo.total());
+
+		Assertions.assertEquals(List.of("Cartão Crédito", "Conta Corrente"),
+				resumo.porConta().stream().map(ResumoCompetencia.TotalAgrupado::nome).toList());
+		Assertions.assertEquals(new ResumoCompetencia.Totais(3, 2, BigDecimal.valueOf(280), BigDecimal.valueOf(80),
+				BigDecimal.valueOf(200)), resumo.porConta().get(1).totais());
+
+		Assertions.assertEquals(List.of("Alimentação", "Transporte"),
+				resumo.porCategoria().stream().map(ResumoCompetencia.TotalAgrupado::nome).toList());
+		Assertions.assertEquals(new ResumoCompetencia.Totais(3, 1, BigDecimal.valueOf(350), BigDecimal.valueOf(50),
+				BigDecimal.valueOf(300)), resumo.porCategoria().get(0).totais());
+
+		Mockito.verify(lancamentoRepositoryMock, Mockito.never()).findLancamentosByUsuarioEPeriodo(Mockito.any(),
+				Mockito.any(), Mockito.any());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 202400, 202413, 99912, 100000 })
+	void naoDeveObterResumoComCompetenciaInvalida(Integer competencia) {
+
+		// Assert
+		Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> lancamentoService.obterResumoPorCompetencia(competencia, "user@login.com"));
+
+		Mockito.verifyNoInteractions(lancamentoRepositoryMock, totalCompetenciaServiceMock);
+	}
+
+	@Test
+	void deveValidarPeriodoDeCompetenciasParaExportacao() {
+
+		// Act
+		PeriodoCompetencias periodo = lancamentoService.validarPeriodoCompetencias(202401, 202412);
+
+		// Assert
+		Assertions.assertEquals(LocalDate.of(2024, Month.JANUARY, 1), periodo.inicio());
+		Assertions.assertEquals(LocalDate.of(2025, Month.JANUARY, 1), periodo.fim());
+
+		NegocioException erro = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> lancamentoService.validarPeriodoCompetencias(202405, 202404));
+		Assertions.assertEquals("Competência inicial deve ser anterior ou igual à competência final!", erro.getMessage());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 202400, 202413, 99912, 100000 })
+	void naoDeveConsultarLancamentosComCompetenciaInvalida(Integer competencia) {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+
+		// Assert
+		Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> lancamentoService.obterLancamentosPorCompetencia(competencia, loginUsuario));
+
+		Mockito.verifyNoInteractions(lancamentoRepositoryMock);
+	}
+
+	@Test
+	void deveObterPaginaLancamentosComCursorDaProximaPagina() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+
+		List<LancamentoResumoDTO> lancamentos = List.of(
+				LancamentoResumoDTO.builder().id("a").nome("Pizza").data(LocalDate.of(2024, Month.APRIL, 1)).build(),
+				LancamentoResumoDTO.builder().id("b").nome("Taxi").data(LocalDate.of(2024, Month.APRIL, 1)).build(),
+				LancamentoResumoDTO.builder().id("c").nome("Cinema").data(LocalDate.of(2024, Month.APRIL, 2)).build());
+
+		// Um registro a mais que o limite indica que existe uma próxima página
+		Mockito.when(lancamentoRepositoryMock.findPrimeiraPaginaLancamentosByUsuario(loginUsuario, PageRequest.of(0, 3)))
+				.thenReturn(lancamentos);
+
+		// Act
+		PaginaLancamentos<LancamentoResumoDTO> pagina = lancamentoService.obterPaginaLancamentos(loginUsuario, null, 2);
+
+		// Assert
+		Assertions.assertEquals(lancamentos.subList(0, 2), pagina.itens());
+		Assertions.assertEquals(new CursorLancamento(LocalDate.of(2024, Month.APRIL, 1), "b"),
+				CursorLancamento.decodificar(pagina.proximoCursor()));
+	}
+
+	@Test
+	void deveObterUltimaPaginaLancamentosCompletosAPartirDoCursor() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		CursorLancamento cursor = new CursorLancamento(LocalDate.of(2024, Month.APRIL, 1), "b");
+
+		List<LancamentoCompletoDTO> lancamentos = List.of(
+				LancamentoCompletoDTO.builder().id("c").nome("Cinema").data(LocalDate.of(2024, Month.APRIL, 2)).build());
+
+		Mockito.when(lancamentoRepositoryMock.findPaginaLancamentosCompletosByUsuario(loginUsuario, cursor.data(),
+				cursor.id(), PageRequest.of(0, 3))).thenReturn(lancamentos);
+
+		// Act
+		PaginaLancamentos<LancamentoCompletoDTO> pagina = lancamentoService.obterPaginaLancamentosCompletos(loginUsuario,
+				cursor.codificar(), 2);
+
+		// Assert
+		Assertions.assertEquals(lancamentos, pagina.itens());
+		Assertions.assertNull(pagina.proximoCursor());
+	}
+
+	@Test
+	void deveLimitarTamanhoDaPaginaAoMaximoConfigurado() {
+
+		// Arrange
+		ReflectionTestUtils.setField(lancamentoService, "tamanhoMaximoPagina", 500);
+
+		// Act / Assert
+		Assertions.assertEquals(500, lancamentoService.calcularTamanhoPagina(100000));
+		Assertions.assertEquals(10, lancamentoService.calcularTamanhoPagina(10));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "cursor-invalido", "MjAyNC0wNC0wMQ" })
+	void naoDeveObterPaginaLancamentosComCursorInvalido(String cursor) {
+
+		// Assert
+		NegocioException erro = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> lancamentoService.obterPaginaLancamentos("user@login.com", cursor, 10));
+		Assertions.assertEquals("Cursor de paginação inválido!", erro.getMessage());
+
+		Mockito.verifyNoInteractions(lancamentoRepositoryMock);
+	}
+
+	@Test
+	void naoDeveObterPaginaLancamentosComLimiteMenorQueUm() {
+
+		// Assert
+		NegocioException erro = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> lancamentoService.obterPaginaLancamentos("user@login.com", null, 0));
+		Assertions.assertEquals("Limite da página deve ser maior que 0!", erro.getMessage());
+	}
+
 	@Test
 	void deveCriarLancamento() {
 
@@ -148,8 +360,9 @@ class LancamentoServiceTest {
 		LancamentoRequestDTO novoLancamentoDto = new LancamentoRequestDTO(null, nomeNovoLancamento, idContaFake,
 				idCategoriaFake, dataLancamento, valorLancamento, false);
 
-		List<Lancamento> lancamentosExistentes = List.of(Lancamento.builder().id("id_lancamento").nome("Cartão Crédito").build());
-		Mockito.when(lancamentoRepositoryMock.findLancamentosByUsuario(loginUsuario)).thenReturn(lancamentosExistentes);
+		List<Lancamento> lancamentosExistentes = List.of(Lancamento.builder().id("id_lancamento").nome("Cartão Crédito")
+				.data(LocalDate.of(2024, Month.MAY, 3)).build());
+		simularLancamentosExistentes(loginUsuario, lancamentosExistentes);
 
 		Usuario usuario = Usuario.builder().login(loginUsuario).id("1234").build();
 
@@ -164,6 +377,107 @@ class LancamentoServiceTest {
 
 		// Assert
 		Assertions.assertEquals(lancamentoEsperado, lancamentoResultado);
+
+		// Os totais da competência recebem o novo lançamento
+		ArgumentCaptor<Lancamento> lancamentoRegistrado = ArgumentCaptor.forClass(Lancamento.class);
+		Mockito.verify(totalCompetenciaServiceMock).registrarInclusao(lancamentoRegistrado.capture());
+		Assertions.assertEquals(idContaFake, lancamentoRegistrado.getValue().getConta().getId());
+		Assertions.assertEquals(valorLancamento, lancamentoRegistrado.getValue().getValor());
+		Mockito.verify(saldoContaServiceMock).registrarInclusao(lancamentoRegistrado.getValue());
+
+		// A versão dos dados do usuário muda com a escrita
+		Mockito.verify(versaoDadosServiceMock).registrarAlteracao(loginUsuario);
+	}
+
+	@Test
+	void deveCriarLancamentosEmLote() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		List<LancamentoRequestDTO> lote = List.of(
+				new LancamentoRequestDTO(null, "Pizza", "id_conta_1", "id_categoria", "03-05-2024", BigDecimal.TEN, false),
+				new LancamentoRequestDTO(null, "Pizza", "id_conta_2", "id_categoria", "04-05-2024", BigDecimal.ONE, true));
+
+		// Lançamento existente com o mesmo nome, mas em outra data
+		Mockito.when(lancamentoRepositoryMock.findLancamentosByUsuarioENomesEDatas(Mockito.eq(loginUsuario),
+				Mockito.anyCollection(), Mockito.anyCollection()))
+				.thenReturn(List.of(LancamentoResumoDTO.builder().nome("Pizza").data(LocalDate.of(2024, Month.MAY, 5)).build()));
+		Mockito.when(lancamentoRepositoryMock.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// Act
+		List<Lancamento> lancamentosCriados = lancamentoService.criarLancamentos(lote, loginUsuario);
+
+		// Assert
+		Assertions.assertEquals(2, lancamentosCriados.size());
+		Assertions.assertEquals("id_conta_2", lancamentosCriados.get(1).getConta().getId());
+		Assertions.assertEquals(LocalDate.of(2024, Month.MAY, 4), lancamentosCriados.get(1).getData());
+
+		// Propriedade validada uma única vez para todo o lote
+		Mockito.verify(validacaoDadosUsuarioServiceMock).validarContasECategoriasDoUsuarioLogado(
+				java.util.Set.of("id_conta_1", "id_conta_2"), java.util.Set.of("id_categoria"), loginUsuario);
+		Mockito.verify(lancamentoRepositoryMock, Mockito.never()).save(Mockito.any(Lancamento.class));
+		Mockito.verify(totalCompetenciaServiceMock).registrarInclusoes(lancamentosCriados);
+		Mockito.verify(saldoContaServiceMock).registrarInclusoes(lancamentosCriados);
+	}
+
+	@Test
+	void naoDeveCriarLoteComNomeEDataRepetidos() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		List<LancamentoRequestDTO> loteRepetido = List.of(
+				new LancamentoRequestDTO(null, "Pizza", "id_conta", "id_categoria", "03-05-2024", BigDecimal.TEN, false),
+				new LancamentoRequestDTO(null, "Pizza", "id_conta", "id_categoria", "03-05-2024", BigDecimal.ONE, false));
+		List<LancamentoRequestDTO> loteExistente = List.of(
+				new LancamentoRequestDTO(null, "Cinema", "id_conta", "id_categoria", "10-05-2024", BigDecimal.TEN, false));
+
+		Mockito.when(lancamentoRepositoryMock.findLancamentosByUsuarioENomesEDatas(Mockito.eq(loginUsuario),
+				Mockito.anyCollection(), Mockito.anyCollection()))
+				.thenReturn(List.of(LancamentoResumoDTO.builder().nome("Cinema").data(LocalDate.of(2024, Month.MAY, 10)).build()));
+
+		// Assert
+		NegocioException erroRepetido = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> lancamentoService.criarLancamentos(loteRepetido, loginUsuario));
+		Assertions.assertEquals("Lançamento com nome e data repetidos no lote: Pizza (03-05-2024).", erroRepetido.getMessage());
+
+		NegocioException erroExistente = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> lancamentoService.criarLancamentos(loteExistente, loginUsuario));
+		Assertions.assertEquals("Lançamento com nome e data informados já existente: Cinema (10-05-2024).",
+				erroExistente.getMessage());
+
+		Mockito.verify(lancamentoRepositoryMock, Mockito.never()).saveAll(Mockito.anyList());
+		Mockito.verifyNoInteractions(totalCompetenciaServiceMock);
+	}
+
+	@Test
+	void naoDeveCriarLoteVazioOuAcimaDoLimite() {
+
+		// Arrange
+		List<LancamentoRequestDTO> loteAcimaDoLimite = java.util.Collections.nCopies(1001,
+				new LancamentoRequestDTO(null, "Pizza", "id_conta", "id_categoria", "03-05-2024", BigDecimal.TEN, false));
+
+		// Assert
+		NegocioException erroVazio = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> lancamentoService.criarLancamentos(List.of(), "user@login.com"));
+		Assertions.assertEquals("Nenhum lançamento informado!", erroVazio.getMessage());
+
+		NegocioException erroLimite = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> lancamentoService.criarLancamentos(loteAcimaDoLimite, "user@login.com"));
+		Assertions.assertEquals("O lote deve ter no máximo 1000 lançamentos!", erroLimite.getMessage());
+
+		Mockito.verifyNoInteractions(validacaoDadosUsuarioServiceMock);
 	}
 
 	@Test
@@ -253,10 +567,10 @@ class LancamentoServiceTest {
 				.data(LocalDate.parse("04-05-2024", java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy")))
 				.build();
 		List<Lancamento> lancamentosExistentes = List.of(lancamentoPizza, lancamentoTaxi);
-		Mockito.when(lancamentoRepositoryMock.findLancamentosByUsuario(loginUsuario)).thenReturn(lancamentosExistentes);
+		simularLancamentosExistentes(loginUsuario, lancamentosExistentes);
 
 		String idLancamento = "id_Lancamento";
-		Mockito.when(lancamentoRepositoryMock.findById(idLancamento)).thenReturn(Optional.of(lancamentoTaxi));
+		Mockito.when(lancamentoRepositoryMock.findByIdParaAtualizacao(idLancamento)).thenReturn(Optional.of(lancamentoTaxi));
 
 		Lancamento lancamentoEsperada = Lancamento.builder().nome(nomeNovoLancamento).build();
 		Mockito.when(lancamentoRepositoryMock.save(Mockito.any(Lancamento.class))).thenReturn(lancamentoEsperada);
@@ -296,7 +610,7 @@ class LancamentoServiceTest {
 				.data(LocalDate.parse("03-05-2024", java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy")))
 				.build();
 		List<Lancamento> lancamentosExistentes = List.of(lancamentoPizza, lancamentoTaxi);
-		Mockito.when(lancamentoRepositoryMock.findLancamentosByUsuario(loginUsuario)).thenReturn(lancamentosExistentes);
+		simularLancamentosExistentes(loginUsuario, lancamentosExistentes);
 
 		// Assert
 		Assertions.assertThrows(
@@ -315,7 +629,7 @@ class LancamentoServiceTest {
 		Lancamento lancamentoPizzaNaoPago = Lancamento.builder().nome("Pizza").pago(false).build();
 
 		String idLancamento = "id_Lancamento";
-		Mockito.when(lancamentoRepositoryMock.findById(idLancamento)).thenReturn(Optional.of(lancamentoPizzaNaoPago));
+		Mockito.when(lancamentoRepositoryMock.findByIdParaAtualizacao(idLancamento)).thenReturn(Optional.of(lancamentoPizzaNaoPago));
 
 		Lancamento lancamentoEsperadoPizzaPago = Lancamento.builder().nome("Pizza").pago(true).build();
 		Mockito.when(lancamentoRepositoryMock.save(lancamentoPizzaNaoPago)).thenReturn(lancamentoEsperadoPizzaPago);
@@ -326,6 +640,8 @@ class LancamentoServiceTest {
 		// Assert
 		Assertions.assertEquals(lancamentoEsperadoPizzaPago, lancamentoResultado);
 		Assertions.assertTrue(lancamentoResultado.isPago());
+		Mockito.verify(totalCompetenciaServiceMock).registrarAlteracaoPagamento(lancamentoPizzaNaoPago);
+		Mockito.verify(saldoContaServiceMock).registrarAlteracaoPagamento(lancamentoPizzaNaoPago);
 	}
 
 	@Test
@@ -337,7 +653,7 @@ class LancamentoServiceTest {
 		Lancamento lancamentoPizzaJaPago = Lancamento.builder().nome("Pizza").pago(true).build();
 
 		String idLancamento = "id_Lancamento";
-		Mockito.when(lancamentoRepositoryMock.findById(idLancamento)).thenReturn(Optional.of(lancamentoPizzaJaPago));
+		Mockito.when(lancamentoRepositoryMock.findByIdParaAtualizacao(idLancamento)).thenReturn(Optional.of(lancamentoPizzaJaPago));
 
 		// Assert
 		Assertions.assertThrows(
@@ -356,7 +672,7 @@ class LancamentoServiceTest {
 		Lancamento lancamentoPizzaPago = Lancamento.builder().nome("Pizza").pago(true).build();
 
 		String idLancamento = "id_Lancamento";
-		Mockito.when(lancamentoRepositoryMock.findById(idLancamento)).thenReturn(Optional.of(lancamentoPizzaPago));
+		Mockito.when(lancamentoRepositoryMock.findByIdParaAtualizacao(idLancamento)).thenReturn(Optional.of(lancamentoPizzaPago));
 
 		Lancamento lancamentoEsperadoPizzaNaoPago = Lancamento.builder().nome("Pizza").pago(false).build();
 		Mockito.when(lancamentoRepositoryMock.save(lancamentoPizzaPago)).thenReturn(lancamentoEsperadoPizzaNaoPago);
@@ -378,7 +694,7 @@ class LancamentoServiceTest {
 		Lancamento lancamentoPizzaJaNaoPago = Lancamento.builder().nome("Pizza").pago(false).build();
 
 		String idLancamento = "id_Lancamento";
-		Mockito.when(lancamentoRepositoryMock.findById(idLancamento)).thenReturn(Optional.of(lancamentoPizzaJaNaoPago));
+		Mockito.when(lancamentoRepositoryMock.findByIdParaAtualizacao(idLancamento)).thenReturn(Optional.of(lancamentoPizzaJaNaoPago));
 
 		// Assert
 		Assertions.assertThrows(
@@ -404,6 +720,25 @@ class LancamentoServiceTest {
 		Mockito.verify(lancamentoRepositoryMock).deleteById(idLancamento);
 	}
 
+	@Test
+	void deveRetirarLancamentoDeletadoDosTotaisDaCompetenciaEDoSaldoDaConta() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		String idLancamento = "id_Lancamento";
+		Lancamento lancamentoPizza = Lancamento.builder().id(idLancamento).nome("Pizza").build();
+		Mockito.when(lancamentoRepositoryMock.findByIdParaAtualizacao(idLancamento)).thenReturn(Optional.of(lancamentoPizza));
+
+		// Act
+		lancamentoService.deletarLancamento(idLancamento, loginUsuario);
+
+		// Assert
+		InOrder ordem = Mockito.inOrder(totalCompetenciaServiceMock, saldoContaServiceMock, lancamentoRepositoryMock);
+		ordem.verify(totalCompetenciaServiceMock).registrarExclusao(lancamentoPizza);
+		ordem.verify(saldoContaServiceMock).registrarExclusao(lancamentoPizza);
+		ordem.verify(lancamentoRepositoryMock).deleteById(idLancamento);
+	}
+
 	@ParameterizedTest
 	@MethodSource("provedorParametrosNomesDatasLancamentos")
 	void naoDeveLancarErroAoValidarContasComParNome_E_Data_Diferentes(String idLancamento,
@@ -415,8 +750,26 @@ class LancamentoServiceTest {
 		// FALHA.
 		Assumptions.assumeTrue(lancamentosParametrizados != null);
 
+		String loginUsuario = "user@login.com";
+		simularLancamentosExistentes(loginUsuario, lancamentosParametrizados);
+
 		lancamentoService.validarLancamentoComMesmoNomeData(idLancamento, nomeContaParametrizada,
-				dataLancamentoParametrizado, lancamentosParametrizados);
+				dataLancamentoParametrizado, loginUsuario);
+	}
+
+	// Simula as consultas de existência do banco a partir dos lançamentos informados
+	private void simularLancamentosExistentes(String loginUsuario, List<Lancamento> lancamentosExistentes) {
+		Mockito.when(lancamentoRepositoryMock.existsByNomeAndDataAndContaUsuarioLogin(Mockito.anyString(),
+				Mockito.any(LocalDate.class), Mockito.eq(loginUsuario)))
+				.thenAnswer(invocation -> lancamentosExistentes.stream()
+						.anyMatch(l -> l.getNome().equals(invocation.getArgument(0))
+								&& l.getData().equals(invocation.getArgument(1))));
+		Mockito.when(lancamentoRepositoryMock.existsByNomeAndDataAndContaUsuarioLoginAndIdNot(Mockito.anyString(),
+				Mockito.any(LocalDate.class), Mockito.eq(loginUsuario), Mockito.anyString()))
+				.thenAnswer(invocation -> lancamentosExistentes.stream()
+						.anyMatch(l -> !l.getId().equals(invocation.getArgument(3))
+								&& l.getNome().equals(invocation.getArgument(0))
+								&& l.getData().equals(invocation.getArgument(1))));
 	}
 
 	static Stream<Arguments> provedorParametrosNomesDatasLancamentos() {
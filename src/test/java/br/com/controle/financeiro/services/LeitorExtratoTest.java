@@ -0,0 +1,126 @@
+package br.com.controle.financeiro.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class LeitorExtratoTest {
+
+    @Test
+    void deveLerExtratoCsvComCabecalhoELinhasInvalidas() {
+
+        // Arrange
+        String csv = """
+                data;nome;valor;pago
+                03-05-2024;Pizza;-1.234,56;nao
+                04/05/2024;"Mercado; Centro";10.50
+
+                31-02-2024;Data inexistente;10
+                05-05-2024;Sem valor;abc
+                06-05-2024;Incompleta
+                """;
+
+        // Act
+        List<LinhaExtrato> linhas = ler(FormatoExtrato.CSV, csv);
+
+        // Assert
+        Assertions.assertEquals(5, linhas.size());
+        Assertions.assertEquals(LinhaExtrato.valida(2, "Pizza", LocalDate.of(2024, 5, 3), new BigDecimal("1234.56"), false),
+                linhas.get(0));
+        Assertions.assertEquals(LinhaExtrato.valida(3, "Mercado; Centro", LocalDate.of(2024, 5, 4), new BigDecimal("10.50"), true),
+                linhas.get(1));
+        Assertions.assertEquals(LinhaExtrato.invalida(5, "Data inválida: 31-02-2024"), linhas.get(2));
+        Assertions.assertEquals(LinhaExtrato.invalida(6, "Valor inválido: abc"), linhas.get(3));
+        Assertions.assertEquals(LinhaExtrato.invalida(7, "Linha deve conter data, nome e valor."), linhas.get(4));
+    }
+
+    @Test
+    void deveRejeitarLinhaComNomeOuValorMaioresQueAsColunas() {
+
+        // Arrange
+        String nomeLongo = "A".repeat(256);
+        String csv = "03-05-2024;" + nomeLongo + ";10,00\n"
+                + "04-05-2024;" + "B".repeat(255) + ";10,00\n"
+                + "05-05-2024;Apartamento;1.000.000,00\n";
+
+        // Act
+        List<LinhaExtrato> linhas = ler(FormatoExtrato.CSV, csv);
+
+        // Assert
+        Assertions.assertEquals(List.of(
+                LinhaExtrato.invalida(1, "Nome deve ter no máximo 255 caracteres."),
+                new LinhaExtrato(2, "B".repeat(255), LocalDate.of(2024, 5, 4), new BigDecimal("10.00"), true, null),
+                LinhaExtrato.invalida(3, "Valor inválido: 1000000.00")), linhas);
+    }
+
+    @Test
+    void deveLerExtratoOfxSgml() {
+
+        // Arrange
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX>
+                <BANKMSGSRSV1><STMTTRNRS><STMTRS>
+                <BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240503120000[-3:BRT]
+                <TRNAMT>-45,90
+                <NAME>PADARIA
+                <MEMO>Compra Padaria Pão Quente
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240504
+                <TRNAMT>-12.00
+                <NAME>UBER
+                </STMTTRN>
+                <STMTTRN>
+                <DTPOSTED>2024
+                <TRNAMT>-1.00
+                <NAME>DATA RUIM
+                </STMTTRN>
+                </BANKTRANLIST>
+                </STMTRS></STMTTRNRS></BANKMSGSRSV1>
+                </OFX>
+                """;
+
+        // Act
+        List<LinhaExtrato> linhas = ler(FormatoExtrato.OFX, ofx);
+
+        // Assert
+        Assertions.assertEquals(List.of(
+                LinhaExtrato.valida(7, "Compra Padaria Pão Quente", LocalDate.of(2024, 5, 3), new BigDecimal("45.90"), true),
+                LinhaExtrato.valida(14, "UBER", LocalDate.of(2024, 5, 4), new BigDecimal("12.00"), true),
+                LinhaExtrato.invalida(20, "Data inválida: 2024")), linhas);
+    }
+
+    @Test
+    void deveLerExtratoOfxXml() {
+
+        // Arrange
+        String ofx = "<?xml version=\"1.0\"?><OFX><BANKTRANLIST>"
+                + "<STMTTRN><DTPOSTED>20240110</DTPOSTED><TRNAMT>-99.90</TRNAMT><NAME>Farmácia</NAME></STMTTRN>"
+                + "</BANKTRANLIST></OFX>";
+
+        // Act
+        List<LinhaExtrato> linhas = ler(FormatoExtrato.OFX, ofx);
+
+        // Assert
+        Assertions.assertEquals(List.of(LinhaExtrato.valida(1, "Farmácia", LocalDate.of(2024, 1, 10),
+                new BigDecimal("99.90"), true)), linhas);
+    }
+
+    private static List<LinhaExtrato> ler(FormatoExtrato formato, String conteudo) {
+        List<LinhaExtrato> linhas = new ArrayList<>();
+        formato.abrirLeitor(new StringReader(conteudo)).forEachRemaining(linhas::add);
+        return linhas;
+    }
+}
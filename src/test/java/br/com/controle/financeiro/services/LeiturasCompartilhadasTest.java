@@ -0,0 +1,173 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.services.exception.NegocioException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class LeiturasCompartilhadasTest {
+
+    private static final String LOGIN = "joao@teste.com";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VersaoDadosService versaoDadosService;
+
+    private LeiturasCompartilhadas leiturasCompartilhadas;
+
+    private ExecutorService executor;
+
+    private final CountDownLatch leituraIniciada = new CountDownLatch(1);
+
+    private final CountDownLatch liberarLeitura = new CountDownLatch(1);
+
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    @BeforeEach
+    void preparar() {
+        meterRegistry = new SimpleMeterRegistry();
+        versaoDadosService = Mockito.mock(VersaoDadosService.class);
+        Mockito.when(versaoDadosService.obterVersaoLida(Mockito.anyString())).thenReturn(7L);
+        leiturasCompartilhadas = new LeiturasCompartilhadas(true, versaoDadosService, meterRegistry);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // Leitura que só termina quando liberada, para manter a consulta em andamento durante o teste
+    private Supplier<List<String>> leituraBloqueada(String resultado) {
+        return () -> {
+            consultas.incrementAndGet();
+            leituraIniciada.countDown();
+            aguardar(liberarLeitura);
+            return List.of(resultado);
+        };
+    }
+
+    private Future<List<String>> executarEmOutraThread(String metodo, Supplier<List<String>> leitura, Object... argumentos) {
+        return executor.submit(() -> leiturasCompartilhadas.executar(LOGIN, metodo, leitura, argumentos));
+    }
+
+    @Test
+    void deveCompartilharLeituraEmAndamentoComMesmaChave() throws Exception {
+
+        // Arrange
+        Future<List<String>> primeira = executarEmOutraThread("obterLancamentosPorCompetencia", leituraBloqueada("pizza"), 202405);
+        Assertions.assertTrue(leituraIniciada.await(5, TimeUnit.SECONDS));
+        Future<List<String>> segunda = executarEmOutraThread("obterLancamentosPorCompetencia", leituraBloqueada("pizza"), 202405);
+        aguardarLeiturasAgrupadas(1);
+
+        // Act
+        liberarLeitura.countDown();
+
+        // Assert
+        Assertions.assertSame(primeira.get(5, TimeUnit.SECONDS), segunda.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, consultas.get());
+    }
+
+    @Test
+    void naoDeveCompartilharLeituraComArgumentosOuUsuarioDiferentes() throws Exception {
+
+        // Arrange
+        Future<List<String>> emAndamento = executarEmOutraThread("obterLancamentosPorCompetencia", leituraBloqueada("pizza"), 202405);
+        Assertions.assertTrue(leituraIniciada.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<String> outraCompetencia = leiturasCompartilhadas.executar(LOGIN, "obterLancamentosPorCompetencia",
+                () -> List.of("taxi"), 202406);
+        List<String> outroUsuario = leiturasCompartilhadas.executar("maria@teste.com", "obterLancamentosPorCompetencia",
+                () -> List.of("cinema"), 202405);
+        liberarLeitura.countDown();
+
+        // Assert
+        Assertions.assertEquals(List.of("taxi"), outraCompetencia);
+        Assertions.assertEquals(List.of("cinema"), outroUsuario);
+        Assertions.assertEquals(List.of("pizza"), emAndamento.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, meterRegistry.counter("api.leituras.agrupadas").count());
+    }
+
+    @Test
+    void naoDeveCompartilharLeituraIniciadaAntesDeUmaEscrita() throws Exception {
+
+        // Arrange: a leitura em andamento começou na versão 7
+        Future<List<String>> anterior = executarEmOutraThread("obterTodosLancamentos", leituraBloqueada("antes"));
+        Assertions.assertTrue(leituraIniciada.await(5, TimeUnit.SECONDS));
+
+        // Act: uma escrita é confirmada e o próximo chamador já lê (e informa na ETag) a versão 8
+        Mockito.when(versaoDadosService.obterVersaoLida(LOGIN)).thenReturn(8L);
+        List<String> posterior = leiturasCompartilhadas.executar(LOGIN, "obterTodosLancamentos", () -> List.of("depois"));
+        liberarLeitura.countDown();
+
+        // Assert
+        Assertions.assertEquals(List.of("depois"), posterior);
+        Assertions.assertEquals(List.of("antes"), anterior.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, meterRegistry.counter("api.leituras.agrupadas").count());
+    }
+
+    @Test
+    void deveRepassarExcecaoDaLeituraAosChamadoresAgrupados() throws Exception {
+
+        // Arrange
+        Supplier<List<String>> leituraComErro = () -> {
+            leituraIniciada.countDown();
+            aguardar(liberarLeitura);
+            throw new NegocioException("Competência inválida!");
+        };
+        Future<List<String>> primeira = executarEmOutraThread("obterResumoPorCompetencia", leituraComErro, 202405);
+        Assertions.assertTrue(leituraIniciada.await(5, TimeUnit.SECONDS));
+        Future<List<String>> segunda = executarEmOutraThread("obterResumoPorCompetencia", leituraComErro, 202405);
+        aguardarLeiturasAgrupadas(1);
+
+        // Act
+        liberarLeitura.countDown();
+
+        // Assert
+        ExecutionException erroPrimeira = Assertions.assertThrows(ExecutionException.class, () -> primeira.get(5, TimeUnit.SECONDS));
+        ExecutionException erroSegunda = Assertions.assertThrows(ExecutionException.class, () -> segunda.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(NegocioException.class, erroPrimeira.getCause());
+        Assertions.assertSame(erroPrimeira.getCause(), erroSegunda.getCause());
+    }
+
+    @Test
+    void deveConsultarNovamenteDepoisQueLeituraTermina() {
+
+        // Act
+        leiturasCompartilhadas.executar(LOGIN, "obterTodosLancamentos", () -> consultas.incrementAndGet());
+        leiturasCompartilhadas.executar(LOGIN, "obterTodosLancamentos", () -> consultas.incrementAndGet());
+
+        // Assert
+        Assertions.assertEquals(2, consultas.get());
+    }
+
+    private void aguardarLeiturasAgrupadas(int quantidade) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("api.leituras.agrupadas").count() < quantidade) {
+            Assertions.assertTrue(System.nanoTime() < limite, "Leitura não foi agrupada");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
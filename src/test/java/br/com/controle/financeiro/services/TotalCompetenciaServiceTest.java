@@ -0,0 +1,158 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.domain.Categoria;
+import br.com.controle.financeiro.domain.Conta;
+import br.com.controle.financeiro.domain.Lancamento;
+import br.com.controle.financeiro.infra.persistencia.ExecucaoExclusiva;
+import br.com.controle.financeiro.repositories.TotalCompetenciaRepository;
+import br.com.controle.financeiro.repositories.UsuarioRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+class TotalCompetenciaServiceTest {
+
+	@MockBean
+	private TotalCompetenciaRepository totalCompetenciaRepositoryMock;
+
+	@MockBean
+	private UsuarioRepository usuarioRepositoryMock;
+
+	@Autowired
+	private ExecucaoExclusiva execucaoExclusiva;
+
+	@Autowired
+	private TotalCompetenciaService totalCompetenciaService;
+
+	@Test
+	void deveRegistrarInclusaoEExclusaoComDeltasOpostos() {
+
+		// Arrange
+		Lancamento lancamento = lancamento("id_conta", "id_categoria", LocalDate.of(2024, 4, 10), BigDecimal.TEN, true);
+
+		// Act
+		totalCompetenciaService.registrarInclusao(lancamento);
+		totalCompetenciaService.registrarExclusao(lancamento);
+
+		// Assert
+		Mockito.verify(totalCompetenciaRepositoryMock).aplicarDelta("id_conta", "id_categoria", 202404, 1,
+				BigDecimal.TEN, 1, BigDecimal.TEN);
+		Mockito.verify(totalCompetenciaRepositoryMock).aplicarDelta("id_conta", "id_categoria", 202404, -1,
+				BigDecimal.TEN.negate(), -1, BigDecimal.TEN.negate());
+	}
+
+	@Test
+	void deveRegistrarInclusoesAgrupandoDeltasPorContaCategoriaECompetencia() {
+
+		// Arrange
+		List<Lancamento> lancamentos = List.of(
+				lancamento("id_conta", "id_categoria", LocalDate.of(2024, 4, 10), BigDecimal.TEN, true),
+				lancamento("id_conta", "id_categoria", LocalDate.of(2024, 4, 20), BigDecimal.ONE, false),
+				lancamento("id_conta", "id_categoria", LocalDate.of(2024, 5, 2), BigDecimal.ONE, false));
+
+		// Act
+		totalCompetenciaService.registrarInclusoes(lancamentos);
+
+		// Assert
+		Mockito.verify(totalCompetenciaRepositoryMock).aplicarDelta("id_conta", "id_categoria", 202404, 2,
+				BigDecimal.valueOf(11), 1, BigDecimal.TEN);
+		Mockito.verify(totalCompetenciaRepositoryMock).aplicarDelta("id_conta", "id_categoria", 202405, 1,
+				BigDecimal.ONE, 0, BigDecimal.ZERO);
+		Mockito.verifyNoMoreInteractions(totalCompetenciaRepositoryMock);
+	}
+
+	@Test
+	void deveRegistrarAlteracaoNaMesmaCompetenciaComUmUnicoDelta() {
+
+		// Arrange
+		Lancamento anterior = lancamento("id_conta", "id_categoria", LocalDate.of(2024, 4, 10), BigDecimal.TEN, false);
+		Lancamento atual = lancamento("id_conta", "id_categoria", LocalDate.of(2024, 4, 25), BigDecimal.valueOf(15), true);
+
+		// Act
+		totalCompetenciaService.registrarAlteracao(anterior, atual);
+
+		// Assert
+		Mockito.verify(totalCompetenciaRepositoryMock).aplicarDelta("id_conta", "id_categoria", 202404, 0,
+				BigDecimal.valueOf(5), 1, BigDecimal.valueOf(15));
+		Mockito.verifyNoMoreInteractions(totalCompetenciaRepositoryMock);
+	}
+
+	@Test
+	void deveRegistrarAlteracaoDeCompetenciaComoExclusaoEInclusao() {
+
+		// Arrange
+		Lancamento anterior = lancamento("id_conta", "id_categoria", LocalDate.of(2024, 4, 30), BigDecimal.TEN, false);
+		Lancamento atual = lancamento("id_conta", "id_categoria", LocalDate.of(2024, 5, 1), BigDecimal.TEN, false);
+
+		// Act
+		totalCompetenciaService.registrarAlteracao(anterior, atual);
+
+		// Assert
+		Mockito.verify(totalCompetenciaRepositoryMock).aplicarDelta("id_conta", "id_categoria", 202404, -1,
+				BigDecimal.TEN.negate(), 0, BigDecimal.ZERO);
+		Mockito.verify(totalCompetenciaRepositoryMock).aplicarDelta("id_conta", "id_categoria", 202405, 1,
+				BigDecimal.TEN, 0, BigDecimal.ZERO);
+	}
+
+	@Test
+	void deveRegistrarAlteracaoPagamentoSemAlterarQuantidadeEValorTotal() {
+
+		// Arrange
+		Lancamento naoPago = lancamento("id_conta", "id_categoria", LocalDate.of(2024, 4, 10), BigDecimal.TEN, false);
+
+		// Act
+		totalCompetenciaService.registrarAlteracaoPagamento(naoPago);
+
+		// Assert
+		Mockito.verify(totalCompetenciaRepositoryMock).aplicarDelta("id_conta", "id_categoria", 202404, 0,
+				BigDecimal.ZERO, -1, BigDecimal.TEN.negate());
+	}
+
+	@Test
+	void deveCorrigirTotaisDeCadaUsuario() {
+
+		// Arrange
+		Mockito.when(usuarioRepositoryMock.findAllIds()).thenReturn(List.of("id_usuario_1", "id_usuario_2"));
+		Mockito.when(totalCompetenciaRepositoryMock.corrigirTotaisDoUsuario("id_usuario_1")).thenReturn(2);
+		Mockito.when(totalCompetenciaRepositoryMock.corrigirTotaisDoUsuario("id_usuario_2")).thenReturn(1);
+
+		// Act
+		int corrigidos = totalCompetenciaService.reconstruir();
+
+		// Assert
+		Assertions.assertEquals(3, corrigidos);
+		Mockito.verify(totalCompetenciaRepositoryMock).corrigirTotaisDoUsuario("id_usuario_1");
+		Mockito.verify(totalCompetenciaRepositoryMock).corrigirTotaisDoUsuario("id_usuario_2");
+	}
+
+	@Test
+	void naoDeveReconstruirTotaisEmExecucaoEmOutraInstancia() {
+
+		// Arrange
+		Mockito.when(usuarioRepositoryMock.findAllIds()).thenReturn(List.of("id_usuario_1"));
+		AtomicInteger corrigidos = new AtomicInteger(-1);
+
+		// Act: o bloqueio já está com outra conexão, como estaria com outra instância
+		boolean executada = execucaoExclusiva.executar(TotalCompetenciaService.TAREFA_RECONSTRUCAO,
+				() -> corrigidos.set(totalCompetenciaService.reconstruir()));
+
+		// Assert
+		Assertions.assertTrue(executada);
+		Assertions.assertEquals(0, corrigidos.get());
+		Mockito.verify(totalCompetenciaRepositoryMock, Mockito.never()).corrigirTotaisDoUsuario(Mockito.anyString());
+	}
+
+	private static Lancamento lancamento(String idConta, String idCategoria, LocalDate data, BigDecimal valor, boolean pago) {
+		return Lancamento.builder().conta(Conta.builder().id(idConta).build())
+				.categoria(Categoria.builder().id(idCategoria).build()).data(data).valor(valor).pago(pago).build();
+	}
+}
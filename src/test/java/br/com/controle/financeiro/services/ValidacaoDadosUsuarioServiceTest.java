@@ -0,0 +1,204 @@
+package br.com.controle.financeiro.services;
+
+import br.com.controle.financeiro.repositories.CategoriaRepository;
+import br.com.controle.financeiro.repositories.ContaRepository;
+import br.com.controle.financeiro.repositories.LancamentoRepository;
+import br.com.controle.financeiro.repositories.UsuarioRepository;
+import br.com.controle.financeiro.repositories.dto.ProprietarioDTO;
+import br.com.controle.financeiro.repositories.dto.ProprietariosLancamentoDTO;
+import br.com.controle.financeiro.services.exception.NegocioException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@SpringBootTest
+class ValidacaoDadosUsuarioServiceTest {
+
+	@MockBean
+	private ContaRepository contaRepositoryMock;
+	@MockBean
+	private CategoriaRepository categoriaRepositoryMock;
+	@MockBean
+	private LancamentoRepository lancamentoRepositoryMock;
+	@MockBean
+	private UsuarioRepository usuarioRepositoryMock;
+
+	@Autowired
+	private ValidacaoDadosUsuarioService validacaoDadosUsuarioService;
+
+	@Test
+	void deveVerificarSituacaoDaConta() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		Mockito.when(contaRepositoryMock.findLoginUsuarioById("conta_usuario")).thenReturn(Optional.of(loginUsuario));
+		Mockito.when(contaRepositoryMock.findLoginUsuarioById("conta_outro_usuario")).thenReturn(Optional.of("outro@login.com"));
+		Mockito.when(contaRepositoryMock.findLoginUsuarioById("conta_inexistente")).thenReturn(Optional.empty());
+
+		// Act / Assert
+		Assertions.assertEquals(SituacaoPropriedade.PERTENCE_AO_USUARIO,
+				validacaoDadosUsuarioService.verificarConta("conta_usuario", loginUsuario));
+		Assertions.assertEquals(SituacaoPropriedade.PERTENCE_A_OUTRO_USUARIO,
+				validacaoDadosUsuarioService.verificarConta("conta_outro_usuario", loginUsuario));
+		Assertions.assertEquals(SituacaoPropriedade.NAO_ENCONTRADO,
+				validacaoDadosUsuarioService.verificarConta("conta_inexistente", loginUsuario));
+
+		// Nenhum usuário é carregado para validar a propriedade
+		Mockito.verifyNoInteractions(usuarioRepositoryMock);
+	}
+
+	@Test
+	void naoDeveValidarCategoriaDeOutroUsuario() {
+
+		// Arrange
+		Mockito.when(categoriaRepositoryMock.findLoginUsuarioById("id_categoria")).thenReturn(Optional.of("outro@login.com"));
+
+		// Assert
+		NegocioException erro = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> validacaoDadosUsuarioService.validarCategoriaDoUsuarioLogado("id_categoria", "user@login.com"));
+		Assertions.assertEquals("Categoria não pertence ao usuário informado!", erro.getMessage());
+	}
+
+	@Test
+	void naoDeveValidarLancamentoInexistente() {
+
+		// Arrange
+		Mockito.when(lancamentoRepositoryMock.findLoginUsuarioById("id_lancamento")).thenReturn(Optional.empty());
+
+		// Assert
+		NegocioException erro = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> validacaoDadosUsuarioService.validarLancamentoDoUsuarioLogado("id_lancamento", "user@login.com"));
+		Assertions.assertEquals("Lançamento não encontrado!", erro.getMessage());
+	}
+
+	@Test
+	void deveValidarDadosDoLancamentoComUmaUnicaConsulta() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		Mockito.when(lancamentoRepositoryMock.findProprietariosLancamento("id_conta", "id_categoria", "id_lancamento"))
+				.thenReturn(proprietarios(loginUsuario, loginUsuario, loginUsuario));
+
+		// Act
+		validacaoDadosUsuarioService.validarDadosLancamentoDoUsuarioLogado("id_conta", "id_categoria", "id_lancamento",
+				loginUsuario);
+
+		// Assert
+		Mockito.verify(lancamentoRepositoryMock).findProprietariosLancamento("id_conta", "id_categoria", "id_lancamento");
+		Mockito.verifyNoMoreInteractions(lancamentoRepositoryMock);
+		Mockito.verifyNoInteractions(contaRepositoryMock, categoriaRepositoryMock, usuarioRepositoryMock);
+	}
+
+	@Test
+	void naoDeveValidarDadosDoLancamentoComContaInexistente() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		Mockito.when(lancamentoRepositoryMock.findProprietariosLancamento("id_conta", "id_categoria", null))
+				.thenReturn(proprietarios(null, loginUsuario, null));
+
+		// Assert
+		NegocioException erro = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> validacaoDadosUsuarioService.validarDadosLancamentoDoUsuarioLogado("id_conta", "id_categoria",
+						null, loginUsuario));
+		Assertions.assertEquals("Conta não encontrada!", erro.getMessage());
+	}
+
+	@Test
+	void deveValidarContasECategoriasDoLoteComUmaConsultaCada() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		Set<String> idsConta = Set.of("conta_1", "conta_2");
+		Set<String> idsCategoria = Set.of("categoria_1");
+		Mockito.when(contaRepositoryMock.findProprietariosByIdIn(idsConta))
+				.thenReturn(List.of(proprietario("conta_1", loginUsuario), proprietario("conta_2", loginUsuario)));
+		Mockito.when(categoriaRepositoryMock.findProprietariosByIdIn(idsCategoria))
+				.thenReturn(List.of(proprietario("categoria_1", loginUsuario)));
+
+		// Act
+		validacaoDadosUsuarioService.validarContasECategoriasDoUsuarioLogado(idsConta, idsCategoria, loginUsuario);
+
+		// Assert
+		Mockito.verify(contaRepositoryMock).findProprietariosByIdIn(idsConta);
+		Mockito.verify(categoriaRepositoryMock).findProprietariosByIdIn(idsCategoria);
+		Mockito.verifyNoMoreInteractions(contaRepositoryMock, categoriaRepositoryMock);
+	}
+
+	@Test
+	void naoDeveValidarLoteComContaDeOutroUsuarioOuInexistente() {
+
+		// Arrange
+		String loginUsuario = "user@login.com";
+		Mockito.when(contaRepositoryMock.findProprietariosByIdIn(Set.of("conta_1", "conta_2")))
+				.thenReturn(List.of(proprietario("conta_1", loginUsuario), proprietario("conta_2", "outro@login.com")));
+		Mockito.when(contaRepositoryMock.findProprietariosByIdIn(Set.of("conta_1", "conta_inexistente")))
+				.thenReturn(List.of(proprietario("conta_1", loginUsuario)));
+
+		// Assert
+		NegocioException erroOutroUsuario = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> validacaoDadosUsuarioService.validarContasECategoriasDoUsuarioLogado(Set.of("conta_1", "conta_2"),
+						Set.of("categoria_1"), loginUsuario));
+		Assertions.assertEquals("Conta não pertence ao usuário informado!", erroOutroUsuario.getMessage());
+
+		NegocioException erroInexistente = Assertions.assertThrows(
+				// Assert
+				NegocioException.class,
+				// Act
+				() -> validacaoDadosUsuarioService.validarContasECategoriasDoUsuarioLogado(Set.of("conta_1", "conta_inexistente"),
+						Set.of("categoria_1"), loginUsuario));
+		Assertions.assertEquals("Conta não encontrada!", erroInexistente.getMessage());
+	}
+
+	private static ProprietarioDTO proprietario(String id, String loginUsuario) {
+		return new ProprietarioDTO() {
+			@Override
+			public String getId() {
+				return id;
+			}
+
+			@Override
+			public String getLoginUsuario() {
+				return loginUsuario;
+			}
+		};
+	}
+
+	private static ProprietariosLancamentoDTO proprietarios(String loginConta, String loginCategoria, String loginLancamento) {
+		return new ProprietariosLancamentoDTO() {
+			@Override
+			public String getLoginConta() {
+				return loginConta;
+			}
+
+			@Override
+			public String getLoginCategoria() {
+				return loginCategoria;
+			}
+
+			@Override
+			public String getLoginLancamento() {
+				return loginLancamento;
+			}
+		};
+	}
+}
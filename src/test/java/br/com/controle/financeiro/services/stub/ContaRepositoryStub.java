@@ -1,5 +1,6 @@
 package br.com.controle.financeiro.services.stub;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -12,6 +13,8 @@ import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuer
 
 import br.com.controle.financeiro.domain.Conta;
 import br.com.controle.financeiro.repositories.ContaRepository;
+import br.com.controle.financeiro.repositories.dto.ContaSaldoDTO;
+import br.com.controle.financeiro.repositories.dto.ProprietarioDTO;
 
 public class ContaRepositoryStub implements ContaRepository {
 	
@@ -24,6 +27,30 @@ public class ContaRepositoryStub implements ContaRepository {
 
 		return contasEsperadas;
 	}
+
+	@Override
+	public Optional<String> findLoginUsuarioById(String idConta) {
+
+		return Optional.empty();
+	}
+
+	@Override
+	public List<ProprietarioDTO> findProprietariosByIdIn(Collection<String> ids) {
+
+		return List.of();
+	}
+
+	@Override
+	public List<ContaSaldoDTO> findContasComSaldoByUsuarioLogin(String loginUsuario) {
+
+		return List.of();
+	}
+
+	@Override
+	public boolean existsByNomeAndUsuarioLogin(String nome, String userLogin) {
+
+		return findAllContasByUsuarioLogin(userLogin).stream().anyMatch(c -> c.getNome().equals(nome));
+	}
 	
 	
 